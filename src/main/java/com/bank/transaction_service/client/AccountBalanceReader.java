@@ -0,0 +1,145 @@
+package com.bank.transaction_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single-flight view of {@link AccountClient#getBalance(String)}.
+ *
+ * <p>Concurrent reads of one account share a single remote call. With
+ * {@code account.balance.cache.ttl-ms} above zero, a result is also reused
+ * for that long.
+ *
+ * <p>Every balance-changing call this service makes is followed by
+ * {@link #invalidate(String)}, which advances the account's epoch. A read
+ * only joins an in-flight call, or reuses a cached result, from the current
+ * epoch, so nothing started before one of our own writes finished is
+ * served after it. Epochs are kept in fixed stripes; two accounts sharing a
+ * stripe only cost each other extra remote calls, never staleness.
+ */
+@Component
+public class AccountBalanceReader {
+
+    private static final int STRIPES = 1024;
+
+    private final AccountClient accountClient;
+    private final Cache<String, CachedBalance> recent;
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES);
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter remoteCalls;
+    private final Counter coalesced;
+    private final Counter cacheHits;
+
+    public AccountBalanceReader(
+            AccountClient accountClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.balance.cache.ttl-ms:0}") long ttlMillis
+    ) {
+        this.accountClient = accountClient;
+        this.recent = ttlMillis > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(100_000)
+                        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                        .build()
+                : null;
+
+        this.remoteCalls = meterRegistry.counter("account.balance.lookups", "outcome", "remote");
+        this.coalesced = meterRegistry.counter("account.balance.lookups", "outcome", "coalesced");
+        this.cacheHits = meterRegistry.counter("account.balance.lookups", "outcome", "cached");
+    }
+
+    public BigDecimal getBalance(String accountNumber) {
+        if (accountNumber == null) {
+            return accountClient.getBalance(null);
+        }
+
+        int stripe = stripe(accountNumber);
+        long epoch = epochs.get(stripe);
+
+        if (recent != null) {
+            CachedBalance cached = recent.getIfPresent(accountNumber);
+            if (cached != null && cached.epoch() == epoch) {
+                cacheHits.increment();
+                return cached.balance();
+            }
+        }
+
+        Flight mine = new Flight(epoch, new CompletableFuture<>());
+        while (true) {
+            Flight running = inFlight.putIfAbsent(accountNumber, mine);
+            if (running == null) {
+                break;
+            }
+            if (running.epoch() >= epoch) {
+                coalesced.increment();
+                return join(running);
+            }
+            // Started before one of our writes completed; do not reuse it.
+            if (inFlight.replace(accountNumber, running, mine)) {
+                break;
+            }
+        }
+
+        remoteCalls.increment();
+        try {
+            BigDecimal balance = accountClient.getBalance(accountNumber);
+            mine.result().complete(balance);
+            if (recent != null && balance != null) {
+                recent.put(accountNumber, new CachedBalance(balance, epoch));
+            }
+            return balance;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(accountNumber, mine);
+        }
+    }
+
+    /**
+     * Marks the balance of {@code accountNumber} as changed by this
+     * service. Call after every credit, debit or transfer, whether it
+     * succeeded or not.
+     */
+    public void invalidate(String accountNumber) {
+        if (accountNumber == null) {
+            return;
+        }
+        epochs.incrementAndGet(stripe(accountNumber));
+        if (recent != null) {
+            recent.invalidate(accountNumber);
+        }
+    }
+
+    private static BigDecimal join(Flight flight) {
+        try {
+            return flight.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw e;
+        }
+    }
+
+    private static int stripe(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private record Flight(long epoch, CompletableFuture<BigDecimal> result) {}
+
+    private record CachedBalance(BigDecimal balance, long epoch) {}
+}
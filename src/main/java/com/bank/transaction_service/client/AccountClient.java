@@ -17,20 +17,20 @@ public interface AccountClient {
 
         // ✅ CREDIT
         @PostMapping("/{accountNumber}/credit")
-        void credit(
+        AccountOperationResult credit(
                 @PathVariable String accountNumber,
                 @RequestParam BigDecimal amount
         );
 
         // ✅ DEBIT
         @PostMapping("/{accountNumber}/debit")
-        void debit(
+        AccountOperationResult debit(
                 @PathVariable String accountNumber,
                 @RequestParam BigDecimal amount
         );
 
         @PostMapping("/transfer")
-        void transfer(
+        AccountOperationResult transfer(
                 @RequestParam String fromAccount,
                 @RequestParam String toAccount,
                 @RequestParam BigDecimal amount,
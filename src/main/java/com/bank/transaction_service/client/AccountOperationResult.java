@@ -0,0 +1,13 @@
+package com.bank.transaction_service.client;
+
+import java.math.BigDecimal;
+
+/**
+ * Body returned by account-service for credit, debit and transfer calls.
+ * {@code balance} is the balance of {@code accountNumber} (the source
+ * account for transfers) after the operation was applied. An
+ * account-service that still answers with an empty body decodes as
+ * {@code null}.
+ */
+public record AccountOperationResult(String accountNumber, BigDecimal balance) {
+}
@@ -0,0 +1,147 @@
+package com.bank.transaction_service.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Cached view of {@link AccountClient#getAccountOwner(String)}.
+ *
+ * <p>Owners are kept for a TTL in a size-bounded cache. Accounts that
+ * account-service does not know are remembered for a shorter TTL so that
+ * repeated lookups of a bad account number do not each cost a remote call.
+ *
+ * <p>account-service publishes nothing when an owner changes, so entries
+ * only age out; the internal cache endpoint can drop one by hand. For that
+ * reason {@link #isOwnedBy}, which authorizes debits and transfers, trusts
+ * a cached owner only for the much shorter authorization TTL. That bounds
+ * how long an account that changed owner, or whose owner was removed, can
+ * still pass the check, and still spares the remote call for the bursts of
+ * intakes a customer sends on one account.
+ */
+@Slf4j
+@Component
+public class AccountOwnershipResolver {
+
+    private final AccountClient accountClient;
+    private final long authorizationTtlMillis;
+    private final LongSupplier clock;
+    private final Cache<String, CachedOwner> owners;
+    private final Cache<String, Boolean> unknownAccounts;
+
+    @Autowired
+    public AccountOwnershipResolver(
+            AccountClient accountClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.ownership.cache.max-size:50000}") long maxSize,
+            @Value("${account.ownership.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${account.ownership.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${account.ownership.cache.authorization-ttl-seconds:5}") long authorizationTtlSeconds
+    ) {
+        this(accountClient, meterRegistry, maxSize, ttlSeconds, negativeTtlSeconds,
+                authorizationTtlSeconds, System::currentTimeMillis);
+    }
+
+    AccountOwnershipResolver(AccountClient accountClient,
+                             MeterRegistry meterRegistry,
+                             long maxSize,
+                             long ttlSeconds,
+                             long negativeTtlSeconds,
+                             long authorizationTtlSeconds,
+                             LongSupplier clock) {
+        this.accountClient = accountClient;
+        this.authorizationTtlMillis = Duration.ofSeconds(authorizationTtlSeconds).toMillis();
+        this.clock = clock;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.unknownAccounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "account.ownership");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownAccounts, "account.ownership.unknown");
+    }
+
+    public Optional<UUID> findOwner(String accountNumber) {
+        CachedOwner cached = owners.getIfPresent(accountNumber);
+        if (cached != null) {
+            return Optional.of(cached.customerId());
+        }
+        if (unknownAccounts.getIfPresent(accountNumber) != null) {
+            return Optional.empty();
+        }
+        return fetch(accountNumber);
+    }
+
+    public boolean exists(String accountNumber) {
+        return findOwner(accountNumber).isPresent();
+    }
+
+    /**
+     * A matching owner is trusted only if it was fetched within the
+     * authorization TTL; older matches and any mismatch are re-checked
+     * against account-service.
+     */
+    public boolean isOwnedBy(String accountNumber, UUID customerId) {
+        CachedOwner cached = owners.getIfPresent(accountNumber);
+        if (cached != null && cached.customerId().equals(customerId)
+                && clock.getAsLong() - cached.fetchedAt() < authorizationTtlMillis) {
+            return true;
+        }
+        if (cached == null && unknownAccounts.getIfPresent(accountNumber) != null) {
+            return false;
+        }
+        return fetch(accountNumber)
+                .map(customerId::equals)
+                .orElse(false);
+    }
+
+    public void invalidate(String accountNumber) {
+        owners.invalidate(accountNumber);
+        unknownAccounts.invalidate(accountNumber);
+        log.debug("Ownership cache entry dropped for account {}", accountNumber);
+    }
+
+    public void invalidateAll() {
+        owners.invalidateAll();
+        unknownAccounts.invalidateAll();
+        log.info("Ownership cache cleared");
+    }
+
+    private Optional<UUID> fetch(String accountNumber) {
+        UUID owner;
+        try {
+            owner = accountClient.getAccountOwner(accountNumber);
+        } catch (FeignException.NotFound e) {
+            owner = null;
+        }
+
+        if (owner == null) {
+            owners.invalidate(accountNumber);
+            unknownAccounts.put(accountNumber, Boolean.TRUE);
+            return Optional.empty();
+        }
+
+        unknownAccounts.invalidate(accountNumber);
+        owners.put(accountNumber, new CachedOwner(owner, clock.getAsLong()));
+        return Optional.of(owner);
+    }
+
+    private record CachedOwner(UUID customerId, long fetchedAt) {}
+}
@@ -0,0 +1,36 @@
+package com.bank.transaction_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class AnalyticsPoolConfig {
+
+    /**
+     * Computes the months of a range analytics request side by side. Each
+     * worker runs one aggregate query at a time, so parallelism also caps
+     * how many connections analytics can hold; keep it below the Hikari
+     * pool size. Kept apart from the common pool so blocking reads never
+     * stall unrelated parallel streams.
+     */
+    @Bean(name = "analyticsPool", destroyMethod = "shutdown")
+    public ForkJoinPool analyticsPool(
+            @Value("${transaction.analytics.pool.parallelism:4}") int parallelism
+    ) {
+        return new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    ForkJoinWorkerThread thread =
+                            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("analytics-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false
+        );
+    }
+}
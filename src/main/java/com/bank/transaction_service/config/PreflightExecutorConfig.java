@@ -0,0 +1,33 @@
+package com.bank.transaction_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PreflightExecutorConfig {
+
+    /**
+     * Runs the independent intake lookups side by side. When it is full the
+     * lookup runs on the request thread, so intake degrades to the old
+     * sequential behaviour instead of failing.
+     */
+    @Bean(name = "preflightExecutor")
+    public ThreadPoolTaskExecutor preflightExecutor(
+            @Value("${transaction.preflight.executor.core-size:16}") int coreSize,
+            @Value("${transaction.preflight.executor.max-size:64}") int maxSize,
+            @Value("${transaction.preflight.executor.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("preflight-");
+        executor.setTaskDecorator(new SecurityMdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.transaction_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SagaExecutorConfig {
+
+    /**
+     * Bounded pool the saga steps run on once the intake row is committed.
+     * Actuator binds the usual {@code executor.*} metrics to it under
+     * {@code name=sagaExecutor}.
+     */
+    @Bean(name = "sagaExecutor")
+    public ThreadPoolTaskExecutor sagaExecutor(
+            @Value("${transaction.saga.executor.core-size:8}") int coreSize,
+            @Value("${transaction.saga.executor.max-size:16}") int maxSize,
+            @Value("${transaction.saga.executor.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-");
+        executor.setTaskDecorator(new SecurityMdcTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
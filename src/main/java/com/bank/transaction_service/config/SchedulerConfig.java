@@ -1,9 +1,29 @@
 package com.bank.transaction_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
 @EnableScheduling
 public class SchedulerConfig {
+
+    /**
+     * Runs every {@code @Scheduled} job. Without it they share Spring's one
+     * default thread, so a slow job such as the usage refresh or the rollup
+     * check holds up the outbox relay behind it.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(
+            @Value("${transaction.scheduler.pool-size:4}") int poolSize
+    ) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
 }
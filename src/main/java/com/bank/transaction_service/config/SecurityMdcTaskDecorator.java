@@ -0,0 +1,42 @@
+package com.bank.transaction_service.config;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+
+/**
+ * Carries the caller's security context and MDC over to the worker thread
+ * and restores the worker's own state once the task is done.
+ */
+public class SecurityMdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        SecurityContext callerContext = SecurityContextHolder.getContext();
+        Map<String, String> callerMdc = MDC.getCopyOfContextMap();
+
+        return () -> {
+            SecurityContext previousContext = SecurityContextHolder.getContext();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            try {
+                SecurityContextHolder.setContext(callerContext);
+                if (callerMdc != null) {
+                    MDC.setContextMap(callerMdc);
+                } else {
+                    MDC.clear();
+                }
+                task.run();
+            } finally {
+                SecurityContextHolder.setContext(previousContext);
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
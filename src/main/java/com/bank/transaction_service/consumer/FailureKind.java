@@ -0,0 +1,41 @@
+package com.bank.transaction_service.consumer;
+
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Whether redelivering a failed payment message can help.
+ *
+ * <p>Validation and parse failures (undecodable payloads, malformed IDs or
+ * dates) fail the same way on every attempt and are {@link #PERMANENT}.
+ * Everything else is {@link #RETRYABLE}: timeouts, lock conflicts, a
+ * database or pool that is briefly unavailable, a lost insert race, and
+ * also programming errors such as a {@code NullPointerException}, which a
+ * fix and redelivery can still handle. Those are dead-lettered only after
+ * {@code max-attempts}.
+ */
+public enum FailureKind {
+
+    RETRYABLE,
+    PERMANENT;
+
+    public static FailureKind classify(Throwable failure) {
+        Throwable cause = unwrap(failure);
+
+        if (cause instanceof IllegalArgumentException
+                || cause instanceof DateTimeParseException) {
+            return PERMANENT;
+        }
+        return RETRYABLE;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
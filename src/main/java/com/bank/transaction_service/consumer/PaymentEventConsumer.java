@@ -1,48 +1,157 @@
 package com.bank.transaction_service.consumer;
 
 import com.bank.transaction_service.dto.PaymentEventMessage;
-import com.bank.transaction_service.service.PaymentIntegrationService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.messaging.InboundMessage;
+import com.bank.transaction_service.messaging.MessagingBackend;
+import com.bank.transaction_service.service.PaymentEventBatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pulls payment events and hands them to {@link PaymentEventBatcher}. A
+ * message is acked once every event in it has been committed; if any of
+ * them failed, {@link PaymentFailureHandler} decides between a delayed
+ * redelivery and the dead-letter table.
+ *
+ * <p>How many messages are outstanding at once is bounded by the
+ * backend: the subscriber flow-control settings on Pub/Sub
+ * ({@code spring.cloud.gcp.pubsub.subscriber.flow-control.*}), or
+ * {@code messaging.in-process.max-outstanding}.
+ */
+@Slf4j
 @Component
 public class PaymentEventConsumer {
 
-    private final PubSubTemplate pubSubTemplate;
-    private final ObjectMapper objectMapper;
-    private final PaymentIntegrationService integrationService;
+    private final MessagingBackend messagingBackend;
+    private final EventCodecs eventCodecs;
+    private final PaymentEventBatcher batcher;
+    private final PaymentFailureHandler failureHandler;
+
+    private final Counter acked;
+    private final Counter failed;
+    private final Timer lag;
 
     @Value("${payment.pubsub.subscription}")
     private String subscription;
 
-    public PaymentEventConsumer(PubSubTemplate pubSubTemplate,
-                                ObjectMapper objectMapper,
-                                PaymentIntegrationService integrationService) {
-        this.pubSubTemplate = pubSubTemplate;
-        this.objectMapper = objectMapper;
-        this.integrationService = integrationService;
+    public PaymentEventConsumer(MessagingBackend messagingBackend,
+                                EventCodecs eventCodecs,
+                                PaymentEventBatcher batcher,
+                                PaymentFailureHandler failureHandler,
+                                MeterRegistry meterRegistry) {
+        this.messagingBackend = messagingBackend;
+        this.eventCodecs = eventCodecs;
+        this.batcher = batcher;
+        this.failureHandler = failureHandler;
+
+        this.acked = Counter.builder("payment.events.consumed")
+                .tag("outcome", "ack")
+                .description("Payment event messages fully processed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("payment.events.consumed")
+                .tag("outcome", "failed")
+                .description("Payment event messages that failed processing")
+                .register(meterRegistry);
+        this.lag = Timer.builder("payment.events.lag")
+                .description("Time from publish to completed processing")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 
     @PostConstruct
     public void subscribe() {
-        pubSubTemplate.subscribe(subscription, message -> {
+        messagingBackend.subscribe(subscription, this::onMessage);
+    }
+
+    void onMessage(InboundMessage message) {
+        List<PaymentEventMessage> events;
+        try {
+            events = eventCodecs.decode(
+                    PaymentEventMessage.class,
+                    message.attribute(EventCodecs.CONTENT_TYPE_ATTRIBUTE),
+                    message.data());
+        } catch (RuntimeException e) {
+            log.warn("Undecodable payment event {}: {}", message.messageId(), e.getMessage());
+            failed.increment();
+            failureHandler.onFailure(message, e);
+            return;
+        }
+
+        Completion completion = new Completion(message, events.size());
+        if (events.isEmpty()) {
+            completion.finish();
+            return;
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            PaymentEventMessage event = events.get(i);
             try {
-                String payload = message.getPubsubMessage().getData().toStringUtf8();
+                batcher.submit(event).whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        log.warn("Payment event {} failed: {}", event.getPaymentId(), failure.getMessage());
+                    }
+                    completion.done(failure);
+                });
+            } catch (RejectedExecutionException e) {
+                log.warn("Payment ingestion refused event {}: {}", event.getPaymentId(), e.getMessage());
+                for (int j = i; j < events.size(); j++) {
+                    completion.done(e);
+                }
+                return;
+            }
+        }
+    }
 
-                PaymentEventMessage event =
-                        objectMapper.readValue(payload, PaymentEventMessage.class);
+    /** Settles a message once all of its events have finished. */
+    private final class Completion {
 
-                integrationService.handlePaymentSuccess(event);
+        private final InboundMessage message;
+        private final AtomicInteger remaining;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
 
-                message.ack();
+        Completion(InboundMessage message, int events) {
+            this.message = message;
+            this.remaining = new AtomicInteger(events);
+        }
 
-            } catch (Exception e) {
-                message.nack();
+        void done(Throwable eventFailure) {
+            if (eventFailure != null) {
+                failure.compareAndSet(null, eventFailure);
+            }
+            if (remaining.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+
+        void finish() {
+            Throwable first = failure.get();
+            if (first == null) {
+                message.ack();
+                acked.increment();
+                failureHandler.onSuccess(message);
+            } else {
+                failed.increment();
+                failureHandler.onFailure(message, first);
+            }
+            Instant publishTime = message.publishTime();
+            if (publishTime != null) {
+                Duration elapsed = Duration.between(publishTime, Instant.now());
+                lag.record(elapsed.isNegative() ? Duration.ZERO : elapsed);
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
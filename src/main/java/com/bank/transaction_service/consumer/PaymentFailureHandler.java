@@ -0,0 +1,148 @@
+package com.bank.transaction_service.consumer;
+
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.messaging.InboundMessage;
+import com.bank.transaction_service.repository.PaymentDeadLetterRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides what happens to a payment message that failed.
+ *
+ * <p>Retryable failures are nacked after an exponential backoff rather
+ * than immediately. Until then the message stays outstanding: the
+ * backend keeps holding its lease, and it still counts against flow
+ * control, so a burst of failures slows intake instead of spinning.
+ * Permanent failures, and messages that keep failing after
+ * {@code max-attempts}, are stored in {@code payment_dead_letters} and
+ * acked. They can be replayed later through
+ * {@link com.bank.transaction_service.service.PaymentDeadLetterService}.
+ */
+@Slf4j
+@Component
+public class PaymentFailureHandler {
+
+    private final PaymentDeadLetterRepository deadLetterRepo;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+
+    // Local delivery count, for backends that do not report attempts
+    // (Pub/Sub only does when the subscription has a dead-letter policy).
+    private final Cache<String, Integer> attempts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private final ScheduledExecutorService redeliveries =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "payment-redelivery");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Counter retryable;
+    private final Counter permanent;
+    private final Counter deadLettered;
+
+    public PaymentFailureHandler(
+            PaymentDeadLetterRepository deadLetterRepo,
+            MeterRegistry meterRegistry,
+            @Value("${payment.consumer.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+            @Value("${payment.consumer.retry.max-backoff-ms:60000}") long maxBackoffMillis,
+            @Value("${payment.consumer.retry.max-attempts:8}") int maxAttempts
+    ) {
+        this.deadLetterRepo = deadLetterRepo;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxAttempts = maxAttempts;
+
+        this.retryable = meterRegistry.counter("payment.events.failures", "kind", "retryable");
+        this.permanent = meterRegistry.counter("payment.events.failures", "kind", "permanent");
+        this.deadLettered = Counter.builder("payment.events.dead.lettered")
+                .description("Payment messages moved to the dead-letter table")
+                .register(meterRegistry);
+    }
+
+    public void onSuccess(InboundMessage message) {
+        attempts.invalidate(message.messageId());
+    }
+
+    public void onFailure(InboundMessage message, Throwable failure) {
+        FailureKind kind = FailureKind.classify(failure);
+        int attempt = attemptOf(message);
+
+        (kind == FailureKind.PERMANENT ? permanent : retryable).increment();
+
+        if (kind == FailureKind.PERMANENT || attempt >= maxAttempts) {
+            try {
+                deadLetterRepo.save(deadLetter(message, kind, failure, attempt));
+                message.ack();
+                attempts.invalidate(message.messageId());
+                deadLettered.increment();
+                log.warn("Payment message {} dead-lettered after {} attempt(s): {}",
+                        message.messageId(), attempt, failure.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Could not dead-letter payment message {}", message.messageId(), e);
+            }
+        }
+
+        long delay = backoffMillis(attempt);
+        log.debug("Payment message {} failed (attempt {}), redelivering in {} ms",
+                message.messageId(), attempt, delay);
+        redeliveries.schedule(message::nack, delay, TimeUnit.MILLISECONDS);
+    }
+
+    long backoffMillis(int attempt) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 20);
+        return Math.min(maxBackoffMillis, initialBackoffMillis << doublings);
+    }
+
+    /** Returns the messages waiting for a delayed nack to the broker right away. */
+    @PreDestroy
+    public void shutdown() {
+        for (Runnable pendingNack : redeliveries.shutdownNow()) {
+            pendingNack.run();
+        }
+    }
+
+    private int attemptOf(InboundMessage message) {
+        int reported = message.deliveryAttempt();
+        if (reported > 0) {
+            return reported;
+        }
+        return attempts.asMap().merge(message.messageId(), 1, Integer::sum);
+    }
+
+    private static PaymentDeadLetter deadLetter(InboundMessage message, FailureKind kind,
+                                                Throwable failure, int attempt) {
+        String reason = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        ByteBuffer data = message.data();
+        byte[] payload = new byte[data.remaining()];
+        data.get(payload);
+        return PaymentDeadLetter.builder()
+                .messageId(message.messageId())
+                .contentType(message.attribute(EventCodecs.CONTENT_TYPE_ATTRIBUTE))
+                .payload(payload)
+                .failureKind(kind.name())
+                .reason(reason.length() > 500 ? reason.substring(0, 500) : reason)
+                .attempts(attempt)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.transaction_service.controller;
+
+import com.bank.transaction_service.client.AccountOwnershipResolver;
+import com.bank.transaction_service.dto.response.BaseResponse;
+import com.bank.transaction_service.security.InternalApiAuth;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/internal/accounts")
+@RequiredArgsConstructor
+public class AccountCacheInternalController {
+
+    private final AccountOwnershipResolver ownershipResolver;
+    private final InternalApiAuth internalApiAuth;
+
+    @DeleteMapping("/{accountNumber}/ownership-cache")
+    public ResponseEntity<BaseResponse<Void>> evictOwner(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @PathVariable String accountNumber
+    ) {
+        internalApiAuth.verify(token);
+
+        ownershipResolver.invalidate(accountNumber);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(null, "Ownership cache entry evicted")
+        );
+    }
+
+    @DeleteMapping("/ownership-cache")
+    public ResponseEntity<BaseResponse<Void>> evictAll(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token
+    ) {
+        internalApiAuth.verify(token);
+
+        ownershipResolver.invalidateAll();
+
+        return ResponseEntity.ok(
+                BaseResponse.success(null, "Ownership cache cleared")
+        );
+    }
+}
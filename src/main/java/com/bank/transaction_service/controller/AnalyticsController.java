@@ -2,6 +2,9 @@ package com.bank.transaction_service.controller;
 
 import com.bank.transaction_service.dto.response.BaseResponse;
 import com.bank.transaction_service.dto.response.TransactionAnalyticsResponse;
+import com.bank.transaction_service.dto.response.TransactionRangeAnalyticsResponse;
+import com.bank.transaction_service.enums.AnalyticsPeriod;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -29,4 +32,30 @@ public class AnalyticsController {
                 BaseResponse.success(response, "Transaction analytics fetched successfully")
         );
     }
+
+    /**
+     * Several months at once: either {@code from} and {@code to}
+     * ({@code yyyy-MM}, both included) or a {@code period} ending with the
+     * current month, e.g. {@code last-12-months} or {@code year-to-date}.
+     */
+    @GetMapping("/analytics/range")
+    public ResponseEntity<BaseResponse<TransactionRangeAnalyticsResponse>> rangeAnalytics(
+            @RequestParam String accountNumber,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String period
+    ) {
+        TransactionRangeAnalyticsResponse response;
+        if (period != null) {
+            response = analyticsService.getPeriodAnalytics(accountNumber, AnalyticsPeriod.parse(period));
+        } else if (from != null && to != null) {
+            response = analyticsService.getRangeAnalytics(accountNumber, YearMonth.parse(from), YearMonth.parse(to));
+        } else {
+            throw TransactionException.badRequest("Either period or both from and to are required");
+        }
+
+        return ResponseEntity.ok(
+                BaseResponse.success(response, "Transaction analytics fetched successfully")
+        );
+    }
 }
@@ -0,0 +1,70 @@
+package com.bank.transaction_service.controller;
+
+import com.bank.transaction_service.dto.response.BaseResponse;
+import com.bank.transaction_service.dto.response.RollupMaintenanceResponse;
+import com.bank.transaction_service.security.InternalApiAuth;
+import com.bank.transaction_service.service.impl.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/internal/analytics/rollups")
+@RequiredArgsConstructor
+public class AnalyticsRollupInternalController {
+
+    private final MonthlyRollupService rollupService;
+    private final InternalApiAuth internalApiAuth;
+
+    /** Recomputes the month's rollups of every account from raw transactions. */
+    @PostMapping("/{month}/backfill")
+    public ResponseEntity<BaseResponse<RollupMaintenanceResponse>> backfill(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @PathVariable String month
+    ) {
+        internalApiAuth.verify(token);
+
+        RollupMaintenanceResponse result =
+                rollupService.backfill(YearMonth.parse(month));
+
+        return ResponseEntity.ok(
+                BaseResponse.success(result, "Monthly rollups rebuilt")
+        );
+    }
+
+    /** Compares the month's rollups with raw transactions and rebuilds any that differ. */
+    @PostMapping("/{month}/check")
+    public ResponseEntity<BaseResponse<RollupMaintenanceResponse>> check(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @PathVariable String month
+    ) {
+        internalApiAuth.verify(token);
+
+        RollupMaintenanceResponse result =
+                rollupService.check(YearMonth.parse(month));
+
+        return ResponseEntity.ok(
+                BaseResponse.success(
+                        result,
+                        result.getRebuilt() == 0 ? "Monthly rollups consistent" : "Drifted monthly rollups rebuilt"
+                )
+        );
+    }
+
+    @PostMapping("/{month}/accounts/{accountNumber}/rebuild")
+    public ResponseEntity<BaseResponse<Void>> rebuildAccount(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @PathVariable String month,
+            @PathVariable String accountNumber
+    ) {
+        internalApiAuth.verify(token);
+
+        rollupService.rebuild(accountNumber, YearMonth.parse(month));
+
+        return ResponseEntity.ok(
+                BaseResponse.success(null, "Monthly rollup rebuilt")
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.transaction_service.controller;
+
+import com.bank.transaction_service.dto.response.BaseResponse;
+import com.bank.transaction_service.dto.response.PaymentDeadLetterResponse;
+import com.bank.transaction_service.security.InternalApiAuth;
+import com.bank.transaction_service.service.PaymentDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/internal/payment-dead-letters")
+@RequiredArgsConstructor
+public class PaymentDeadLetterInternalController {
+
+    private final PaymentDeadLetterService deadLetterService;
+    private final InternalApiAuth internalApiAuth;
+
+    @GetMapping
+    public ResponseEntity<BaseResponse<List<PaymentDeadLetterResponse>>> list(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @RequestParam(defaultValue = "true") boolean pendingOnly,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "1") int page
+    ) {
+        internalApiAuth.verify(token);
+
+        List<PaymentDeadLetterResponse> deadLetters =
+                deadLetterService.list(pendingOnly, limit, page);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(
+                        deadLetters,
+                        deadLetters.isEmpty() ? "No dead letters found" : "Dead letters fetched"
+                )
+        );
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<BaseResponse<PaymentDeadLetterResponse>> replay(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @PathVariable Long id
+    ) {
+        internalApiAuth.verify(token);
+
+        PaymentDeadLetterResponse result = deadLetterService.replay(id);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(
+                        result,
+                        result.getReplayedAt() != null ? "Dead letter replayed" : "Replay failed"
+                )
+        );
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<BaseResponse<Integer>> replayPending(
+            @RequestHeader(value = InternalApiAuth.HEADER, required = false) String token,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        internalApiAuth.verify(token);
+
+        int replayed = deadLetterService.replayPending(limit);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(replayed, replayed + " dead letter(s) replayed")
+        );
+    }
+}
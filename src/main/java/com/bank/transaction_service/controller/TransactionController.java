@@ -3,6 +3,8 @@ package com.bank.transaction_service.controller;
 import com.bank.transaction_service.dto.request.*;
 import com.bank.transaction_service.dto.response.*;
 import com.bank.transaction_service.service.TransactionService;
+import com.bank.transaction_service.service.impl.IdempotentResponseStore;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,14 +14,23 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final IdempotentResponseStore responseStore;
 
     @PostMapping("/debit")
     public ResponseEntity<BaseResponse<DebitTransactionResponse>> debit(
-            @RequestBody DebitTransactionRequest request
+            @Valid @RequestBody DebitTransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        DebitTransactionResponse response =
-                transactionService.debit(request);
+        DebitTransactionResponse response = responseStore.execute(
+                idempotencyKey,
+                "debit",
+                request,
+                DebitTransactionResponse.class,
+                () -> transactionService.debit(request)
+        );
 
         return ResponseEntity.ok(
                 BaseResponse.success(response, "Debit transaction initiated")
@@ -28,10 +39,16 @@ public class TransactionController {
 
     @PostMapping("/credit")
     public ResponseEntity<BaseResponse<CreditTransactionResponse>> credit(
-            @RequestBody CreditTransactionRequest request
+            @Valid @RequestBody CreditTransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        CreditTransactionResponse response =
-                transactionService.credit(request);
+        CreditTransactionResponse response = responseStore.execute(
+                idempotencyKey,
+                "credit",
+                request,
+                CreditTransactionResponse.class,
+                () -> transactionService.credit(request)
+        );
 
         return ResponseEntity.ok(
                 BaseResponse.success(response, "Credit transaction initiated")
@@ -40,10 +57,16 @@ public class TransactionController {
 
     @PostMapping("/transfer")
     public ResponseEntity<BaseResponse<TransferInitiatedResponse>> transfer(
-            @RequestBody TransferTransactionRequest request
+            @Valid @RequestBody TransferTransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        TransferInitiatedResponse response =
-                transactionService.transfer(request);
+        TransferInitiatedResponse response = responseStore.execute(
+                idempotencyKey,
+                "transfer",
+                request,
+                TransferInitiatedResponse.class,
+                () -> transactionService.transfer(request)
+        );
 
         return ResponseEntity.ok(
                 BaseResponse.success(response, "Transfer transaction initiated")
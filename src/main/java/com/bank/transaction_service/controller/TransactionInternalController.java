@@ -1,12 +1,12 @@
 package com.bank.transaction_service.controller;
 
 import com.bank.transaction_service.dto.response.BaseResponse;
-import com.bank.transaction_service.enums.TransactionType;
-import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.service.TransactionAggregationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @RestController
@@ -14,21 +14,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TransactionInternalController {
 
-    private final TransactionRepository repo;
+    private final TransactionAggregationService aggregationService;
 
     @GetMapping("/total-debit")
-    public ResponseEntity<BaseResponse<Double>> totalDebit(
+    public ResponseEntity<BaseResponse<BigDecimal>> totalDebit(
             @RequestParam UUID customerId
     ) {
-        double totalDebit =
-                repo.findByCustomerId(customerId)
-                        .stream()
-                        .filter(t ->
-                                t.getTransactionType() == TransactionType.DEBIT ||
-                                        t.getTransactionType() == TransactionType.TRANSFER
-                        )
-                        .mapToDouble(t -> t.getAmount().doubleValue())
-                        .sum();
+        BigDecimal totalDebit =
+                aggregationService.customerTotals(customerId).debit().toBigDecimal();
 
         return ResponseEntity.ok(
                 BaseResponse.success(
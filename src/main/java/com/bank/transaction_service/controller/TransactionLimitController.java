@@ -1,11 +1,15 @@
 package com.bank.transaction_service.controller;
 
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
 import com.bank.transaction_service.dto.response.BaseResponse;
+import com.bank.transaction_service.dto.response.RemainingLimitResponse;
 import com.bank.transaction_service.dto.response.TransactionLimitResponse;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.security.AuthUser;
 import com.bank.transaction_service.service.TransactionLimitService;
 import com.bank.transaction_service.util.AppConstants;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class TransactionLimitController {
 
     private final TransactionLimitService limitService;
+    private final AccountOwnershipResolver ownershipResolver;
 
     @GetMapping
     public ResponseEntity<BaseResponse<TransactionLimitResponse>> getLimits(
@@ -40,7 +45,7 @@ public class TransactionLimitController {
     @PutMapping
     public ResponseEntity<BaseResponse<TransactionLimitResponse>> updateLimits(
             @RequestParam String accountNumber,
-            @RequestBody LimitUpdateRequest request
+            @Valid @RequestBody LimitUpdateRequest request
     ) {
         getAuthUser();
 
@@ -55,6 +60,26 @@ public class TransactionLimitController {
         );
     }
 
+    @GetMapping("/remaining")
+    public ResponseEntity<BaseResponse<RemainingLimitResponse>> getRemaining(
+            @RequestParam String accountNumber
+    ) {
+        AuthUser user = getAuthUser();
+        if (!ownershipResolver.isOwnedBy(accountNumber, user.getCustomerId())) {
+            throw TransactionException.forbidden("Not your account");
+        }
+
+        RemainingLimitResponse response =
+                limitService.remaining(accountNumber);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(
+                        response,
+                        "Remaining limits fetched successfully"
+                )
+        );
+    }
+
     private AuthUser getAuthUser() {
         Authentication authentication =
                 SecurityContextHolder.getContext().getAuthentication();
@@ -1,24 +1,43 @@
 package com.bank.transaction_service.controller;
 
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.dto.response.BaseResponse;
 import com.bank.transaction_service.dto.response.MiniStatementResponse;
+import com.bank.transaction_service.dto.response.TransactionFeedResponse;
 import com.bank.transaction_service.dto.response.TransactionHistoryResponse;
+import com.bank.transaction_service.enums.StatementFormat;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.security.AuthUser;
+import com.bank.transaction_service.service.StatementExportService;
 import com.bank.transaction_service.service.TransactionQueryService;
 import com.bank.transaction_service.util.AppConstants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/customer")
 @RequiredArgsConstructor
 public class TransactionQueryController {
 
+    private static final int GZIP_BUFFER_BYTES = 8192;
+
     private final TransactionQueryService queryService;
+    private final StatementExportService exportService;
+    private final AccountOwnershipResolver ownershipResolver;
 
     @GetMapping("/transactions")
     public ResponseEntity<BaseResponse<TransactionHistoryResponse>> history(
@@ -39,6 +58,25 @@ public class TransactionQueryController {
         );
     }
 
+    @GetMapping("/transactions/feed")
+    public ResponseEntity<BaseResponse<TransactionFeedResponse>> historyFeed(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        getAuthUser();
+
+        TransactionFeedResponse response =
+                queryService.getHistoryFeed(accountNumber, limit, cursor);
+
+        return ResponseEntity.ok(
+                BaseResponse.success(
+                        response,
+                        "Transaction history fetched successfully"
+                )
+        );
+    }
+
     @GetMapping("/mini-statement")
     public ResponseEntity<BaseResponse<MiniStatementResponse>> miniStatement(
             @RequestParam("account_number") String accountNumber
@@ -56,6 +94,86 @@ public class TransactionQueryController {
         );
     }
 
+    /**
+     * Full statement for a date range, both days inclusive. The body is
+     * written from the database cursor as rows arrive, gzipped on the fly
+     * when the client accepts it. Only a few exports run at once; past that
+     * the request is refused with 429 before any connection is taken.
+     */
+    @GetMapping("/statements/export")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        AuthUser user = getAuthUser();
+
+        // Validate before streaming: once the body starts, the status is committed
+        StatementFormat statementFormat = StatementFormat.parse(format);
+        exportService.validateRange(from, to);
+        if (!ownershipResolver.isOwnedBy(accountNumber, user.getCustomerId())) {
+            throw TransactionException.forbidden("Not your account");
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StatementExportService.ExportSlot slot = exportService.acquireSlot();
+        StreamingResponseBody body = out -> {
+            try (slot) {
+                if (!gzip) {
+                    exportService.export(accountNumber, from, to, statementFormat, out);
+                    return;
+                }
+                // close() finishes the gzip trailer and frees the deflater; the
+                // servlet stream itself is left to the container
+                try (OutputStream gzipOut = new GZIPOutputStream(
+                        StreamUtils.nonClosing(out), GZIP_BUFFER_BYTES)) {
+                    exportService.export(accountNumber, from, to, statementFormat, gzipOut);
+                }
+            }
+        };
+
+        String filename = "statement-" + from + "-" + to + "." + statementFormat.extension();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(statementFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .headers(headers -> {
+                    if (gzip) {
+                        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    }
+                })
+                .body(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            // gzip;q=0 means the client refuses it
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     private AuthUser getAuthUser() {
         Authentication authentication =
                 SecurityContextHolder.getContext().getAuthentication();
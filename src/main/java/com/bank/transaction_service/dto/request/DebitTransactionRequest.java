@@ -2,6 +2,7 @@ package com.bank.transaction_service.dto.request;
 
 import com.bank.transaction_service.enums.TransactionCategory;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -21,6 +22,7 @@ public class DebitTransactionRequest {
     private String accountNumber;
 
     @NotNull(message = "Amount is required")
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most two decimal places")
     private BigDecimal amount;
 
     @NotNull(message = "Transaction category is required")
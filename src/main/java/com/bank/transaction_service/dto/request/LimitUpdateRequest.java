@@ -1,5 +1,6 @@
 package com.bank.transaction_service.dto.request;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,17 +14,22 @@ import java.math.BigDecimal;
 public class LimitUpdateRequest {
 
     @NotNull(message = "Daily limit is required")
+    @Digits(integer = 15, fraction = 2, message = "Daily limit can have at most two decimal places")
     private BigDecimal dailyLimit;
 
     @NotNull(message = "Per transaction limit is required")
+    @Digits(integer = 15, fraction = 2, message = "Per transaction limit can have at most two decimal places")
     private BigDecimal perTransactionLimit;
 
     @NotNull(message = "Monthly limit is required")
+    @Digits(integer = 15, fraction = 2, message = "Monthly limit can have at most two decimal places")
     private BigDecimal monthlyLimit;
 
     @NotNull(message = "ATM limit is required")
+    @Digits(integer = 15, fraction = 2, message = "ATM limit can have at most two decimal places")
     private BigDecimal atmLimit;
 
     @NotNull(message = "Online shopping limit is required")
+    @Digits(integer = 15, fraction = 2, message = "Online shopping limit can have at most two decimal places")
     private BigDecimal onlineShoppingLimit;
 }
@@ -3,6 +3,7 @@ package com.bank.transaction_service.dto.request;
 import com.bank.transaction_service.enums.TransferMode;
 import jakarta.annotation.Nonnull;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -26,6 +27,7 @@ public class TransferTransactionRequest {
 
     @NotNull(message = "Amount is required")
     @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    @Digits(integer = 15, fraction = 2, message = "Amount can have at most two decimal places")
     private BigDecimal amount;
 
     @NotBlank(message = "Transfer type is required")
@@ -0,0 +1,44 @@
+package com.bank.transaction_service.dto.response;
+
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentDeadLetterResponse {
+
+    private Long id;
+    private String messageId;
+    private String contentType;
+    private int payloadBytes;
+
+    private String failureKind;
+    private String reason;
+    private int attempts;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime replayedAt;
+    private String replayError;
+
+    public static PaymentDeadLetterResponse from(PaymentDeadLetter deadLetter) {
+        return PaymentDeadLetterResponse.builder()
+                .id(deadLetter.getId())
+                .messageId(deadLetter.getMessageId())
+                .contentType(deadLetter.getContentType())
+                .payloadBytes(deadLetter.getPayload().length)
+                .failureKind(deadLetter.getFailureKind())
+                .reason(deadLetter.getReason())
+                .attempts(deadLetter.getAttempts())
+                .createdAt(deadLetter.getCreatedAt())
+                .replayedAt(deadLetter.getReplayedAt())
+                .replayError(deadLetter.getReplayError())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bank.transaction_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RemainingLimitResponse {
+
+    private String accountNumber;
+    // Day the daily windows refer to, yyyy-MM-dd
+    private String date;
+
+    private BigDecimal perTransactionLimit;
+
+    private Window daily;
+    private Window monthly;
+    private Window atm;
+    private Window onlineShopping;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Window {
+        // null when the account has no such limit
+        private BigDecimal limit;
+        private BigDecimal used;
+        private BigDecimal remaining;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.transaction_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RollupMaintenanceResponse {
+
+    private String month;
+    // Accounts with transactions in the month that were visited
+    private int accounts;
+    // Accounts whose rollups were recomputed from raw transactions
+    private int rebuilt;
+}
@@ -0,0 +1,27 @@
+package com.bank.transaction_service.dto.response;
+
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionFeedResponse {
+    private boolean success;
+    private String message;
+    private String description;
+    private int limit;
+    private boolean hasMore;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+    // Rendered as TransactionResponse objects, written straight from the rows
+    @JsonSerialize(using = TransactionRowsSerializer.class)
+    private List<TransactionRow> transactions;
+}
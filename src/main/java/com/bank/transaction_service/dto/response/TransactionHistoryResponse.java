@@ -1,5 +1,7 @@
 package com.bank.transaction_service.dto.response;
 
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,5 +21,7 @@ public class TransactionHistoryResponse {
     private int limit;
     private long total;
     private boolean hasMore;
-    private List<TransactionResponse> transactions;
+    // Rendered as TransactionResponse objects, written straight from the rows
+    @JsonSerialize(using = TransactionRowsSerializer.class)
+    private List<TransactionRow> transactions;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bank.transaction_service.dto.response;
 
 import com.bank.transaction_service.entity.TransactionLimit;
+import com.bank.transaction_service.util.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -29,12 +30,16 @@ public class TransactionLimitResponse {
     public static TransactionLimitResponse from(TransactionLimit limit) {
         return TransactionLimitResponse.builder()
                 .accountNumber(limit.getAccountNumber())
-                .dailyLimit(limit.getDailyLimit())
-                .perTransactionLimit(limit.getPerTransactionLimit())
-                .monthlyLimit(limit.getMonthlyLimit())
-                .atmLimit(limit.getAtmLimit())
-                .onlineShoppingLimit(limit.getOnlineShoppingLimit())
+                .dailyLimit(amount(limit.getDailyLimit()))
+                .perTransactionLimit(amount(limit.getPerTransactionLimit()))
+                .monthlyLimit(amount(limit.getMonthlyLimit()))
+                .atmLimit(amount(limit.getAtmLimit()))
+                .onlineShoppingLimit(amount(limit.getOnlineShoppingLimit()))
                 .updatedAt(limit.getUpdatedAt())
                 .build();
     }
+
+    private static BigDecimal amount(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
@@ -0,0 +1,44 @@
+package com.bank.transaction_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionRangeAnalyticsResponse {
+
+    private boolean success;
+    private String accountNumber;
+    private String from;
+    private String to;
+
+    // Totals over the whole range
+    private TransactionAnalyticsResponse.Summary summary;
+    private List<TransactionAnalyticsResponse.CategorySpend> categoryBreakdown;
+
+    // One entry per month, oldest first
+    private List<MonthSummary> months;
+
+    @Data
+    @Builder
+    public static class MonthSummary {
+        private String month;
+        private BigDecimal totalDebit;
+        private BigDecimal totalCredit;
+        private BigDecimal netFlow;
+        private long transactionCount;
+
+        // Month-over-month change against the month before
+        private BigDecimal debitChange;
+        private BigDecimal creditChange;
+        // Null when the month before had no debits
+        private BigDecimal debitChangePercent;
+    }
+}
@@ -0,0 +1,96 @@
+package com.bank.transaction_service.dto.response;
+
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.bank.transaction_service.util.TransactionFormats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes history rows straight into the response stream in the shape of
+ * {@link TransactionResponse}, without building a response object and its
+ * formatted strings per row first. Dates, times and amounts are formatted
+ * into one buffer reused across the page; field names and status messages
+ * are precomputed.
+ */
+public class TransactionRowsSerializer extends StdSerializer<List<TransactionRow>> {
+
+    private static final SerializedString TRANSACTION_ID = new SerializedString("transactionId");
+    private static final SerializedString DATE = new SerializedString("date");
+    private static final SerializedString TIME = new SerializedString("time");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString STATUS_MESSAGE = new SerializedString("statusMessage");
+
+    public TransactionRowsSerializer() {
+        super(List.class, false);
+    }
+
+    @Override
+    public void serialize(List<TransactionRow> rows, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        Buffer buffer = new Buffer();
+        gen.writeStartArray(rows, rows.size());
+        for (TransactionRow row : rows) {
+            gen.writeStartObject();
+            gen.writeFieldName(TRANSACTION_ID);
+            gen.writeString(row.transactionId());
+
+            gen.writeFieldName(DATE);
+            TransactionFormats.DATE.formatTo(row.createdAt(), buffer.reset());
+            buffer.writeTo(gen);
+
+            gen.writeFieldName(TIME);
+            TransactionFormats.TIME.formatTo(row.createdAt(), buffer.reset());
+            buffer.writeTo(gen);
+
+            gen.writeFieldName(TYPE);
+            gen.writeString(row.transactionType().name());
+            gen.writeFieldName(CATEGORY);
+            gen.writeNull();
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(row.description());
+
+            gen.writeFieldName(AMOUNT);
+            buffer.reset()
+                    .append(TransactionFormats.amountPrefix(row.transactionType()))
+                    .append(row.totalAmount());
+            buffer.writeTo(gen);
+
+            gen.writeFieldName(STATUS);
+            gen.writeString(row.status().name());
+            gen.writeFieldName(STATUS_MESSAGE);
+            gen.writeString(TransactionFormats.statusMessage(row.status()));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    /** Formatting target plus the char array handed to the generator. */
+    private static final class Buffer {
+
+        private final StringBuilder text = new StringBuilder(32);
+        private char[] chars = new char[32];
+
+        StringBuilder reset() {
+            text.setLength(0);
+            return text;
+        }
+
+        void writeTo(JsonGenerator gen) throws IOException {
+            int length = text.length();
+            if (length > chars.length) {
+                chars = new char[length];
+            }
+            text.getChars(0, length, chars, 0);
+            gen.writeString(chars, 0, length);
+        }
+    }
+}
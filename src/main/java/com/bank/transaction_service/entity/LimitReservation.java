@@ -0,0 +1,81 @@
+package com.bank.transaction_service.entity;
+
+import com.bank.transaction_service.enums.LimitReservationStatus;
+import com.bank.transaction_service.enums.TransactionCategory;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The share of an account's daily and monthly limits taken by one debit
+ * or transfer. Inserted with the transaction at intake, COMMITTED when
+ * its saga succeeds and RELEASED when it fails. Rows that are not
+ * RELEASED are what the in-process usage counters are seeded and
+ * refreshed from, on every replica. The amount is kept in paise so the rebuild sums integers.
+ */
+@Entity
+@Table(name = "transaction_limit_reservations", indexes = {
+        @Index(name = "idx_limit_reservation_day", columnList = "usageDay"),
+        @Index(name = "idx_limit_reservation_account_day", columnList = "accountNumber, usageDay"),
+        @Index(name = "idx_limit_reservation_created", columnList = "createdAt"),
+        @Index(name = "idx_limit_reservation_updated", columnList = "updatedAt")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LimitReservation implements Persistable<String> {
+
+    @Id
+    @Column(name = "transaction_id", length = 30)
+    private String transactionId;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionCategory category;
+
+    @Column(nullable = false)
+    private long amountPaise;
+
+    /** Day whose daily windows, and month whose monthly window, this counts against. */
+    @Column(nullable = false)
+    private LocalDate usageDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LimitReservationStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    // Assigned ID, as on Transaction: tracked here so saving a new
+    // reservation inserts without a SELECT first
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.transaction_service.entity;
+
+import com.bank.transaction_service.util.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Stores {@link Money} attributes as the usual {@code DECIMAL} amount
+ * column, so switching a field from {@code BigDecimal} leaves the schema
+ * unchanged.
+ */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return Money.ofNullable(amount);
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.transaction_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of an account's successful transactions for one month,
+ * per category and type. Kept up to date in the transaction that marks a
+ * transaction SUCCESS, so monthly analytics read a few rows here instead
+ * of every transaction of the month.
+ */
+@Entity
+@Table(name = "transaction_monthly_rollups")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    private LocalDateTime updatedAt;
+}
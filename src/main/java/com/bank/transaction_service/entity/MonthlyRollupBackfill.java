@@ -0,0 +1,33 @@
+package com.bank.transaction_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A month whose {@link MonthlyRollup} rows were rebuilt for every account
+ * from the raw transactions. Until a month has one of these, or starts
+ * after the first one was written, its rollups may be missing whatever
+ * happened before they were recorded live, so analytics sum the
+ * transactions instead.
+ */
+@Entity
+@Table(name = "transaction_monthly_rollup_backfills")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollupBackfill {
+
+    @Id
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private int accounts;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+}
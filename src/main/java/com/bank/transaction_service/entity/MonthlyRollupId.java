@@ -0,0 +1,34 @@
+package com.bank.transaction_service.entity;
+
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class MonthlyRollupId implements Serializable {
+
+    @Column(nullable = false, length = 50)
+    private String accountNumber;
+
+    // First day of the month the transactions were created in
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    // Uncategorised transactions are rolled up under OTHERS
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType transactionType;
+}
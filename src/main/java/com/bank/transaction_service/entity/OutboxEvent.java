@@ -0,0 +1,51 @@
+package com.bank.transaction_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "transaction_outbox", indexes = {
+        @Index(name = "idx_outbox_pending", columnList = "sentAt, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    // Business key of the event, published as an attribute for consumers
+    // that deduplicate (delivery is at-least-once).
+    @Column(nullable = false, length = 30)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 50)
+    private String contentType;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private String lastError;
+
+    // Set while a relay publishes the row outside any transaction; the row
+    // can be claimed again once it passes, e.g. if that relay died
+    private LocalDateTime claimedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
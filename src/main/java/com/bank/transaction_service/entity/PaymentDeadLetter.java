@@ -0,0 +1,50 @@
+package com.bank.transaction_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payment_dead_letters", indexes = {
+        @Index(name = "idx_dead_letter_pending", columnList = "replayedAt, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String messageId;
+
+    // Original message body and its content-type attribute, kept verbatim
+    // so a replay decodes exactly what was delivered.
+    @Column(length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false, length = 20)
+    private String failureKind;
+
+    @Column(length = 500)
+    private String reason;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime replayedAt;
+
+    private String replayError;
+}
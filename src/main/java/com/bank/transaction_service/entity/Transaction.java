@@ -3,6 +3,7 @@ package com.bank.transaction_service.entity;
 import com.bank.transaction_service.enums.*;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,17 +11,22 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "transactions", indexes = {
-        @Index(name = "idx_account_number", columnList = "accountNumber"),
+        // Serves account lookups, createdAt range queries and the keyset
+        // history feed, which seeks and orders on (createdAt, transaction_id)
+        // within an account.
+        @Index(name = "idx_account_created_txn", columnList = "accountNumber, createdAt, transaction_id"),
         @Index(name = "idx_customer_id", columnList = "customerId"),
         @Index(name = "idx_idempotency_key", columnList = "idempotencyKey"),
         @Index(name = "idx_created_at", columnList = "createdAt")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_transactions_idempotency_key", columnNames = "idempotencyKey")
 })
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Transaction {
+public class Transaction implements Persistable<String> {
 
     @Id
     @Column(name = "transaction_id", length = 30)
@@ -59,7 +65,11 @@ public class Transaction {
     private BigDecimal previousBalance;
     private BigDecimal currentBalance;
 
-    @Column(unique = true, length = 100)
+    // currentBalance was computed from previousBalance rather than reported
+    // by account-service, and is still waiting for BalanceReconciler.
+    private Boolean balanceDerived;
+
+    @Column(length = 100)
     private String idempotencyKey;
 
     private String failureReason;
@@ -68,4 +78,27 @@ public class Transaction {
     private LocalDateTime createdAt;
     private LocalDateTime completedAt;
 
+    // IDs are assigned before save, so Spring Data cannot tell new rows
+    // apart by ID; without this every intake save would merge (SELECT, then
+    // INSERT) instead of inserting directly.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return transactionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,10 @@
 package com.bank.transaction_service.entity;
 
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
+import com.bank.transaction_service.util.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 @Entity
 @Table(name = "transaction_limits")
@@ -14,15 +14,21 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TransactionLimit {
 
+    private static final Money DEFAULT_DAILY_LIMIT = Money.ofRupees(100000);
+    private static final Money DEFAULT_PER_TRANSACTION_LIMIT = Money.ofRupees(50000);
+    private static final Money DEFAULT_MONTHLY_LIMIT = Money.ofRupees(1000000);
+    private static final Money DEFAULT_ATM_LIMIT = Money.ofRupees(25000);
+    private static final Money DEFAULT_ONLINE_SHOPPING_LIMIT = Money.ofRupees(30000);
+
     @Id
     private String accountNumber;
 
-    private BigDecimal dailyLimit = BigDecimal.valueOf(100000);
-    private BigDecimal perTransactionLimit = BigDecimal.valueOf(50000);
-    private BigDecimal monthlyLimit = BigDecimal.valueOf(1000000);
+    private Money dailyLimit = DEFAULT_DAILY_LIMIT;
+    private Money perTransactionLimit = DEFAULT_PER_TRANSACTION_LIMIT;
+    private Money monthlyLimit = DEFAULT_MONTHLY_LIMIT;
 
-    private BigDecimal atmLimit = BigDecimal.valueOf(25000);
-    private BigDecimal onlineShoppingLimit = BigDecimal.valueOf(30000);
+    private Money atmLimit = DEFAULT_ATM_LIMIT;
+    private Money onlineShoppingLimit = DEFAULT_ONLINE_SHOPPING_LIMIT;
 
     private LocalDateTime updatedAt;
 
@@ -31,11 +37,11 @@ public class TransactionLimit {
     }
 
     public void update(LimitUpdateRequest req) {
-        this.dailyLimit = req.getDailyLimit();
-        this.perTransactionLimit = req.getPerTransactionLimit();
-        this.monthlyLimit = req.getMonthlyLimit();
-        this.atmLimit = req.getAtmLimit();
-        this.onlineShoppingLimit = req.getOnlineShoppingLimit();
+        this.dailyLimit = Money.ofNullable(req.getDailyLimit());
+        this.perTransactionLimit = Money.ofNullable(req.getPerTransactionLimit());
+        this.monthlyLimit = Money.ofNullable(req.getMonthlyLimit());
+        this.atmLimit = Money.ofNullable(req.getAtmLimit());
+        this.onlineShoppingLimit = Money.ofNullable(req.getOnlineShoppingLimit());
         this.updatedAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,28 @@
+package com.bank.transaction_service.enums;
+
+import com.bank.transaction_service.exception.TransactionException;
+
+import java.time.YearMonth;
+
+public enum AnalyticsPeriod {
+    // The current month and the 11 before it
+    LAST_12_MONTHS,
+    // January of the current year through the current month
+    YEAR_TO_DATE;
+
+    public YearMonth from(YearMonth current) {
+        return switch (this) {
+            case LAST_12_MONTHS -> current.minusMonths(11);
+            case YEAR_TO_DATE -> YearMonth.of(current.getYear(), 1);
+        };
+    }
+
+    public static AnalyticsPeriod parse(String value) {
+        for (AnalyticsPeriod period : values()) {
+            if (period.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return period;
+            }
+        }
+        throw TransactionException.badRequest("Unsupported analytics period: " + value);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.transaction_service.enums;
+
+public enum LimitReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
@@ -37,24 +37,24 @@ public class GlobalExceptionHandler {
                 .status(ex.getHttpStatus())
                 .body(BaseResponse.error(ex.getMessage(), ex.getErrorCode()));
     }
-//
-//    @ExceptionHandler(MethodArgumentNotValidException.class)
-//    public ResponseEntity<BaseResponse<Void>> handleValidationErrors(
-//            MethodArgumentNotValidException ex,
-//            HttpServletRequest request
-//    ) {
-//        String errors = ex.getBindingResult()
-//                .getFieldErrors()
-//                .stream()
-//                .map(FieldError::getDefaultMessage)
-//                .collect(Collectors.joining(", "));
-//
-//        log.warn("Validation failed at {}: {}", request.getRequestURI(), errors);
-//
-//        return ResponseEntity
-//                .status(HttpStatus.BAD_REQUEST)
-//                .body(BaseResponse.error(errors, "INVALID_INPUT"));
-//    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<BaseResponse<Void>> handleValidationErrors(
+            MethodArgumentNotValidException ex,
+            HttpServletRequest request
+    ) {
+        String errors = ex.getBindingResult()
+                .getFieldErrors()
+                .stream()
+                .map(FieldError::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+
+        log.warn("Validation failed at {}: {}", request.getRequestURI(), errors);
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(BaseResponse.error(errors, "INVALID_INPUT"));
+    }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<BaseResponse<Void>> handleMalformedJson(
@@ -23,6 +23,10 @@ public class TransactionException extends RuntimeException {
         return new TransactionException(message, "UNAUTHORIZED", HttpStatus.UNAUTHORIZED);
     }
 
+    public static TransactionException forbidden(String message) {
+        return new TransactionException(message, "FORBIDDEN", HttpStatus.FORBIDDEN);
+    }
+
     public static TransactionException notFound(String message) {
         return new TransactionException(message, "NOT_FOUND", HttpStatus.NOT_FOUND);
     }
@@ -34,4 +38,12 @@ public class TransactionException extends RuntimeException {
     public static TransactionException externalServiceError(String message) {
         return new TransactionException(message, "EXTERNAL_SERVICE_ERROR", HttpStatus.SERVICE_UNAVAILABLE);
     }
+
+    public static TransactionException tooManyRequests(String message) {
+        return new TransactionException(message, "TOO_MANY_REQUESTS", HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    public static TransactionException conflict(String message) {
+        return new TransactionException(message, "CONFLICT", HttpStatus.CONFLICT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.bank.transaction_service.kafka.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Base for the binary schemas. The first byte of every payload is the
+ * schema version; writers always emit the latest one and readers keep
+ * accepting older ones, so producers and consumers can roll independently.
+ */
+abstract class BinaryEventCodec<T> implements EventCodec<T> {
+
+    private final String contentType;
+    private final int currentVersion;
+
+    BinaryEventCodec(String contentType, int currentVersion) {
+        this.contentType = contentType;
+        this.currentVersion = currentVersion;
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public byte[] encode(T event) {
+        BinaryWriter writer = new BinaryWriter(128).writeByte(currentVersion);
+        write(event, writer);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public T decode(ByteBuffer data) {
+        BinaryReader reader = new BinaryReader(data.slice());
+        try {
+            int version = reader.readByte();
+            if (version < 1 || version > currentVersion) {
+                throw new IllegalArgumentException(
+                        "Unsupported " + contentType + " schema version " + version);
+            }
+            return read(version, reader);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated " + contentType + " payload", e);
+        }
+    }
+
+    abstract void write(T event, BinaryWriter writer);
+
+    abstract T read(int version, BinaryReader reader);
+}
@@ -0,0 +1,113 @@
+package com.bank.transaction_service.kafka.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads the {@link BinaryWriter} format straight from a (possibly
+ * read-only, off-heap) buffer. Strings are decoded from a slice, so no
+ * intermediate copy of the payload is made.
+ */
+final class BinaryReader {
+
+    private final ByteBuffer buf;
+
+    BinaryReader(ByteBuffer buf) {
+        this.buf = buf;
+    }
+
+    int readByte() {
+        return buf.get() & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    long readZigZag() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    int readLength() {
+        long length = readVarLong();
+        if (length < 0 || length > buf.remaining()) {
+            throw new IllegalArgumentException("Length " + length + " exceeds payload");
+        }
+        return (int) length;
+    }
+
+    ByteBuffer readSlice(int length) {
+        ByteBuffer slice = buf.slice();
+        slice.limit(length);
+        buf.position(buf.position() + length);
+        return slice;
+    }
+
+    String readString() {
+        long prefix = readVarLong();
+        if (prefix == BinaryWriter.NULL) {
+            return null;
+        }
+        int length = (int) (prefix - 1);
+        if (length < 0 || length > buf.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds payload");
+        }
+        if (buf.hasArray()) {
+            String value = new String(buf.array(), buf.arrayOffset() + buf.position(), length,
+                    StandardCharsets.UTF_8);
+            buf.position(buf.position() + length);
+            return value;
+        }
+        return StandardCharsets.UTF_8.decode(readSlice(length)).toString();
+    }
+
+    Long readLong() {
+        return readByte() == BinaryWriter.NULL ? null : readZigZag();
+    }
+
+    BigDecimal readDecimal() {
+        int tag = readByte();
+        switch (tag) {
+            case BinaryWriter.NULL:
+                return null;
+            case BinaryWriter.DECIMAL_COMPACT: {
+                int scale = (int) readZigZag();
+                return BigDecimal.valueOf(readZigZag(), scale);
+            }
+            case BinaryWriter.DECIMAL_WIDE: {
+                int scale = (int) readZigZag();
+                byte[] magnitude = new byte[readLength()];
+                buf.get(magnitude);
+                return new BigDecimal(new BigInteger(magnitude), scale);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown decimal tag " + tag);
+        }
+    }
+
+    LocalDateTime readDateTime() {
+        if (readByte() == BinaryWriter.NULL) {
+            return null;
+        }
+        long epochSecond = readZigZag();
+        int nano = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    int remaining() {
+        return buf.remaining();
+    }
+}
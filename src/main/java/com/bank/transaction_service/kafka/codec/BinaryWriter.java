@@ -0,0 +1,112 @@
+package com.bank.transaction_service.kafka.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Growable buffer for the binary event schemas. Integers are LEB128
+ * varints (zig-zag for signed values); strings are length+1 prefixed so
+ * that 0 means null.
+ */
+final class BinaryWriter {
+
+    static final int NULL = 0;
+    static final int DECIMAL_COMPACT = 1;
+    static final int DECIMAL_WIDE = 2;
+    static final int PRESENT = 1;
+
+    private byte[] buf;
+    private int size;
+
+    BinaryWriter(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    BinaryWriter writeByte(int value) {
+        ensure(1);
+        buf[size++] = (byte) value;
+        return this;
+    }
+
+    BinaryWriter writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[size++] = (byte) value;
+        return this;
+    }
+
+    BinaryWriter writeZigZag(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    BinaryWriter writeBytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    BinaryWriter writeString(String value) {
+        if (value == null) {
+            return writeVarLong(NULL);
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(utf8.length + 1L);
+        return writeBytes(utf8);
+    }
+
+    BinaryWriter writeLong(Long value) {
+        if (value == null) {
+            return writeByte(NULL);
+        }
+        writeByte(PRESENT);
+        return writeZigZag(value);
+    }
+
+    BinaryWriter writeDecimal(BigDecimal value) {
+        if (value == null) {
+            return writeByte(NULL);
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            writeByte(DECIMAL_COMPACT);
+            writeZigZag(value.scale());
+            return writeZigZag(unscaled.longValue());
+        }
+        byte[] magnitude = unscaled.toByteArray();
+        writeByte(DECIMAL_WIDE);
+        writeZigZag(value.scale());
+        writeVarLong(magnitude.length);
+        return writeBytes(magnitude);
+    }
+
+    BinaryWriter writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            return writeByte(NULL);
+        }
+        writeByte(PRESENT);
+        writeZigZag(value.toEpochSecond(ZoneOffset.UTC));
+        return writeVarLong(value.getNano());
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.bank.transaction_service.kafka.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs several events of one type into a single payload.
+ *
+ * <p>Layout: version byte, flags byte, element count, then each element as
+ * a length-prefixed payload of the element codec. When the framed body is
+ * at least {@code compressThresholdBytes} it is deflated (flag bit 0) and
+ * its inflated length is written after the count. Uncompressed batches
+ * are decoded from slices of the original buffer.
+ */
+final class EventBatchCodec<T> implements EventCodec<List<T>> {
+
+    static final String BATCH_PARAMETER = "batch";
+
+    private static final int VERSION = 1;
+    private static final int FLAG_DEFLATE = 1;
+    private static final int MAX_INFLATED_BYTES = 16 * 1024 * 1024;
+
+    private final EventCodec<T> elementCodec;
+    private final int compressThresholdBytes;
+
+    EventBatchCodec(EventCodec<T> elementCodec, int compressThresholdBytes) {
+        this.elementCodec = elementCodec;
+        this.compressThresholdBytes = compressThresholdBytes;
+    }
+
+    @Override
+    public String contentType() {
+        return elementCodec.contentType() + ";" + BATCH_PARAMETER;
+    }
+
+    @Override
+    public byte[] encode(List<T> events) {
+        BinaryWriter body = new BinaryWriter(Math.max(64, events.size() * 96));
+        for (T event : events) {
+            byte[] element = elementCodec.encode(event);
+            body.writeVarLong(element.length).writeBytes(element);
+        }
+
+        BinaryWriter out = new BinaryWriter(body.size() + 16).writeByte(VERSION);
+        if (compressThresholdBytes > 0 && body.size() >= compressThresholdBytes) {
+            out.writeByte(FLAG_DEFLATE)
+                    .writeVarLong(events.size())
+                    .writeVarLong(body.size())
+                    .writeBytes(deflate(body.toByteArray()));
+        } else {
+            out.writeByte(0)
+                    .writeVarLong(events.size())
+                    .writeBytes(body.toByteArray());
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<T> decode(ByteBuffer data) {
+        BinaryReader header = new BinaryReader(data.slice());
+        try {
+            int version = header.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported batch version " + version);
+            }
+            int flags = header.readByte();
+            int count = (int) header.readVarLong();
+
+            BinaryReader body = header;
+            if ((flags & FLAG_DEFLATE) != 0) {
+                body = new BinaryReader(ByteBuffer.wrap(inflate(header, (int) header.readVarLong())));
+            }
+
+            List<T> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                events.add(elementCodec.decode(body.readSlice(body.readLength())));
+            }
+            return events;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated " + contentType() + " payload", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(BinaryReader header, int inflatedLength) {
+        if (inflatedLength < 0 || inflatedLength > MAX_INFLATED_BYTES) {
+            throw new IllegalArgumentException("Batch inflates to " + inflatedLength + " bytes");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(header.readSlice(header.remaining()));
+            byte[] raw = new byte[inflatedLength];
+            int n = 0;
+            while (n < inflatedLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, inflatedLength - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != inflatedLength) {
+                throw new IllegalArgumentException("Batch inflated to " + n + " of " + inflatedLength + " bytes");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed batch", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
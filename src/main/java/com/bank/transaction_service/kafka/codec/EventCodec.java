@@ -0,0 +1,23 @@
+package com.bank.transaction_service.kafka.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire encoding for one event type. The content type travels with the
+ * message (the {@code content-type} attribute) so readers can pick the
+ * matching codec.
+ */
+public interface EventCodec<T> {
+
+    String contentType();
+
+    byte[] encode(T event);
+
+    /**
+     * Decodes from the buffer's position to its limit. The buffer may be
+     * read-only and is not retained.
+     *
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    T decode(ByteBuffer data);
+}
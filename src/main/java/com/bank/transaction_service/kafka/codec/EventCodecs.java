@@ -0,0 +1,93 @@
+package com.bank.transaction_service.kafka.codec;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codecs for the events this service publishes and consumes.
+ *
+ * <p>Writers use {@code transaction.events.encoding} ({@code json} or
+ * {@code binary}). Readers pick the codec from the message's
+ * {@code content-type} attribute, so both encodings, and batches of
+ * either, are accepted regardless of that setting. Messages without the
+ * attribute are treated as JSON.
+ */
+@Component
+public class EventCodecs {
+
+    public static final String CONTENT_TYPE_ATTRIBUTE = "content-type";
+
+    private final Map<Class<?>, Map<String, EventCodec<?>>> readers = new HashMap<>();
+    private final Map<Class<?>, EventCodec<?>> writers = new HashMap<>();
+    private final int compressThresholdBytes;
+
+    public EventCodecs(
+            ObjectMapper objectMapper,
+            @Value("${transaction.events.encoding:json}") String encoding,
+            @Value("${transaction.events.batch.compress-threshold-bytes:1024}") int compressThresholdBytes
+    ) {
+        this.compressThresholdBytes = compressThresholdBytes;
+        boolean binary = "binary".equalsIgnoreCase(encoding);
+
+        register(TransactionStatusEvent.class,
+                new JsonEventCodec<>(objectMapper, TransactionStatusEvent.class),
+                new TransactionStatusEventCodec(), binary);
+        register(PaymentEventMessage.class,
+                new JsonEventCodec<>(objectMapper, PaymentEventMessage.class),
+                new PaymentEventCodec(), binary);
+    }
+
+    /** The codec new {@code type} events are written with. */
+    @SuppressWarnings("unchecked")
+    public <T> EventCodec<T> writer(Class<T> type) {
+        EventCodec<T> codec = (EventCodec<T>) writers.get(type);
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec for " + type.getName());
+        }
+        return codec;
+    }
+
+    /** Writes several events as one payload, compressed when large. */
+    public <T> EventCodec<List<T>> batchWriter(Class<T> type) {
+        return new EventBatchCodec<>(writer(type), compressThresholdBytes);
+    }
+
+    /**
+     * Decodes a payload of the given content type. Returns one element for
+     * a single event and all of them for a batch.
+     *
+     * @throws IllegalArgumentException for an unknown content type or a
+     *                                  malformed payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> decode(Class<T> type, String contentType, ByteBuffer data) {
+        String[] parts = (contentType == null ? JsonEventCodec.CONTENT_TYPE : contentType).split(";");
+        String base = parts[0].trim();
+        boolean batch = false;
+        for (int i = 1; i < parts.length; i++) {
+            batch |= EventBatchCodec.BATCH_PARAMETER.equals(parts[i].trim());
+        }
+
+        EventCodec<T> codec = (EventCodec<T>) readers.getOrDefault(type, Map.of()).get(base);
+        if (codec == null) {
+            throw new IllegalArgumentException(
+                    "Unsupported content type " + contentType + " for " + type.getSimpleName());
+        }
+        return batch
+                ? new EventBatchCodec<>(codec, compressThresholdBytes).decode(data)
+                : List.of(codec.decode(data));
+    }
+
+    private <T> void register(Class<T> type, EventCodec<T> json, EventCodec<T> binary, boolean writeBinary) {
+        readers.put(type, Map.of(json.contentType(), json, binary.contentType(), binary));
+        writers.put(type, writeBinary ? binary : json);
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.transaction_service.kafka.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The original JSON encoding. Readers and writers are bound once, and
+ * decoding parses the UTF-8 bytes in place rather than through a String.
+ */
+final class JsonEventCodec<T> implements EventCodec<T> {
+
+    static final String CONTENT_TYPE = "application/json";
+
+    private final Class<T> type;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    JsonEventCodec(ObjectMapper objectMapper, Class<T> type) {
+        this.type = type;
+        this.reader = objectMapper.readerFor(type);
+        this.writer = objectMapper.writerFor(type);
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encode(T event) {
+        try {
+            return writer.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public T decode(ByteBuffer data) {
+        try {
+            if (data.hasArray()) {
+                return reader.readValue(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            }
+            return reader.readValue(new ByteBufferBackedInputStream(data.slice()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed " + type.getSimpleName() + " JSON", e);
+        }
+    }
+}
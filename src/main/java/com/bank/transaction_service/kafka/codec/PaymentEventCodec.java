@@ -0,0 +1,44 @@
+package com.bank.transaction_service.kafka.codec;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+
+/**
+ * Binary schema for {@link PaymentEventMessage}.
+ *
+ * <p>v1: eventId, paymentId, paymentIntentId, userId, amount, currency,
+ * status, createdAt.
+ */
+final class PaymentEventCodec extends BinaryEventCodec<PaymentEventMessage> {
+
+    static final String CONTENT_TYPE = "application/vnd.bank.payment-event+binary";
+
+    PaymentEventCodec() {
+        super(CONTENT_TYPE, 1);
+    }
+
+    @Override
+    void write(PaymentEventMessage event, BinaryWriter writer) {
+        writer.writeString(event.getEventId())
+                .writeString(event.getPaymentId())
+                .writeString(event.getPaymentIntentId())
+                .writeString(event.getUserId())
+                .writeLong(event.getAmount())
+                .writeString(event.getCurrency())
+                .writeString(event.getStatus())
+                .writeDateTime(event.getCreatedAt());
+    }
+
+    @Override
+    PaymentEventMessage read(int version, BinaryReader reader) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setEventId(reader.readString());
+        event.setPaymentId(reader.readString());
+        event.setPaymentIntentId(reader.readString());
+        event.setUserId(reader.readString());
+        event.setAmount(reader.readLong());
+        event.setCurrency(reader.readString());
+        event.setStatus(reader.readString());
+        event.setCreatedAt(reader.readDateTime());
+        return event;
+    }
+}
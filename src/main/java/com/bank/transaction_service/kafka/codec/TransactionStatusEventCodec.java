@@ -0,0 +1,46 @@
+package com.bank.transaction_service.kafka.codec;
+
+import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+
+/**
+ * Binary schema for {@link TransactionStatusEvent}.
+ *
+ * <p>v1: transactionId, transactionType, fromAccount, toAccount, amount,
+ * finalStatus, failureReason, createdAt, completedAt.
+ */
+final class TransactionStatusEventCodec extends BinaryEventCodec<TransactionStatusEvent> {
+
+    static final String CONTENT_TYPE = "application/vnd.bank.transaction-status+binary";
+
+    TransactionStatusEventCodec() {
+        super(CONTENT_TYPE, 1);
+    }
+
+    @Override
+    void write(TransactionStatusEvent event, BinaryWriter writer) {
+        writer.writeString(event.transactionId())
+                .writeString(event.transactionType())
+                .writeString(event.fromAccount())
+                .writeString(event.toAccount())
+                .writeDecimal(event.amount())
+                .writeString(event.finalStatus())
+                .writeString(event.failureReason())
+                .writeDateTime(event.createdAt())
+                .writeDateTime(event.completedAt());
+    }
+
+    @Override
+    TransactionStatusEvent read(int version, BinaryReader reader) {
+        return new TransactionStatusEvent(
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readString(),
+                reader.readDecimal(),
+                reader.readString(),
+                reader.readString(),
+                reader.readDateTime(),
+                reader.readDateTime()
+        );
+    }
+}
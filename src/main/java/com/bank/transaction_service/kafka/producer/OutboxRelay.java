@@ -0,0 +1,194 @@
+package com.bank.transaction_service.kafka.producer;
+
+import com.bank.transaction_service.entity.OutboxEvent;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.messaging.MessagingBackend;
+import com.bank.transaction_service.messaging.OutboundMessage;
+import com.bank.transaction_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code transaction_outbox} to the {@link MessagingBackend}.
+ *
+ * <p>Each batch takes three steps, and only the first and last open a
+ * transaction, each a short one:
+ * <ol>
+ *   <li>Claim up to {@code batch-size} pending rows: lock them with
+ *       {@code SKIP LOCKED} and stamp a lease of {@code lease-ms}, then
+ *       commit. No other relay picks the rows up while the lease runs.</li>
+ *   <li>Hand them all to the publisher at once and wait for the
+ *       acknowledgements, with no connection held.</li>
+ *   <li>Mark the delivered rows sent and the others failed, which also
+ *       clears their lease.</li>
+ * </ol>
+ * The publisher's own batching settings
+ * ({@code spring.cloud.gcp.pubsub.publisher.batching.*}) group the
+ * messages into requests by count, bytes and delay. A row whose publish
+ * failed or timed out stays pending and is retried on the next run, and a
+ * row claimed by a relay that died is claimed again when its lease
+ * expires, so delivery is at-least-once.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepo;
+    private final MessagingBackend messagingBackend;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long publishTimeoutMillis;
+    private final Duration lease;
+    private final long retentionHours;
+
+    private final Counter published;
+    private final Counter failed;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxRepo,
+            MessagingBackend messagingBackend,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.outbox.relay.batch-size:200}") int batchSize,
+            @Value("${transaction.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${transaction.outbox.relay.publish-timeout-ms:10000}") long publishTimeoutMillis,
+            @Value("${transaction.outbox.relay.lease-ms:30000}") long leaseMillis,
+            @Value("${transaction.outbox.retention-hours:24}") long retentionHours
+    ) {
+        if (leaseMillis <= publishTimeoutMillis) {
+            throw new IllegalArgumentException(
+                    "Outbox lease must be longer than the publish timeout: " + leaseMillis + " ms");
+        }
+        this.outboxRepo = outboxRepo;
+        this.messagingBackend = messagingBackend;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.publishTimeoutMillis = publishTimeoutMillis;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retentionHours = retentionHours;
+
+        this.published = meterRegistry.counter("transaction.outbox.published");
+        this.failed = meterRegistry.counter("transaction.outbox.publish.failures");
+        meterRegistry.gauge("transaction.outbox.pending", outboxRepo, OutboxEventRepository::countBySentAtIsNull);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.relay.interval-ms:200}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${transaction.outbox.purge-cron:0 15 * * * ?}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepo.deleteSentBefore(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox rows", deleted);
+        }
+    }
+
+    /**
+     * Claims, publishes and records one batch. Returns the number of rows
+     * that were claimed.
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<String>> acks = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            acks.add(publish(event));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<Long> unsent = new ArrayList<>();
+        String lastError = null;
+
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                acks.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                sent.add(batch.get(i).getId());
+            } catch (ExecutionException | TimeoutException e) {
+                unsent.add(batch.get(i).getId());
+                lastError = describe(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unsent.add(batch.get(i).getId());
+                lastError = "interrupted";
+            }
+        }
+
+        String error = lastError;
+        transactionTemplate.execute(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepo.markSent(sent, LocalDateTime.now());
+            }
+            if (!unsent.isEmpty()) {
+                outboxRepo.markFailed(unsent, error);
+            }
+            return null;
+        });
+
+        published.increment(sent.size());
+        if (!unsent.isEmpty()) {
+            failed.increment(unsent.size());
+            log.warn("{} of {} outbox events not published, will retry: {}",
+                    unsent.size(), batch.size(), lastError);
+        }
+        return batch.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> locked = outboxRepo.lockPendingBatch(batchSize, now);
+            if (!locked.isEmpty()) {
+                outboxRepo.claim(locked.stream().map(OutboxEvent::getId).toList(), now.plus(lease));
+            }
+            return locked;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    private CompletableFuture<String> publish(OutboxEvent event) {
+        OutboundMessage message = new OutboundMessage(event.getPayload(), Map.of(
+                EventCodecs.CONTENT_TYPE_ATTRIBUTE, event.getContentType(),
+                "aggregate-id", event.getAggregateId(),
+                "outbox-id", String.valueOf(event.getId())));
+        try {
+            return messagingBackend.publish(event.getTopic(), message);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        String message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
@@ -1,20 +1,32 @@
 package com.bank.transaction_service.kafka.producer;
+import com.bank.transaction_service.entity.OutboxEvent;
 import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.kafka.codec.EventCodec;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
 import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+import com.bank.transaction_service.repository.OutboxEventRepository;
 import com.bank.transaction_service.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import com.google.cloud.spring.pubsub.core.PubSubTemplate;
 
+/**
+ * Records the final status of a transaction and queues its status event in
+ * the outbox. Callers run both in the same local transaction, so an event
+ * exists exactly when the status change committed; {@link OutboxRelay}
+ * publishes it afterwards.
+ */
 @Component
 @RequiredArgsConstructor
 public class TransactionStatusProducer {
 
-    private final PubSubTemplate pubSubTemplate;
+    static final String TOPIC = "transaction-status";
+
     private final TransactionRepository transactionRepo;
+    private final OutboxEventRepository outboxRepo;
+    private final EventCodecs eventCodecs;
 
     public void publishSuccess(Transaction tx) {
 
@@ -32,7 +44,7 @@ public class TransactionStatusProducer {
                 tx.getCompletedAt()
         );
 
-        pubSubTemplate.publish("transaction-status", event);
+        enqueue(event);
     }
 
     public void publishFailure(Transaction tx, String reason) {
@@ -51,6 +63,18 @@ public class TransactionStatusProducer {
                 tx.getCompletedAt()
         );
 
-        pubSubTemplate.publish("transaction-status", event);
+        enqueue(event);
+    }
+
+    private void enqueue(TransactionStatusEvent event) {
+        EventCodec<TransactionStatusEvent> codec = eventCodecs.writer(TransactionStatusEvent.class);
+
+        outboxRepo.save(OutboxEvent.builder()
+                .topic(TOPIC)
+                .aggregateId(event.transactionId())
+                .contentType(codec.contentType())
+                .payload(codec.encode(event))
+                .createdAt(LocalDateTime.now())
+                .build());
     }
-}
\ No newline at end of file
+}
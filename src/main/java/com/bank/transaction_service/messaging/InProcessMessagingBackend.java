@@ -0,0 +1,401 @@
+package com.bank.transaction_service.messaging;
+
+import com.bank.transaction_service.util.RingBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Broker that lives inside the JVM, for running the service end to end
+ * without Pub/Sub. Enabled with {@code messaging.backend=in-process}.
+ *
+ * <p>It mirrors the Pub/Sub semantics the service relies on:
+ * <ul>
+ *   <li>publishes are batched by count and delay, and each batch completes
+ *       after {@code publish-latency-ms};</li>
+ *   <li>each subscription gets every message of its topic (bound with
+ *       {@code bindings=subscription:topic,...}, otherwise the names match)
+ *       and buffers it in a lock-free ring;</li>
+ *   <li>at most {@code max-outstanding} messages per subscription are
+ *       delivered but not yet settled;</li>
+ *   <li>a nack redelivers with the attempt count raised, and messages
+ *       sharing an ordering key are delivered one at a time in publish
+ *       order, with a nacked one redelivered before the ones behind it.</li>
+ * </ul>
+ *
+ * <p>{@code publish-failure-rate} fails that share of publishes and
+ * {@code duplicate-rate} redelivers that share of acked messages, to
+ * exercise retry and at-least-once handling.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "messaging.backend", havingValue = "in-process")
+public class InProcessMessagingBackend implements MessagingBackend {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int batchSize;
+    private final long batchDelayNanos;
+    private final long publishLatencyMillis;
+    private final int ringCapacity;
+    private final int maxOutstanding;
+    private final double publishFailureRate;
+    private final double duplicateRate;
+    private final Map<String, String> bindings;
+
+    private final RingBuffer<PendingPublish> outbound;
+    private final Map<String, List<SubscriptionQueue>> topics = new ConcurrentHashMap<>();
+    private final AtomicLong nextMessageId = new AtomicLong();
+    private final ExecutorService deliveryPool;
+    private final ScheduledExecutorService publishCompleter;
+    private final Thread publisher;
+    private volatile boolean running = true;
+
+    public InProcessMessagingBackend(
+            @Value("${messaging.in-process.batch-size:100}") int batchSize,
+            @Value("${messaging.in-process.batch-delay-ms:1}") long batchDelayMillis,
+            @Value("${messaging.in-process.publish-latency-ms:0}") long publishLatencyMillis,
+            @Value("${messaging.in-process.ring-capacity:65536}") int ringCapacity,
+            @Value("${messaging.in-process.max-outstanding:1000}") int maxOutstanding,
+            @Value("${messaging.in-process.delivery-threads:8}") int deliveryThreads,
+            @Value("${messaging.in-process.publish-failure-rate:0}") double publishFailureRate,
+            @Value("${messaging.in-process.duplicate-rate:0}") double duplicateRate,
+            @Value("${messaging.in-process.bindings:}") String bindings
+    ) {
+        this.batchSize = batchSize;
+        this.batchDelayNanos = TimeUnit.MILLISECONDS.toNanos(batchDelayMillis);
+        this.publishLatencyMillis = publishLatencyMillis;
+        this.ringCapacity = ringCapacity;
+        this.maxOutstanding = maxOutstanding;
+        this.publishFailureRate = publishFailureRate;
+        this.duplicateRate = duplicateRate;
+        this.bindings = parseBindings(bindings);
+
+        this.outbound = new RingBuffer<>(ringCapacity);
+        this.deliveryPool = Executors.newFixedThreadPool(deliveryThreads, daemon("in-process-delivery"));
+        this.publishCompleter = Executors.newSingleThreadScheduledExecutor(daemon("in-process-publish"));
+        this.publisher = daemon("in-process-batcher").newThread(this::runPublisher);
+        this.publisher.start();
+    }
+
+    @Override
+    public CompletableFuture<String> publish(String topic, OutboundMessage message) {
+        PendingPublish pending = new PendingPublish(topic, message, new CompletableFuture<>());
+        while (!outbound.offer(pending)) {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Broker is shut down"));
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return pending.result();
+    }
+
+    @Override
+    public Subscription subscribe(String subscription, Consumer<InboundMessage> handler) {
+        SubscriptionQueue queue = new SubscriptionQueue(subscription, handler);
+        String topic = bindings.getOrDefault(subscription, subscription);
+        topics.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(queue);
+        queue.start();
+        return () -> {
+            topics.getOrDefault(topic, List.of()).remove(queue);
+            queue.stop();
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        topics.values().forEach(queues -> queues.forEach(SubscriptionQueue::stop));
+        publishCompleter.shutdown();
+        deliveryPool.shutdown();
+    }
+
+    // ================= PUBLISHING =================
+
+    private void runPublisher() {
+        List<PendingPublish> batch = new ArrayList<>(batchSize);
+        while (running) {
+            PendingPublish first = outbound.poll();
+            if (first == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + batchDelayNanos;
+            while (batch.size() < batchSize) {
+                PendingPublish next = outbound.poll();
+                if (next != null) {
+                    batch.add(next);
+                } else if (System.nanoTime() >= deadline) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+
+            List<PendingPublish> sealed = List.copyOf(batch);
+            batch.clear();
+            if (publishLatencyMillis > 0) {
+                // One completer thread keeps batches in publish order.
+                publishCompleter.schedule(() -> commit(sealed), publishLatencyMillis, TimeUnit.MILLISECONDS);
+            } else {
+                commit(sealed);
+            }
+        }
+    }
+
+    private void commit(List<PendingPublish> batch) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (PendingPublish pending : batch) {
+            if (publishFailureRate > 0 && random.nextDouble() < publishFailureRate) {
+                pending.result().completeExceptionally(new IllegalStateException("Injected publish failure"));
+                continue;
+            }
+            Envelope envelope = new Envelope(
+                    String.valueOf(nextMessageId.incrementAndGet()),
+                    pending.message().data(),
+                    pending.message().attributes(),
+                    pending.message().orderingKey(),
+                    Instant.now());
+            for (SubscriptionQueue queue : topics.getOrDefault(pending.topic(), List.of())) {
+                queue.enqueue(new Delivery(queue, envelope, 1));
+            }
+            pending.result().complete(envelope.id());
+        }
+    }
+
+    // ================= DELIVERY =================
+
+    private final class SubscriptionQueue {
+
+        private final String name;
+        private final Consumer<InboundMessage> handler;
+        private final RingBuffer<Delivery> ring = new RingBuffer<>(ringCapacity);
+        private final Semaphore outstanding = new Semaphore(maxOutstanding);
+        // Ordering keys with a message in flight, and what is waiting behind it.
+        private final Map<String, ArrayDeque<Delivery>> busyKeys = new HashMap<>();
+        private final Thread dispatcher;
+        private volatile boolean active = true;
+
+        SubscriptionQueue(String name, Consumer<InboundMessage> handler) {
+            this.name = name;
+            this.handler = handler;
+            this.dispatcher = daemon("in-process-" + name).newThread(this::dispatch);
+        }
+
+        void start() {
+            dispatcher.start();
+        }
+
+        void stop() {
+            active = false;
+            dispatcher.interrupt();
+        }
+
+        void enqueue(Delivery delivery) {
+            while (!ring.offer(delivery)) {
+                if (!active) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        private void dispatch() {
+            while (active) {
+                try {
+                    outstanding.acquire();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Delivery next;
+                while ((next = ring.poll()) == null && active) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                if (next == null || !claimKey(next)) {
+                    outstanding.release();
+                    continue;
+                }
+                deliver(next);
+            }
+        }
+
+        private boolean claimKey(Delivery delivery) {
+            String key = delivery.orderingKey();
+            if (key == null) {
+                return true;
+            }
+            synchronized (busyKeys) {
+                ArrayDeque<Delivery> waiting = busyKeys.get(key);
+                if (waiting == null) {
+                    busyKeys.put(key, new ArrayDeque<>());
+                    return true;
+                }
+                waiting.add(delivery);
+                return false;
+            }
+        }
+
+        private Delivery releaseKey(String key) {
+            synchronized (busyKeys) {
+                ArrayDeque<Delivery> waiting = busyKeys.get(key);
+                Delivery next = waiting == null ? null : waiting.poll();
+                if (next == null) {
+                    busyKeys.remove(key);
+                }
+                return next;
+            }
+        }
+
+        private void deliver(Delivery delivery) {
+            try {
+                deliveryPool.execute(() -> {
+                    try {
+                        handler.accept(delivery);
+                    } catch (RuntimeException e) {
+                        log.warn("Handler for {} failed on message {}: {}", name, delivery.messageId(), e.getMessage());
+                        delivery.nack();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Delivery pool shut down; nothing will settle this message.
+                outstanding.release();
+            }
+        }
+
+        void onAck(Delivery delivery) {
+            String key = delivery.orderingKey();
+            Delivery next = key == null ? null : releaseKey(key);
+            if (next != null) {
+                deliver(next);          // hands over the outstanding slot
+            } else {
+                outstanding.release();
+            }
+            if (duplicateRate > 0 && ThreadLocalRandom.current().nextDouble() < duplicateRate) {
+                enqueue(delivery.redelivery());
+            }
+        }
+
+        void onNack(Delivery delivery) {
+            if (delivery.orderingKey() != null) {
+                // Keeps the key and the slot: nothing behind it may overtake.
+                deliver(delivery.redelivery());
+                return;
+            }
+            outstanding.release();
+            enqueue(delivery.redelivery());
+        }
+    }
+
+    private static final class Delivery implements InboundMessage {
+
+        private final SubscriptionQueue queue;
+        private final Envelope envelope;
+        private final int attempt;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Delivery(SubscriptionQueue queue, Envelope envelope, int attempt) {
+            this.queue = queue;
+            this.envelope = envelope;
+            this.attempt = attempt;
+        }
+
+        Delivery redelivery() {
+            return new Delivery(queue, envelope, attempt + 1);
+        }
+
+        @Override
+        public String messageId() {
+            return envelope.id();
+        }
+
+        @Override
+        public ByteBuffer data() {
+            return ByteBuffer.wrap(envelope.data()).asReadOnlyBuffer();
+        }
+
+        @Override
+        public String attribute(String name) {
+            return envelope.attributes().get(name);
+        }
+
+        @Override
+        public String orderingKey() {
+            return envelope.orderingKey();
+        }
+
+        @Override
+        public Instant publishTime() {
+            return envelope.publishTime();
+        }
+
+        @Override
+        public int deliveryAttempt() {
+            return attempt;
+        }
+
+        @Override
+        public void ack() {
+            if (settled.compareAndSet(false, true)) {
+                queue.onAck(this);
+            }
+        }
+
+        @Override
+        public void nack() {
+            if (settled.compareAndSet(false, true)) {
+                queue.onNack(this);
+            }
+        }
+    }
+
+    private record Envelope(String id, byte[] data, Map<String, String> attributes,
+                            String orderingKey, Instant publishTime) {}
+
+    private record PendingPublish(String topic, OutboundMessage message, CompletableFuture<String> result) {}
+
+    private static Map<String, String> parseBindings(String bindings) {
+        Map<String, String> parsed = new HashMap<>();
+        for (String binding : bindings.split(",")) {
+            String[] parts = binding.trim().split(":");
+            if (parts.length == 2) {
+                parsed.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return parsed;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
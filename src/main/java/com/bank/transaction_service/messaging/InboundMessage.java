@@ -0,0 +1,32 @@
+package com.bank.transaction_service.messaging;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/** A delivered message, settled exactly once with {@link #ack} or {@link #nack}. */
+public interface InboundMessage {
+
+    String messageId();
+
+    /** Read-only view of the payload; not copied. */
+    ByteBuffer data();
+
+    /** The attribute value, or null if absent. */
+    String attribute(String name);
+
+    String orderingKey();
+
+    /** When the broker accepted the message, or null if unknown. */
+    Instant publishTime();
+
+    /**
+     * 1 for the first delivery, counting up on redelivery; 0 when the
+     * backend does not track it.
+     */
+    int deliveryAttempt();
+
+    void ack();
+
+    /** Asks for immediate redelivery. */
+    void nack();
+}
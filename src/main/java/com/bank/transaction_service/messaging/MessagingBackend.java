@@ -0,0 +1,31 @@
+package com.bank.transaction_service.messaging;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * The broker this service publishes to and consumes from. Production uses
+ * {@link PubSubMessagingBackend}; {@link InProcessMessagingBackend} runs the
+ * same flows inside the JVM for load tests ({@code messaging.backend}).
+ */
+public interface MessagingBackend {
+
+    /**
+     * Publishes {@code message} to {@code topic}. The future completes with
+     * the broker-assigned message ID once the message is durable, or
+     * exceptionally if the publish failed.
+     */
+    CompletableFuture<String> publish(String topic, OutboundMessage message);
+
+    /**
+     * Starts delivering messages of {@code subscription} to {@code handler}.
+     * Every delivered message must eventually be acked or nacked; a handler
+     * that throws nacks the message.
+     */
+    Subscription subscribe(String subscription, Consumer<InboundMessage> handler);
+
+    @FunctionalInterface
+    interface Subscription {
+        void cancel();
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.transaction_service.messaging;
+
+import java.util.Map;
+
+/**
+ * A message to publish. Messages sharing a non-null {@code orderingKey}
+ * are delivered in publish order, one at a time.
+ */
+public record OutboundMessage(
+        byte[] data,
+        Map<String, String> attributes,
+        String orderingKey
+) {
+
+    public OutboundMessage(byte[] data, Map<String, String> attributes) {
+        this(data, attributes, null);
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.transaction_service.messaging;
+
+import com.google.cloud.pubsub.v1.Subscriber;
+import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.google.pubsub.v1.PubsubMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/** Google Cloud Pub/Sub through {@link PubSubTemplate}. */
+@Component
+@ConditionalOnProperty(name = "messaging.backend", havingValue = "pubsub", matchIfMissing = true)
+public class PubSubMessagingBackend implements MessagingBackend {
+
+    private final PubSubTemplate pubSubTemplate;
+
+    public PubSubMessagingBackend(PubSubTemplate pubSubTemplate) {
+        this.pubSubTemplate = pubSubTemplate;
+    }
+
+    @Override
+    public CompletableFuture<String> publish(String topic, OutboundMessage message) {
+        PubsubMessage.Builder builder = PubsubMessage.newBuilder()
+                .setData(ByteString.copyFrom(message.data()))
+                .putAllAttributes(message.attributes());
+        if (message.orderingKey() != null) {
+            // Requires spring.cloud.gcp.pubsub.publisher.enable-message-ordering
+            builder.setOrderingKey(message.orderingKey());
+        }
+        try {
+            return pubSubTemplate.publish(topic, builder.build());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String subscription, Consumer<InboundMessage> handler) {
+        Subscriber subscriber = pubSubTemplate.subscribe(subscription,
+                message -> handler.accept(new Delivered(message)));
+        return subscriber::stopAsync;
+    }
+
+    private record Delivered(BasicAcknowledgeablePubsubMessage message) implements InboundMessage {
+
+        @Override
+        public String messageId() {
+            return message.getPubsubMessage().getMessageId();
+        }
+
+        @Override
+        public ByteBuffer data() {
+            return message.getPubsubMessage().getData().asReadOnlyByteBuffer();
+        }
+
+        @Override
+        public String attribute(String name) {
+            return message.getPubsubMessage().getAttributesOrDefault(name, null);
+        }
+
+        @Override
+        public String orderingKey() {
+            String key = message.getPubsubMessage().getOrderingKey();
+            return key.isEmpty() ? null : key;
+        }
+
+        @Override
+        public Instant publishTime() {
+            Timestamp time = message.getPubsubMessage().getPublishTime();
+            return time.getSeconds() > 0 ? Instant.ofEpochSecond(time.getSeconds(), time.getNanos()) : null;
+        }
+
+        @Override
+        public int deliveryAttempt() {
+            // Only reported when the subscription has a dead-letter policy.
+            Integer attempt = Subscriber.getDeliveryAttempt(message.getPubsubMessage());
+            return attempt == null ? 0 : attempt;
+        }
+
+        @Override
+        public void ack() {
+            message.ack();
+        }
+
+        @Override
+        public void nack() {
+            message.nack();
+        }
+    }
+}
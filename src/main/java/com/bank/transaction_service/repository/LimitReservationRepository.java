@@ -0,0 +1,77 @@
+package com.bank.transaction_service.repository;
+
+import com.bank.transaction_service.entity.LimitReservation;
+import com.bank.transaction_service.enums.LimitReservationStatus;
+import com.bank.transaction_service.repository.projection.LimitUsageTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface LimitReservationRepository extends JpaRepository<LimitReservation, String> {
+
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.LimitUsageTotal(
+            r.accountNumber, r.category, r.usageDay, SUM(r.amountPaise))
+        FROM LimitReservation r
+        WHERE r.usageDay >= :from
+        AND r.status <> com.bank.transaction_service.enums.LimitReservationStatus.RELEASED
+        GROUP BY r.accountNumber, r.category, r.usageDay
+    """)
+    List<LimitUsageTotal> sumHeldSince(@Param("from") LocalDate from);
+
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.LimitUsageTotal(
+            r.accountNumber, r.category, r.usageDay, SUM(r.amountPaise))
+        FROM LimitReservation r
+        WHERE r.accountNumber = :accountNumber
+        AND r.usageDay >= :from
+        AND r.status <> com.bank.transaction_service.enums.LimitReservationStatus.RELEASED
+        GROUP BY r.accountNumber, r.category, r.usageDay
+    """)
+    List<LimitUsageTotal> sumHeldByAccountSince(@Param("accountNumber") String accountNumber,
+                                                @Param("from") LocalDate from);
+
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.LimitUsageTotal(
+            r.accountNumber, r.category, r.usageDay, SUM(r.amountPaise))
+        FROM LimitReservation r
+        WHERE r.accountNumber IN :accountNumbers
+        AND r.usageDay >= :from
+        AND r.status <> com.bank.transaction_service.enums.LimitReservationStatus.RELEASED
+        GROUP BY r.accountNumber, r.category, r.usageDay
+    """)
+    List<LimitUsageTotal> sumHeldByAccountsSince(@Param("accountNumbers") Collection<String> accountNumbers,
+                                                 @Param("from") LocalDate from);
+
+    /** Accounts with a reservation for {@code from} or later that was created or moved on at {@code since} or later. */
+    @Query("""
+        SELECT DISTINCT r.accountNumber
+        FROM LimitReservation r
+        WHERE r.usageDay >= :from
+        AND (r.createdAt >= :since OR r.updatedAt >= :since)
+    """)
+    List<String> findAccountsChangedSince(@Param("from") LocalDate from,
+                                          @Param("since") LocalDateTime since);
+
+    /** Moves a reservation on from {@code from} only; returns 0 if it was not in that status. */
+    @Modifying
+    @Query("""
+        UPDATE LimitReservation r
+        SET r.status = :to, r.updatedAt = :now
+        WHERE r.transactionId = :transactionId AND r.status = :from
+    """)
+    int transition(@Param("transactionId") String transactionId,
+                   @Param("from") LimitReservationStatus from,
+                   @Param("to") LimitReservationStatus to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM LimitReservation r WHERE r.usageDay < :before")
+    int deleteUsageBefore(@Param("before") LocalDate before);
+}
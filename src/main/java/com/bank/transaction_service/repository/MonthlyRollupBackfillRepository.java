@@ -0,0 +1,9 @@
+package com.bank.transaction_service.repository;
+
+import com.bank.transaction_service.entity.MonthlyRollupBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface MonthlyRollupBackfillRepository extends JpaRepository<MonthlyRollupBackfill, LocalDate> {
+}
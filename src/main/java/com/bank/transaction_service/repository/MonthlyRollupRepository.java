@@ -0,0 +1,78 @@
+package com.bank.transaction_service.repository;
+
+import com.bank.transaction_service.entity.MonthlyRollup;
+import com.bank.transaction_service.entity.MonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    List<MonthlyRollup> findByIdAccountNumberAndIdMonthStart(String accountNumber, LocalDate monthStart);
+
+    /**
+     * Adds to a rollup row, creating it on first use. A single statement,
+     * so concurrent sagas on the same key cannot lose an update.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_monthly_rollups
+            (account_number, month_start, category, transaction_type,
+             total_amount, transaction_count, updated_at)
+        VALUES (:accountNumber, :monthStart, :category, :transactionType, :amount, :count, :now)
+        ON DUPLICATE KEY UPDATE
+            total_amount = total_amount + :amount,
+            transaction_count = transaction_count + :count,
+            updated_at = :now
+    """, nativeQuery = true)
+    int upsert(
+            @Param("accountNumber") String accountNumber,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("category") String category,
+            @Param("transactionType") String transactionType,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        DELETE FROM MonthlyRollup r
+        WHERE r.id.accountNumber = :accountNumber
+          AND r.id.monthStart = :monthStart
+    """)
+    int deleteMonth(
+            @Param("accountNumber") String accountNumber,
+            @Param("monthStart") LocalDate monthStart);
+
+    /**
+     * Recomputes an account's month from its SUCCESS transactions created in
+     * {@code [start, end)}. Run after {@link #deleteMonth} in the same
+     * transaction.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO transaction_monthly_rollups
+            (account_number, month_start, category, transaction_type,
+             total_amount, transaction_count, updated_at)
+        SELECT t.account_number, :monthStart, COALESCE(t.category, 'OTHERS'), t.transaction_type,
+               SUM(t.total_amount), COUNT(*), :now
+        FROM transactions t
+        WHERE t.account_number = :accountNumber
+          AND t.status = 'SUCCESS'
+          AND t.created_at >= :start
+          AND t.created_at < :end
+        GROUP BY t.account_number, COALESCE(t.category, 'OTHERS'), t.transaction_type
+    """, nativeQuery = true)
+    int insertMonthFromTransactions(
+            @Param("accountNumber") String accountNumber,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("now") LocalDateTime now);
+}
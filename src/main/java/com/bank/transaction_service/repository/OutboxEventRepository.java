@@ -0,0 +1,53 @@
+package com.bank.transaction_service.repository;
+
+import com.bank.transaction_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets several relay instances claim rows in parallel
+    // without handing the same row to two of them. The locks only last
+    // until claim() has stamped the rows' lease.
+    @Query(value = """
+        SELECT * FROM transaction_outbox
+        WHERE sent_at IS NULL
+          AND (claimed_until IS NULL OR claimed_until < :now)
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockPendingBatch(@Param("limit") int limit,
+                                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = :until WHERE o.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.sentAt = :sentAt WHERE o.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent o
+        SET o.attempts = o.attempts + 1, o.lastError = :error, o.claimedUntil = NULL
+        WHERE o.id IN :ids
+    """)
+    int markFailed(@Param("ids") Collection<Long> ids,
+                   @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    long countBySentAtIsNull();
+}
@@ -0,0 +1,18 @@
+package com.bank.transaction_service.repository;
+
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PaymentDeadLetterRepository extends JpaRepository<PaymentDeadLetter, Long> {
+
+    Page<PaymentDeadLetter> findByReplayedAtIsNull(Pageable pageable);
+
+    List<PaymentDeadLetter> findByReplayedAtIsNullAndIdGreaterThanOrderByIdAsc(
+            Long afterId,
+            Pageable pageable
+    );
+}
@@ -1,54 +1,193 @@
 package com.bank.transaction_service.repository;
 
 import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.util.TimeRange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
 
-    Page<Transaction> findByAccountNumberOrderByCreatedAtDesc(
-            String accountNumber, Pageable pageable);
+    // History reads select TransactionRow rather than the entity: only the
+    // rendered columns, and no managed copies to snapshot and dirty-check.
 
-    Optional<Transaction> findByTransactionId(String transactionId);
+    @Query(value = """
+        SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+            t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+        FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+        ORDER BY t.createdAt DESC
+    """, countQuery = """
+        SELECT COUNT(t) FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+    """)
+    Page<TransactionRow> findHistoryRows(
+            @Param("accountNumber") String accountNumber,
+            Pageable pageable);
 
-    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+    /** Newest rows first; the mini statement asks for the top 5. */
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+            t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+        FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+        ORDER BY t.createdAt DESC
+    """)
+    List<TransactionRow> findRecentRows(
+            @Param("accountNumber") String accountNumber,
+            Pageable pageable);
 
-    List<Transaction> findTop5ByAccountNumberOrderByCreatedAtDesc(
-            String accountNumber);
+    /** First page of the keyset history feed; fetch {@code limit + 1} to learn whether more follow. */
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+            t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+        FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+        ORDER BY t.createdAt DESC, t.transactionId DESC
+    """)
+    List<TransactionRow> findHistoryPage(
+            @Param("accountNumber") String accountNumber,
+            Pageable pageable);
 
-    List<Transaction> findByCustomerId(UUID customerId); // ✅ ADD THIS
+    /** Rows strictly after the cursor row, in the same order as {@link #findHistoryPage}. */
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+            t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+        FROM Transaction t
+        WHERE t.accountNumber = :accountNumber
+          AND (t.createdAt < :createdAt
+               OR (t.createdAt = :createdAt AND t.transactionId < :transactionId))
+        ORDER BY t.createdAt DESC, t.transactionId DESC
+    """)
+    List<TransactionRow> findHistoryPageAfter(
+            @Param("accountNumber") String accountNumber,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("transactionId") String transactionId,
+            Pageable pageable);
 
+    /**
+     * Statement rows in {@code [from, to)}, oldest first, read through a
+     * forward-only cursor. Must be consumed and closed inside a
+     * transaction. Connector/J only streams a result set row by row when
+     * the fetch size is {@code Integer.MIN_VALUE}; any other value is
+     * ignored and the whole result is buffered in the driver.
+     */
     @Query("""
-        SELECT t FROM Transaction t
+        SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+            t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+        FROM Transaction t
         WHERE t.accountNumber = :accountNumber
-          AND MONTH(t.createdAt) = :month
-          AND YEAR(t.createdAt) = :year
+          AND t.createdAt >= :from
+          AND t.createdAt < :to
+        ORDER BY t.createdAt ASC, t.transactionId ASC
     """)
-    List<Transaction> findByAccountNumberAndMonth(
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<TransactionRow> streamStatement(
             @Param("accountNumber") String accountNumber,
-            @Param("month") int month,
-            @Param("year") int year);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
+    default Stream<TransactionRow> streamStatement(String accountNumber, TimeRange range) {
+        return streamStatement(accountNumber, range.start(), range.end());
+    }
+
+    Optional<Transaction> findByTransactionId(String transactionId);
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Detaches a transaction accepted before the idempotency window from its
+     * key, so that a new request with the same key can be inserted.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Transaction t SET t.idempotencyKey = NULL
+        WHERE t.transactionId = :transactionId AND t.idempotencyKey = :key
+    """)
+    int releaseIdempotencyKey(@Param("transactionId") String transactionId,
+                              @Param("key") String key);
+
+    @Query("SELECT t.idempotencyKey FROM Transaction t WHERE t.idempotencyKey IN :keys")
+    Set<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+
+    /** Sum of base amounts and count of every transaction of a customer, per type and category. */
+    @Query("""
+        SELECT new com.bank.transaction_service.repository.projection.TypeCategoryTotal(
+            t.transactionType, t.category, SUM(t.amount), COUNT(t))
+        FROM Transaction t
+        WHERE t.customerId = :customerId
+        GROUP BY t.transactionType, t.category
+    """)
+    List<TypeCategoryTotal> sumAmountByCustomer(@Param("customerId") UUID customerId);
+
+    /** Sum and count of an account's SUCCESS transactions in {@code [start, end)}, per type and category. */
     @Query("""
-        SELECT t FROM Transaction t
+        SELECT new com.bank.transaction_service.repository.projection.TypeCategoryTotal(
+            t.transactionType, t.category, SUM(t.totalAmount), COUNT(t))
+        FROM Transaction t
         WHERE t.accountNumber = :accountNumber
-          AND CAST(t.createdAt AS date) = :date
+          AND t.status = com.bank.transaction_service.enums.TransactionStatus.SUCCESS
+          AND t.createdAt >= :start
+          AND t.createdAt < :end
+        GROUP BY t.transactionType, t.category
     """)
-    List<Transaction> findByAccountNumberAndDate(
+    List<TypeCategoryTotal> sumSuccessfulByTypeAndCategory(
             @Param("accountNumber") String accountNumber,
-            @Param("date") LocalDate date);
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    default List<TypeCategoryTotal> sumSuccessfulByTypeAndCategory(String accountNumber, TimeRange range) {
+        return sumSuccessfulByTypeAndCategory(accountNumber, range.start(), range.end());
+    }
+
+    /** When the oldest transaction was created, or {@code null} if there are none. */
+    @Query("SELECT MIN(t.createdAt) FROM Transaction t")
+    LocalDateTime findEarliestCreatedAt();
+
+    /** Accounts with transactions in {@code [start, end)}, in order, after {@code afterAccount}. */
+    @Query("""
+        SELECT DISTINCT t.accountNumber FROM Transaction t
+        WHERE t.createdAt >= :start
+          AND t.createdAt < :end
+          AND t.accountNumber > :afterAccount
+        ORDER BY t.accountNumber
+    """)
+    List<String> findAccountsActiveBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("afterAccount") String afterAccount,
+            Pageable pageable);
 
     Optional<Transaction> findByTransactionIdAndCustomerId(
             String transactionId,
             UUID customerId
     );
 
+    List<Transaction> findByBalanceDerivedTrueAndCompletedAtBefore(
+            LocalDateTime completedBefore,
+            Pageable pageable
+    );
+
+    Optional<Transaction> findFirstByAccountNumberOrderByCreatedAtDesc(
+            String accountNumber
+    );
+
 }
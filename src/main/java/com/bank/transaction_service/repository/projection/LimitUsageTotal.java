@@ -0,0 +1,13 @@
+package com.bank.transaction_service.repository.projection;
+
+import com.bank.transaction_service.enums.TransactionCategory;
+
+import java.time.LocalDate;
+
+/** One {@code GROUP BY accountNumber, category, usageDay} row of limit reservations. */
+public record LimitUsageTotal(
+        String accountNumber,
+        TransactionCategory category,
+        LocalDate usageDay,
+        long amountPaise
+) {}
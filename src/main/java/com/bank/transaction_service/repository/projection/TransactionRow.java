@@ -0,0 +1,22 @@
+package com.bank.transaction_service.repository.projection;
+
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The columns the history and mini-statement responses render. Selected
+ * with a JPQL constructor expression, so rows are plain values: nothing
+ * enters the persistence context and Hibernate keeps no dirty-checking
+ * snapshot for them.
+ */
+public record TransactionRow(
+        String transactionId,
+        TransactionType transactionType,
+        String description,
+        BigDecimal totalAmount,
+        TransactionStatus status,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,14 @@
+package com.bank.transaction_service.repository.projection;
+
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/** One {@code GROUP BY transactionType, category} row: its sum and count. */
+public record TypeCategoryTotal(
+        TransactionType transactionType,
+        TransactionCategory category,
+        BigDecimal totalAmount,
+        long transactionCount
+) {}
@@ -0,0 +1,33 @@
+package com.bank.transaction_service.security;
+
+import com.bank.transaction_service.exception.TransactionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared-secret check for internal endpoints that can move money, which
+ * sit under the otherwise open {@code /api/internal/**} path. Callers send
+ * the configured token in {@link #HEADER}. With no token configured every
+ * call is refused.
+ */
+@Component
+public class InternalApiAuth {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private final byte[] token;
+
+    public InternalApiAuth(@Value("${internal.api.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void verify(String presented) {
+        if (token.length == 0 || presented == null
+                || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw TransactionException.unauthorized("Invalid internal token");
+        }
+    }
+}
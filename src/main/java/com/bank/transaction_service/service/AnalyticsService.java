@@ -1,6 +1,8 @@
 package com.bank.transaction_service.service;
 
 import com.bank.transaction_service.dto.response.TransactionAnalyticsResponse;
+import com.bank.transaction_service.dto.response.TransactionRangeAnalyticsResponse;
+import com.bank.transaction_service.enums.AnalyticsPeriod;
 
 import java.time.YearMonth;
 
@@ -9,4 +11,17 @@ public interface AnalyticsService {
             String accountNumber,
             YearMonth month
     );
+
+    /** Per-month figures, month-over-month changes and totals for {@code [from, to]}. */
+    TransactionRangeAnalyticsResponse getRangeAnalytics(
+            String accountNumber,
+            YearMonth from,
+            YearMonth to
+    );
+
+    /** {@link #getRangeAnalytics} for a period ending with the current month. */
+    TransactionRangeAnalyticsResponse getPeriodAnalytics(
+            String accountNumber,
+            AnalyticsPeriod period
+    );
 }
@@ -0,0 +1,122 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.dto.response.PaymentDeadLetterResponse;
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.repository.PaymentDeadLetterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inspection and replay of payment messages that were dead-lettered by
+ * {@link com.bank.transaction_service.consumer.PaymentFailureHandler}.
+ * A replay decodes the stored payload and runs it through the normal
+ * ingestion path, so events that were recorded in the meantime are
+ * skipped by their paymentId.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentDeadLetterService {
+
+    private static final int REPLAY_PAGE_SIZE = 100;
+    static final int MAX_LIST_LIMIT = 500;
+
+    private final PaymentDeadLetterRepository deadLetterRepo;
+    private final EventCodecs eventCodecs;
+    private final PaymentIntegrationService integrationService;
+
+    /** {@code page} is 1-based. */
+    public List<PaymentDeadLetterResponse> list(boolean pendingOnly, int limit, int page) {
+        if (page < 1) {
+            throw TransactionException.badRequest("page must be at least 1");
+        }
+        if (limit < 1 || limit > MAX_LIST_LIMIT) {
+            throw TransactionException.badRequest("limit must be between 1 and " + MAX_LIST_LIMIT);
+        }
+        PageRequest pageable = PageRequest.of(page - 1, limit, Sort.by("id"));
+
+        return (pendingOnly
+                ? deadLetterRepo.findByReplayedAtIsNull(pageable)
+                : deadLetterRepo.findAll(pageable))
+                .map(PaymentDeadLetterResponse::from)
+                .getContent();
+    }
+
+    public PaymentDeadLetterResponse replay(Long id) {
+        PaymentDeadLetter deadLetter = deadLetterRepo.findById(id)
+                .orElseThrow(() -> TransactionException.notFound("Dead letter not found: " + id));
+
+        if (deadLetter.getReplayedAt() != null) {
+            throw TransactionException.badRequest("Dead letter already replayed: " + id);
+        }
+
+        return PaymentDeadLetterResponse.from(replay(deadLetter));
+    }
+
+    /**
+     * Replays up to {@code limit} pending dead letters in ID order and
+     * returns how many succeeded. Failed ones stay pending with the new
+     * error.
+     */
+    public int replayPending(int limit) {
+        int replayed = 0;
+        int seen = 0;
+        long afterId = 0;
+
+        while (seen < limit) {
+            List<PaymentDeadLetter> page = deadLetterRepo.findByReplayedAtIsNullAndIdGreaterThanOrderByIdAsc(
+                    afterId, PageRequest.of(0, Math.min(REPLAY_PAGE_SIZE, limit - seen)));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (PaymentDeadLetter deadLetter : page) {
+                if (replay(deadLetter).getReplayedAt() != null) {
+                    replayed++;
+                }
+                afterId = deadLetter.getId();
+                seen++;
+            }
+        }
+        return replayed;
+    }
+
+    private PaymentDeadLetter replay(PaymentDeadLetter deadLetter) {
+        try {
+            List<PaymentEventMessage> events = eventCodecs.decode(
+                    PaymentEventMessage.class,
+                    deadLetter.getContentType(),
+                    ByteBuffer.wrap(deadLetter.getPayload()));
+
+            Map<String, RuntimeException> rejected = integrationService.ingest(events);
+            if (rejected.isEmpty()) {
+                deadLetter.setReplayedAt(LocalDateTime.now());
+                deadLetter.setReplayError(null);
+            } else {
+                deadLetter.setReplayError(describe(rejected.values().iterator().next()));
+            }
+        } catch (RuntimeException e) {
+            deadLetter.setReplayError(describe(e));
+        }
+
+        if (deadLetter.getReplayError() != null) {
+            log.warn("Replay of dead letter {} failed: {}", deadLetter.getId(), deadLetter.getReplayError());
+        }
+        return deadLetterRepo.save(deadLetter);
+    }
+
+    private static String describe(RuntimeException e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
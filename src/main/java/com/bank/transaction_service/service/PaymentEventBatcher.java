@@ -0,0 +1,211 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batches payment events into {@link PaymentIntegrationService#ingest}.
+ *
+ * <p>Events are spread over {@code payment.ingest.partitions} partitions by
+ * userId, so one user's events are written in arrival order while different
+ * users proceed in parallel. Each partition collects up to
+ * {@code batch-size} events, or whatever arrived within {@code linger-ms} of
+ * the first one, and writes them in one transaction. The future returned by
+ * {@link #submit} completes only after that transaction has committed, so
+ * callers can ack the source message safely.
+ *
+ * <p>Partition queues are bounded; {@link #submit} blocks while the target
+ * partition is full.
+ */
+@Slf4j
+@Component
+public class PaymentEventBatcher {
+
+    private final PaymentIntegrationService integrationService;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Partition[] partitions;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    public PaymentEventBatcher(
+            PaymentIntegrationService integrationService,
+            MeterRegistry meterRegistry,
+            @Value("${payment.ingest.batch-size:500}") int batchSize,
+            @Value("${payment.ingest.linger-ms:50}") long lingerMillis,
+            @Value("${payment.ingest.partitions:4}") int partitionCount,
+            @Value("${payment.ingest.queue-capacity:2000}") int queueCapacity
+    ) {
+        this.integrationService = integrationService;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+
+        this.batchSizes = DistributionSummary.builder("payment.ingest.batch.size")
+                .description("Events written per ingestion batch")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("payment.ingest.flush")
+                .description("Time to write and commit one ingestion batch")
+                .register(meterRegistry);
+
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(queueCapacity, "payment-ingest-" + i);
+        }
+        Gauge.builder("payment.ingest.pending", this, PaymentEventBatcher::pending)
+                .description("Payment events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code event} for the next batch of its partition.
+     *
+     * @return completes once the event is committed, or exceptionally if it
+     * was rejected or its batch failed
+     * @throws RejectedExecutionException if shut down or interrupted while
+     *                                    waiting for room
+     */
+    public CompletableFuture<Void> submit(PaymentEventMessage event) {
+        if (!running) {
+            throw new RejectedExecutionException("Payment ingestion is shut down");
+        }
+        Pending pending = new Pending(event, new CompletableFuture<>());
+        try {
+            partitionOf(event.getUserId()).queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted waiting for ingestion capacity", e);
+        }
+        return pending.result;
+    }
+
+    public int pending() {
+        int pending = 0;
+        for (Partition partition : partitions) {
+            pending += partition.queue.size();
+        }
+        return pending;
+    }
+
+    /** Stops accepting events and waits up to 30s for queued ones. */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        try {
+            for (Partition partition : partitions) {
+                partition.worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Partition partitionOf(String userId) {
+        int h = userId == null ? 0 : userId.hashCode();
+        return partitions[Math.floorMod(h ^ (h >>> 16), partitions.length)];
+    }
+
+    private void flush(List<Pending> batch) {
+        List<PaymentEventMessage> events = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            events.add(pending.event);
+        }
+
+        Map<String, RuntimeException> rejected;
+        long start = System.nanoTime();
+        try {
+            rejected = integrationService.ingest(events);
+        } catch (RuntimeException e) {
+            log.warn("Payment batch of {} failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+        }
+
+        for (Pending pending : batch) {
+            RuntimeException failure = rejected.get(pending.event.getPaymentId());
+            if (failure == null) {
+                pending.result.complete(null);
+            } else {
+                pending.result.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private final class Partition implements Runnable {
+
+        private final BlockingQueue<Pending> queue;
+        private final Thread worker;
+
+        Partition(int capacity, String name) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this, name);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        @Override
+        public void run() {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    collect(batch);
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Payment ingestion partition {} failed", worker.getName(), e);
+                    batch.forEach(pending -> pending.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void collect(List<Pending> batch) throws InterruptedException {
+            long deadline = System.nanoTime() + lingerNanos;
+            while (batch.size() < batchSize) {
+                if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                    continue;
+                }
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0) {
+                    return;
+                }
+                Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+    }
+
+    private record Pending(PaymentEventMessage event, CompletableFuture<Void> result) {}
+}
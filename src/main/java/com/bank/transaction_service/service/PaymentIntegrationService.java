@@ -5,37 +5,94 @@ import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionStatus;
 import com.bank.transaction_service.enums.TransactionType;
 import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.service.impl.MonthlyRollupService;
+import com.bank.transaction_service.util.IdGenerator;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class PaymentIntegrationService {
 
     private final TransactionRepository transactionRepository;
+    private final IdGenerator idGenerator;
+    private final MonthlyRollupService rollupService;
 
-    public PaymentIntegrationService(TransactionRepository transactionRepository) {
+    public PaymentIntegrationService(TransactionRepository transactionRepository,
+                                     IdGenerator idGenerator,
+                                     MonthlyRollupService rollupService) {
         this.transactionRepository = transactionRepository;
+        this.idGenerator = idGenerator;
+        this.rollupService = rollupService;
     }
 
-    public void handlePaymentSuccess(PaymentEventMessage event) {
+    /**
+     * Records the successful payments in {@code events} as credit
+     * transactions in one local transaction.
+     *
+     * <p>Events are deduplicated by {@code paymentId}. Keys that already
+     * exist are found with a single {@code IN} query, and the new rows are
+     * inserted as one JDBC batch. Events that cannot be turned into a
+     * transaction are left out and returned, keyed by paymentId; the rest
+     * of the batch still commits.
+     */
+    @Transactional
+    public Map<String, RuntimeException> ingest(List<PaymentEventMessage> events) {
+
+        Map<String, RuntimeException> rejected = new HashMap<>();
+        Map<String, PaymentEventMessage> unique = new LinkedHashMap<>();
+
+        for (PaymentEventMessage event : events) {
+            if (!"SUCCESS".equals(event.getStatus())) {
+                continue;
+            }
+            if (event.getPaymentId() == null) {
+                rejected.put(null, new IllegalArgumentException("Payment event without paymentId"));
+                continue;
+            }
+            unique.putIfAbsent(event.getPaymentId(), event);
+        }
+
+        if (unique.isEmpty()) {
+            return rejected;
+        }
 
-        if (!"SUCCESS".equals(event.getStatus())) {
-            return;
+        Set<String> existing =
+                transactionRepository.findExistingIdempotencyKeys(unique.keySet());
+
+        List<Transaction> rows = new ArrayList<>(unique.size());
+        for (PaymentEventMessage event : unique.values()) {
+            if (existing.contains(event.getPaymentId())) {
+                continue;
+            }
+            try {
+                rows.add(toTransaction(event));
+            } catch (RuntimeException e) {
+                rejected.put(event.getPaymentId(), e);
+            }
         }
-        Optional<Transaction> existing =
-                transactionRepository.findByIdempotencyKey(event.getPaymentId());
 
-        if (existing.isPresent()) {
-            return;
+        if (!rows.isEmpty()) {
+            transactionRepository.saveAll(rows);
+            rollupService.recordAll(rows);
         }
+        return rejected;
+    }
+
+    private Transaction toTransaction(PaymentEventMessage event) {
 
         Transaction tx = new Transaction();
 
-        tx.setTransactionId(UUID.randomUUID().toString());
+        tx.setTransactionId(idGenerator.nextTransactionId());
         tx.setCustomerId(UUID.fromString(event.getUserId()));
         tx.setAccountNumber("TEMP_ACCOUNT");
 
@@ -51,6 +108,6 @@ public class PaymentIntegrationService {
 
         tx.setCreatedAt(LocalDateTime.now());
 
-        transactionRepository.save(tx);
+        return tx;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.enums.StatementFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface StatementExportService {
+
+    /** Rejects a bad range while the response can still carry an error status. */
+    void validateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Claims one of the export slots, or fails with 429 when all are in use.
+     * Close the slot once the export has finished, successful or not.
+     */
+    ExportSlot acquireSlot();
+
+    /**
+     * Writes every transaction from {@code from} to {@code to}, both days
+     * inclusive, oldest first. Returns the number of rows written.
+     */
+    long export(
+            String accountNumber,
+            LocalDate from,
+            LocalDate to,
+            StatementFormat format,
+            OutputStream out
+    ) throws IOException;
+
+    /** A running export's claim on a database connection; closing is idempotent. */
+    interface ExportSlot extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
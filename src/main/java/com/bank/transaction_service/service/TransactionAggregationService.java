@@ -0,0 +1,23 @@
+package com.bank.transaction_service.service;
+
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Transaction totals computed by the database: callers get one small row
+ * per type and category instead of the transactions themselves.
+ */
+public interface TransactionAggregationService {
+
+    /** SUCCESS transactions of an account created in {@code month}. */
+    TransactionTotals monthlyTotals(String accountNumber, YearMonth month);
+
+    /** Every transaction of a customer, summed by base amount. */
+    TransactionTotals customerTotals(UUID customerId);
+
+    /** Drops any cached totals of the month, e.g. after its rollups were rebuilt. */
+    void evictMonth(String accountNumber, YearMonth month);
+
+    /** Re-reads which months have complete rollups, e.g. after a backfill finished. */
+    void evictRollupCoverage();
+}
@@ -1,6 +1,7 @@
 package com.bank.transaction_service.service;
 
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
+import com.bank.transaction_service.dto.response.RemainingLimitResponse;
 import com.bank.transaction_service.dto.response.TransactionLimitResponse;
 
 public interface TransactionLimitService {
@@ -10,4 +11,6 @@ public interface TransactionLimitService {
             LimitUpdateRequest request);
 
     TransactionLimitResponse get(String accountNumber);
+
+    RemainingLimitResponse remaining(String accountNumber);
 }
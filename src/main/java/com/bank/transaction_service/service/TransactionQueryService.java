@@ -6,5 +6,13 @@ public interface TransactionQueryService {
 
     TransactionHistoryResponse getHistory(
             String accountNumber, int limit, int page);
+
+    /**
+     * Keyset-paginated history, newest first. {@code cursor} is the
+     * {@code nextCursor} of the previous page, or null for the first.
+     */
+    TransactionFeedResponse getHistoryFeed(
+            String accountNumber, int limit, String cursor);
+
     MiniStatementResponse miniStatement(String accountNumber);
 }
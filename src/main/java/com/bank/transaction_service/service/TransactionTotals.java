@@ -0,0 +1,84 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.util.Money;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sums and counts per transaction type and category, as returned by the
+ * aggregate queries. Debits are DEBIT and TRANSFER rows, the money leaving
+ * the account; uncategorised rows count as OTHERS. Sums are kept in
+ * paise and only become {@link java.math.BigDecimal} in the responses.
+ */
+public record TransactionTotals(List<TypeCategoryTotal> groups) {
+
+    public static final TransactionTotals EMPTY = new TransactionTotals(List.of());
+
+    public TransactionTotals {
+        groups = List.copyOf(groups);
+    }
+
+    /** Totals of all the given parts together, e.g. the months of a range. */
+    public static TransactionTotals sum(List<TransactionTotals> parts) {
+        List<TypeCategoryTotal> groups = new ArrayList<>();
+        for (TransactionTotals part : parts) {
+            groups.addAll(part.groups());
+        }
+        return new TransactionTotals(groups);
+    }
+
+    public static boolean isDebit(TransactionType type) {
+        return type == TransactionType.DEBIT || type == TransactionType.TRANSFER;
+    }
+
+    public Money debit() {
+        long paise = 0;
+        for (TypeCategoryTotal group : groups) {
+            if (isDebit(group.transactionType())) {
+                paise = Math.addExact(paise, paiseOf(group));
+            }
+        }
+        return Money.ofPaise(paise);
+    }
+
+    public Money credit() {
+        long paise = 0;
+        for (TypeCategoryTotal group : groups) {
+            if (group.transactionType() == TransactionType.CREDIT) {
+                paise = Math.addExact(paise, paiseOf(group));
+            }
+        }
+        return Money.ofPaise(paise);
+    }
+
+    public long count() {
+        long count = 0;
+        for (TypeCategoryTotal group : groups) {
+            count += group.transactionCount();
+        }
+        return count;
+    }
+
+    /** Debit totals per category, in category declaration order. */
+    public Map<TransactionCategory, Money> debitByCategory() {
+        Map<TransactionCategory, Money> byCategory = new EnumMap<>(TransactionCategory.class);
+        for (TypeCategoryTotal group : groups) {
+            if (isDebit(group.transactionType())) {
+                TransactionCategory category =
+                        group.category() == null ? TransactionCategory.OTHERS : group.category();
+                byCategory.merge(category, Money.of(group.totalAmount()), Money::plus);
+            }
+        }
+        return byCategory;
+    }
+
+    private static long paiseOf(TypeCategoryTotal group) {
+        return Money.of(group.totalAmount()).paise();
+    }
+}
@@ -1,25 +1,44 @@
 package com.bank.transaction_service.service.impl;
 
 import com.bank.transaction_service.dto.response.TransactionAnalyticsResponse;
-import com.bank.transaction_service.entity.Transaction;
-import com.bank.transaction_service.enums.TransactionCategory;
-import com.bank.transaction_service.enums.TransactionType;
-import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.dto.response.TransactionRangeAnalyticsResponse;
+import com.bank.transaction_service.enums.AnalyticsPeriod;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.service.AnalyticsService;
-import lombok.RequiredArgsConstructor;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.service.TransactionTotals;
+import com.bank.transaction_service.util.Money;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.YearMonth;
-import java.util.HashMap;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 @Service
-@RequiredArgsConstructor
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final TransactionRepository transactionRepository;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final TransactionAggregationService aggregationService;
+    private final ForkJoinPool analyticsPool;
+    private final int maxRangeMonths;
+
+    public AnalyticsServiceImpl(
+            TransactionAggregationService aggregationService,
+            @Qualifier("analyticsPool") ForkJoinPool analyticsPool,
+            @Value("${transaction.analytics.max-range-months:36}") int maxRangeMonths
+    ) {
+        this.aggregationService = aggregationService;
+        this.analyticsPool = analyticsPool;
+        this.maxRangeMonths = maxRangeMonths;
+    }
 
     @Override
     public TransactionAnalyticsResponse getMonthlyAnalytics(
@@ -27,57 +46,149 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             YearMonth month
     ) {
 
-        List<Transaction> transactions =
-                transactionRepository.findByAccountNumberAndMonth(
-                        accountNumber,
-                        month.getMonthValue(),
-                        month.getYear()
-                );
+        TransactionTotals totals =
+                aggregationService.monthlyTotals(accountNumber, month);
 
-        BigDecimal totalDebit = BigDecimal.ZERO;
-        BigDecimal totalCredit = BigDecimal.ZERO;
-        Map<String, BigDecimal> categoryMap = new HashMap<>();
+        return TransactionAnalyticsResponse.builder()
+                .success(true)
+                .accountNumber(accountNumber)
+                .month(month.toString())
+                .summary(summaryOf(totals))
+                .categoryBreakdown(breakdownOf(totals))
+                .build();
 
-        for (Transaction tx : transactions) {
+    }
 
-            if (tx.getTransactionType() == TransactionType.DEBIT ||
-                    tx.getTransactionType() == TransactionType.TRANSFER) {
+    @Override
+    public TransactionRangeAnalyticsResponse getPeriodAnalytics(
+            String accountNumber,
+            AnalyticsPeriod period
+    ) {
+        YearMonth current = YearMonth.now();
+        return getRangeAnalytics(accountNumber, period.from(current), current);
+    }
 
-                totalDebit = totalDebit.add(tx.getTotalAmount());
+    /**
+     * Months are fetched in parallel on the analytics pool, together with
+     * the month before {@code from} as the baseline for the first change.
+     * Closed months usually come from the aggregation cache.
+     */
+    @Override
+    public TransactionRangeAnalyticsResponse getRangeAnalytics(
+            String accountNumber,
+            YearMonth from,
+            YearMonth to
+    ) {
+        if (to.isBefore(from)) {
+            throw TransactionException.badRequest("from must not be after to");
+        }
+        int months = (int) ChronoUnit.MONTHS.between(from, to) + 1;
+        if (months > maxRangeMonths) {
+            throw TransactionException.badRequest(
+                    "Analytics range cannot exceed " + maxRangeMonths + " months");
+        }
 
-                String category =
-                        tx.getCategory() == null ? "OTHERS" : tx.getCategory().name();
+        List<TransactionTotals> perMonth = analyticsPool.invoke(
+                new MonthSpan(accountNumber, from.minusMonths(1), months + 1));
 
-                categoryMap.merge(category, tx.getTotalAmount(), BigDecimal::add);
-            }
-
-            if (tx.getTransactionType() == TransactionType.CREDIT) {
-                totalCredit = totalCredit.add(tx.getTotalAmount());
-            }
+        TransactionTotals previous = perMonth.get(0);
+        List<TransactionRangeAnalyticsResponse.MonthSummary> monthSummaries = new ArrayList<>(months);
+        for (int i = 1; i <= months; i++) {
+            TransactionTotals totals = perMonth.get(i);
+            monthSummaries.add(monthSummaryOf(from.plusMonths(i - 1), totals, previous));
+            previous = totals;
         }
 
-        List<TransactionAnalyticsResponse.CategorySpend> breakdown =
-                categoryMap.entrySet().stream()
-                        .map(e -> TransactionAnalyticsResponse.CategorySpend.builder()
-                                .category(e.getKey())
-                                .amount(e.getValue())
-                                .build())
-                        .toList();
+        TransactionTotals range = TransactionTotals.sum(perMonth.subList(1, perMonth.size()));
 
-        return TransactionAnalyticsResponse.builder()
+        return TransactionRangeAnalyticsResponse.builder()
                 .success(true)
                 .accountNumber(accountNumber)
+                .from(from.toString())
+                .to(to.toString())
+                .summary(summaryOf(range))
+                .categoryBreakdown(breakdownOf(range))
+                .months(monthSummaries)
+                .build();
+    }
+
+    /**
+     * Totals of {@code months} consecutive months from {@code first}, in
+     * order. Halves the span until one month is left and joins the halves.
+     * Each leaf blocks on one query, on purpose without managedBlock: that
+     * would add compensating threads and so more concurrent connections.
+     */
+    private final class MonthSpan extends RecursiveTask<List<TransactionTotals>> {
+
+        private final String accountNumber;
+        private final YearMonth first;
+        private final int months;
+
+        MonthSpan(String accountNumber, YearMonth first, int months) {
+            this.accountNumber = accountNumber;
+            this.first = first;
+            this.months = months;
+        }
+
+        @Override
+        protected List<TransactionTotals> compute() {
+            if (months == 1) {
+                return List.of(aggregationService.monthlyTotals(accountNumber, first));
+            }
+            int half = months / 2;
+            MonthSpan head = new MonthSpan(accountNumber, first, half);
+            MonthSpan tail = new MonthSpan(accountNumber, first.plusMonths(half), months - half);
+            head.fork();
+            List<TransactionTotals> tailTotals = tail.compute();
+            List<TransactionTotals> merged = new ArrayList<>(months);
+            merged.addAll(head.join());
+            merged.addAll(tailTotals);
+            return merged;
+        }
+    }
+
+    private static TransactionRangeAnalyticsResponse.MonthSummary monthSummaryOf(
+            YearMonth month, TransactionTotals totals, TransactionTotals previous) {
+
+        Money debit = totals.debit();
+        Money credit = totals.credit();
+        Money previousDebit = previous.debit();
+        Money debitChange = debit.minus(previousDebit);
+
+        return TransactionRangeAnalyticsResponse.MonthSummary.builder()
                 .month(month.toString())
-                .summary(
-                        TransactionAnalyticsResponse.Summary.builder()
-                                .totalDebit(totalDebit)
-                                .totalCredit(totalCredit)
-                                .netFlow(totalCredit.subtract(totalDebit))
-                                .transactionCount(transactions.size())
-                                .build()
-                )
-                .categoryBreakdown(breakdown)
+                .totalDebit(debit.toBigDecimal())
+                .totalCredit(credit.toBigDecimal())
+                .netFlow(credit.minus(debit).toBigDecimal())
+                .transactionCount(totals.count())
+                .debitChange(debitChange.toBigDecimal())
+                .creditChange(credit.minus(previous.credit()).toBigDecimal())
+                .debitChangePercent(previousDebit.signum() == 0
+                        ? null
+                        : BigDecimal.valueOf(debitChange.paise())
+                                .multiply(HUNDRED)
+                                .divide(BigDecimal.valueOf(previousDebit.paise()), 2, RoundingMode.HALF_UP))
                 .build();
+    }
+
+    private static TransactionAnalyticsResponse.Summary summaryOf(TransactionTotals totals) {
+        Money totalDebit = totals.debit();
+        Money totalCredit = totals.credit();
+
+        return TransactionAnalyticsResponse.Summary.builder()
+                .totalDebit(totalDebit.toBigDecimal())
+                .totalCredit(totalCredit.toBigDecimal())
+                .netFlow(totalCredit.minus(totalDebit).toBigDecimal())
+                .transactionCount(totals.count())
+                .build();
+    }
 
+    private static List<TransactionAnalyticsResponse.CategorySpend> breakdownOf(TransactionTotals totals) {
+        return totals.debitByCategory().entrySet().stream()
+                .map(e -> TransactionAnalyticsResponse.CategorySpend.builder()
+                        .category(e.getKey().name())
+                        .amount(e.getValue().toBigDecimal())
+                        .build())
+                .toList();
     }
 }
@@ -0,0 +1,109 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Lazily checks balances that the saga derived instead of receiving from
+ * account-service.
+ *
+ * <p>Only the newest derived transaction of an account can be compared
+ * with the live balance, and only while it is still the latest activity
+ * on that account. It is corrected if the two disagree. Older derived rows
+ * of the same account are accepted as they are. Every row in a batch is
+ * cleared of the flag either way, so each costs at most one balance call
+ * per account per run.
+ */
+@Slf4j
+@Component
+public class BalanceReconciler {
+
+    private final TransactionRepository transactionRepo;
+    private final AccountClient accountClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long settleSeconds;
+    private final Counter corrected;
+
+    public BalanceReconciler(
+            TransactionRepository transactionRepo,
+            AccountClient accountClient,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.balance.reconcile.batch-size:500}") int batchSize,
+            @Value("${transaction.balance.reconcile.settle-seconds:30}") long settleSeconds
+    ) {
+        this.transactionRepo = transactionRepo;
+        this.accountClient = accountClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.settleSeconds = settleSeconds;
+        this.corrected = meterRegistry.counter("transaction.balance.reconcile.corrected");
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.balance.reconcile.interval-ms:60000}")
+    public void reconcile() {
+        List<Transaction> derived = transactionRepo.findByBalanceDerivedTrueAndCompletedAtBefore(
+                LocalDateTime.now().minusSeconds(settleSeconds),
+                PageRequest.of(0, batchSize)
+        );
+        if (derived.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Transaction>> byAccount = derived.stream()
+                .collect(Collectors.groupingBy(Transaction::getAccountNumber, LinkedHashMap::new, Collectors.toList()));
+
+        byAccount.forEach(this::reconcileAccount);
+
+        log.info("Reconciled {} derived balances across {} accounts", derived.size(), byAccount.size());
+    }
+
+    void reconcileAccount(String accountNumber, List<Transaction> derived) {
+        Transaction newest = derived.stream()
+                .max(Comparator.comparing(Transaction::getCreatedAt))
+                .orElseThrow();
+
+        boolean stillLatest = transactionRepo.findFirstByAccountNumberOrderByCreatedAtDesc(accountNumber)
+                .map(latest -> latest.getTransactionId().equals(newest.getTransactionId()))
+                .orElse(false);
+
+        if (stillLatest) {
+            BigDecimal actual;
+            try {
+                actual = accountClient.getBalance(accountNumber);
+            } catch (Exception e) {
+                log.warn("Balance reconciliation for {} deferred: {}", accountNumber, e.getMessage());
+                return;
+            }
+
+            if (actual != null
+                    && (newest.getCurrentBalance() == null || actual.compareTo(newest.getCurrentBalance()) != 0)) {
+                log.warn("Derived balance {} for transaction {} corrected to {}",
+                        newest.getCurrentBalance(), newest.getTransactionId(), actual);
+                newest.setCurrentBalance(actual);
+                corrected.increment();
+            }
+        }
+
+        derived.forEach(tx -> tx.setBalanceDerived(false));
+        transactionTemplate.execute(status -> transactionRepo.saveAll(derived));
+    }
+}
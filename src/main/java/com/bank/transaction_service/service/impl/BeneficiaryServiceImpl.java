@@ -1,6 +1,6 @@
 package com.bank.transaction_service.service.impl;
 
-import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.client.CustomerClient;
 import com.bank.transaction_service.dto.request.BeneficiaryRequest;
 import com.bank.transaction_service.dto.response.BeneficiaryResponse;
@@ -8,6 +8,7 @@ import com.bank.transaction_service.entity.Beneficiary;
 import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.repository.BeneficiaryRepository;
 import com.bank.transaction_service.service.BeneficiaryService;
+import com.bank.transaction_service.util.IdGenerator;
 import com.bank.transaction_service.validation.TransactionValidator;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
@@ -23,8 +24,9 @@ import java.util.List;
 public class BeneficiaryServiceImpl implements BeneficiaryService {
 
     private final BeneficiaryRepository repository;
-    private final AccountClient accountClient;
+    private final AccountOwnershipResolver ownershipResolver;
     private final CustomerClient customerClient;
+    private final IdGenerator idGenerator;
 
     @Override
     public BeneficiaryResponse add(BeneficiaryRequest req) {
@@ -38,7 +40,7 @@ public class BeneficiaryServiceImpl implements BeneficiaryService {
             );
         }
 
-        if (!accountClient.accountExists(req.getBeneficiaryAccount())) {
+        if (!ownershipResolver.exists(req.getBeneficiaryAccount())) {
             throw TransactionException.badRequest(
                     "Beneficiary account does not exist"
             );
@@ -63,7 +65,7 @@ public class BeneficiaryServiceImpl implements BeneficiaryService {
         );
 
         Beneficiary entity = Beneficiary.builder()
-                .beneficiaryId("BEN-" + System.currentTimeMillis())
+                .beneficiaryId(idGenerator.nextBeneficiaryId())
                 .customerId(req.getCustomerId())
                 .accountNumber(req.getAccountNumber())
                 .beneficiaryName(req.getBeneficiaryName())
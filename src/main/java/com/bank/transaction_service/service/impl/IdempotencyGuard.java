@@ -0,0 +1,229 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.util.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Duplicate detection for transaction intake.
+ *
+ * <p>Keys are the SHA-256 of the request fingerprint. A request is a
+ * duplicate while less than one window has passed since the same key was
+ * accepted. The window runs from that acceptance, not a fixed time bucket,
+ * so a retry a second later is always caught and a monthly scheduled
+ * debit is not rejected forever.
+ *
+ * <p>Three tiers, cheapest first:
+ * <ol>
+ *   <li>Bloom filters of keys accepted in the current and previous
+ *       window-length periods, which together hold every key accepted
+ *       within the last window. A miss, which is the normal case, proves
+ *       the key is new on this node.</li>
+ *   <li>A bounded cache of recently accepted keys and their acceptance
+ *       time, consulted only on a Bloom hit. A match rejects the retry
+ *       before any remote call.</li>
+ *   <li>The unique constraint on {@code idempotencyKey}. Intake inserts
+ *       without reading first; a violation of that constraint is the
+ *       authoritative duplicate signal across replicas. A row accepted
+ *       before the window gives the key up instead.</li>
+ * </ol>
+ */
+@Slf4j
+@Component
+public class IdempotencyGuard {
+
+    private final TransactionRepository transactionRepo;
+    private final long windowMillis;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final LongSupplier clock;
+    private final Cache<String, RecentIntake> recent;
+    private final AtomicReference<Generation> generation;
+    private final Counter recentHits;
+    private final Counter conflicts;
+
+    @Autowired
+    public IdempotencyGuard(
+            TransactionRepository transactionRepo,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.idempotency.window-seconds:86400}") long windowSeconds,
+            @Value("${transaction.idempotency.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${transaction.idempotency.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${transaction.idempotency.recent.max-size:100000}") long recentMaxSize
+    ) {
+        this(transactionRepo, meterRegistry, windowSeconds, expectedInsertions,
+                falsePositiveRate, recentMaxSize, System::currentTimeMillis);
+    }
+
+    IdempotencyGuard(TransactionRepository transactionRepo,
+                     MeterRegistry meterRegistry,
+                     long windowSeconds,
+                     long expectedInsertions,
+                     double falsePositiveRate,
+                     long recentMaxSize,
+                     LongSupplier clock) {
+        this.transactionRepo = transactionRepo;
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(recentMaxSize)
+                .expireAfterWrite(Duration.ofMillis(windowMillis))
+                .build();
+        this.generation = new AtomicReference<>(newGeneration(currentPeriod(), null));
+        this.recentHits = meterRegistry.counter("transaction.idempotency.recent.hits");
+        this.conflicts = meterRegistry.counter("transaction.idempotency.db.conflicts");
+    }
+
+    /**
+     * Idempotency key for a request fingerprint.
+     */
+    public String keyFor(String fingerprint) {
+        return DigestUtils.sha256Hex(fingerprint);
+    }
+
+    /**
+     * Rejects a retry of a request this node accepted recently for the same
+     * customer. Anything else falls through to the insert.
+     */
+    public void rejectIfRecent(String key, UUID customerId) {
+        if (!currentGeneration().mightContain(hash1(key), hash2(key))) {
+            return;
+        }
+
+        RecentIntake seen = recent.getIfPresent(key);
+        if (seen != null && seen.customerId().equals(customerId) && isRecent(seen.acceptedAt())) {
+            recentHits.increment();
+            throw duplicate(seen.transactionId());
+        }
+    }
+
+    /**
+     * Runs the intake insert and records it as accepted. A violation of the
+     * idempotency constraint by a row accepted within the window becomes
+     * the duplicate rejection. A row accepted earlier no longer identifies
+     * this request, so it gives up the key and the insert runs once more.
+     * Matching on the row rather than the constraint name also covers
+     * schemas created before the constraint was named; a violation with no
+     * such row is rethrown unchanged.
+     */
+    public <T> T insert(Transaction tx, Supplier<T> insert) {
+        String key = tx.getIdempotencyKey();
+        T result;
+        try {
+            result = insert.get();
+        } catch (DataIntegrityViolationException e) {
+            Transaction existing = transactionRepo.findByIdempotencyKey(key).orElseThrow(() -> e);
+            if (isRecent(acceptedAt(existing))) {
+                throw duplicateOf(tx, existing);
+            }
+
+            transactionRepo.releaseIdempotencyKey(existing.getTransactionId(), key);
+            log.info("Idempotency key released by expired transaction {}", existing.getTransactionId());
+            try {
+                result = insert.get();
+            } catch (DataIntegrityViolationException retry) {
+                // Another request took the released key first
+                Transaction winner = transactionRepo.findByIdempotencyKey(key).orElseThrow(() -> retry);
+                throw duplicateOf(tx, winner);
+            }
+        }
+        remember(key, tx.getTransactionId(), tx.getCustomerId(), clock.getAsLong());
+        return result;
+    }
+
+    private TransactionException duplicateOf(Transaction tx, Transaction existing) {
+        conflicts.increment();
+        remember(tx.getIdempotencyKey(), existing.getTransactionId(), tx.getCustomerId(), acceptedAt(existing));
+        log.info("Duplicate intake rejected by constraint, existing transaction {}", existing.getTransactionId());
+        return duplicate(existing.getTransactionId());
+    }
+
+    private void remember(String key, String transactionId, UUID customerId, long acceptedAt) {
+        currentGeneration().current().put(hash1(key), hash2(key));
+        recent.put(key, new RecentIntake(transactionId, customerId, acceptedAt));
+    }
+
+    private boolean isRecent(long acceptedAt) {
+        return clock.getAsLong() - acceptedAt < windowMillis;
+    }
+
+    // A row without an intake time counts as just accepted
+    private long acceptedAt(Transaction existing) {
+        LocalDateTime createdAt = existing.getCreatedAt();
+        return createdAt == null
+                ? clock.getAsLong()
+                : createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Generation currentGeneration() {
+        long period = currentPeriod();
+        Generation current = generation.get();
+        while (current.period() < period) {
+            // Keys accepted within the last window fall in this period or the
+            // one before, so only an adjacent generation is carried over
+            BloomFilter previous = current.period() == period - 1 ? current.current() : null;
+            Generation next = newGeneration(period, previous);
+            if (generation.compareAndSet(current, next)) {
+                return next;
+            }
+            current = generation.get();
+        }
+        return current;
+    }
+
+    private Generation newGeneration(long period, BloomFilter previous) {
+        return new Generation(period, new BloomFilter(expectedInsertions, falsePositiveRate), previous);
+    }
+
+    private long currentPeriod() {
+        return clock.getAsLong() / windowMillis;
+    }
+
+    private static TransactionException duplicate(String transactionId) {
+        return TransactionException.badRequest(
+                "Duplicate request. Transaction already exists: " + transactionId
+        );
+    }
+
+    // Keys are hex SHA-256 digests, so their first 32 characters are two
+    // independent, uniformly distributed 64-bit values.
+    private static long hash1(String key) {
+        return Long.parseUnsignedLong(key, 0, 16, 16);
+    }
+
+    private static long hash2(String key) {
+        return Long.parseUnsignedLong(key, 16, 32, 16);
+    }
+
+    private record RecentIntake(String transactionId, UUID customerId, long acceptedAt) {}
+
+    /** Keys of one window-length period and, if adjacent, of the period before. */
+    private record Generation(long period, BloomFilter current, BloomFilter previous) {
+
+        boolean mightContain(long hash1, long hash2) {
+            return current.mightContain(hash1, hash2)
+                    || (previous != null && previous.mightContain(hash1, hash2));
+        }
+    }
+}
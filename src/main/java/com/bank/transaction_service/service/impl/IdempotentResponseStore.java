@@ -0,0 +1,177 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.security.AuthUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Replays the first response for a client-supplied {@code Idempotency-Key}.
+ *
+ * <p>The first successful response for a (customer, operation, key) is kept
+ * as serialized JSON in a byte-bounded cache with expiry. Retries are
+ * answered from it without reaching the service layer. A retry that arrives
+ * while the first request is still running waits for its result. Failures
+ * are not stored, so a client may retry after an error and have the
+ * request evaluated again.
+ */
+@Slf4j
+@Component
+public class IdempotentResponseStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final long inFlightTimeoutMillis;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public IdempotentResponseStore(
+            ObjectMapper objectMapper,
+            @Value("${transaction.idempotency.response.max-bytes:67108864}") long maxBytes,
+            @Value("${transaction.idempotency.response.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${transaction.idempotency.response.in-flight-timeout-ms:10000}") long inFlightTimeoutMillis
+    ) {
+        this.objectMapper = objectMapper;
+        this.inFlightTimeoutMillis = inFlightTimeoutMillis;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String scope, StoredResponse stored) -> scope.length() + stored.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per idempotency key and returns its result,
+     * or the stored result of an earlier run. Without a key, or without an
+     * authenticated customer to scope it to, {@code action} simply runs.
+     */
+    public <T> T execute(String idempotencyKey,
+                         String operation,
+                         Object request,
+                         Class<T> responseType,
+                         Supplier<T> action) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw TransactionException.badRequest("Idempotency-Key is too long");
+        }
+
+        String customer = currentCustomer();
+        if (customer == null) {
+            return action.get();
+        }
+
+        String scope = customer + ":" + operation + ":" + idempotencyKey;
+        byte[] fingerprint = fingerprint(request);
+
+        StoredResponse stored = responses.getIfPresent(scope);
+        if (stored != null) {
+            return replay(stored, fingerprint, responseType);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scope, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint, responseType);
+        }
+
+        try {
+            // The previous holder may have stored its result between our
+            // lookup and claiming the key.
+            stored = responses.getIfPresent(scope);
+            if (stored != null) {
+                mine.complete(stored);
+                return replay(stored, fingerprint, responseType);
+            }
+
+            T result = action.get();
+
+            StoredResponse entry = new StoredResponse(fingerprint, serialize(result));
+            responses.put(scope, entry);
+            mine.complete(entry);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scope, mine);
+        }
+    }
+
+    private <T> T replay(StoredResponse stored, byte[] fingerprint, Class<T> responseType) {
+        if (!Arrays.equals(stored.fingerprint(), fingerprint)) {
+            throw TransactionException.badRequest(
+                    "Idempotency-Key was already used for a different request"
+            );
+        }
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (IOException e) {
+            throw new IllegalStateException("Stored response could not be read", e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(inFlightTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw TransactionException.conflict(
+                    "A request with this Idempotency-Key is still being processed"
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw TransactionException.conflict(
+                    "A request with this Idempotency-Key is still being processed"
+            );
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        return DigestUtils.sha256(serialize(request));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String currentCustomer() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthUser user) {
+            return String.valueOf(user.getCustomerId());
+        }
+        return null;
+    }
+
+    private record StoredResponse(byte[] fingerprint, byte[] body) {
+
+        int weight() {
+            return fingerprint.length + body.length;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.client.AccountBalanceReader;
+import com.bank.transaction_service.client.AccountOwnershipResolver;
+import com.bank.transaction_service.entity.TransactionLimit;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionLimitRepository;
+import com.bank.transaction_service.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Pre-flight checks for credit/debit/transfer intake.
+ *
+ * <p>The ownership, limit and balance lookups are independent, so they are
+ * issued together and joined under one deadline. The first rejection fails
+ * the whole intake without waiting for the rest. The limit verdict is only
+ * surfaced once ownership has passed, so a caller never learns anything
+ * about an account that is not theirs. Duplicates are handled by
+ * {@link IdempotencyGuard} rather than a lookup here.
+ */
+@Slf4j
+@Component
+public class IntakePreflight {
+
+    private final AccountBalanceReader balanceReader;
+    private final AccountOwnershipResolver ownershipResolver;
+    private final TransactionLimitRepository limitRepo;
+    private final Executor preflightExecutor;
+    private final long timeoutMillis;
+
+    public IntakePreflight(AccountBalanceReader balanceReader,
+                           AccountOwnershipResolver ownershipResolver,
+                           TransactionLimitRepository limitRepo,
+                           @Qualifier("preflightExecutor") Executor preflightExecutor,
+                           @Value("${transaction.preflight.timeout-ms:3000}") long timeoutMillis) {
+        this.balanceReader = balanceReader;
+        this.ownershipResolver = ownershipResolver;
+        this.limitRepo = limitRepo;
+        this.preflightExecutor = preflightExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Outcome of a passed pre-flight: the account balance before the
+     * operation, and the account's limits for {@link LimitUsageTracker}
+     * ({@code null} when no limit applies).
+     */
+    public record Clearance(BigDecimal previousBalance, TransactionLimit limit) {}
+
+    /**
+     * Runs every check for one intake.
+     *
+     * @param limitAmount amount to check against the per-transaction limit,
+     *                    or {@code null} when no limit applies (credits)
+     */
+    public Clearance check(UUID customerId,
+                           String accountNumber,
+                           Money limitAmount) {
+
+        CompletableFuture<Void> ownership =
+                supply(() -> ownershipResolver.isOwnedBy(accountNumber, customerId))
+                        .thenAccept(owned -> {
+                            if (!owned) {
+                                throw TransactionException.unauthorized("Not your account");
+                            }
+                        });
+
+        CompletableFuture<TransactionLimit> limit = limitAmount == null
+                ? CompletableFuture.completedFuture(null)
+                : supply(() -> limitRepo.findById(accountNumber))
+                        .thenCombine(ownership, (found, ignored) -> found)
+                        .thenApply(found -> checkLimit(accountNumber, found, limitAmount));
+
+        CompletableFuture<BigDecimal> balance =
+                supply(() -> balanceReader.getBalance(accountNumber));
+
+        await(ownership, limit, balance);
+
+        return new Clearance(balance.join(), limit.join());
+    }
+
+    private TransactionLimit checkLimit(String accountNumber,
+                                        Optional<TransactionLimit> found,
+                                        Money amount) {
+        TransactionLimit limit = found.orElse(new TransactionLimit(accountNumber));
+        if (amount.isGreaterThan(limit.getPerTransactionLimit())) {
+            throw TransactionException.limitExceeded("Limit exceeded");
+        }
+        return limit;
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, preflightExecutor);
+    }
+
+    private void await(CompletableFuture<?>... stages) {
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+
+        for (CompletableFuture<?> stage : stages) {
+            stage.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    outcome.completeExceptionally(unwrap(ex));
+                }
+            });
+        }
+        CompletableFuture.allOf(stages).whenComplete((value, ex) -> {
+            if (ex != null) {
+                outcome.completeExceptionally(unwrap(ex));
+            } else {
+                outcome.complete(null);
+            }
+        });
+
+        try {
+            outcome.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            cancel(stages);
+            if (e.getCause() instanceof RuntimeException rejection) {
+                throw rejection;
+            }
+            throw TransactionException.externalServiceError("Pre-flight checks failed");
+        } catch (TimeoutException e) {
+            cancel(stages);
+            log.warn("Pre-flight checks did not finish within {} ms", timeoutMillis);
+            throw TransactionException.externalServiceError("Pre-flight checks timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(stages);
+            throw TransactionException.externalServiceError("Pre-flight checks interrupted");
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>... stages) {
+        for (CompletableFuture<?> stage : stages) {
+            stage.cancel(false);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        Throwable current = ex;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
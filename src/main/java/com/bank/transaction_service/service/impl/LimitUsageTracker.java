@@ -0,0 +1,419 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.LimitReservation;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.entity.TransactionLimit;
+import com.bank.transaction_service.enums.LimitReservationStatus;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.LimitReservationRepository;
+import com.bank.transaction_service.repository.projection.LimitUsageTotal;
+import com.bank.transaction_service.service.TransactionTotals;
+import com.bank.transaction_service.util.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Daily, monthly, ATM and online-shopping usage per account, so every
+ * {@link TransactionLimit} is enforced in O(1) instead of summing the
+ * account's transactions on each write.
+ *
+ * <p>Each account has one immutable {@link Usage} snapshot behind an
+ * {@link AtomicReference}. A reservation checks every limit against the
+ * next snapshot and installs it with one compare-and-set, so two
+ * concurrent debits cannot both fit into the last of a limit and no lock
+ * is held. Accounts only contend with themselves. A snapshot from an
+ * earlier day or month is rolled over on its next use; the midnight job
+ * only drops idle accounts and old reservation rows.
+ *
+ * <p>Counters are per instance. Each reservation is also written as a
+ * {@link LimitReservation} with the intake and moved on with the saga's
+ * outcome; those rows are shared by every replica. An account's counter
+ * starts from its rows the first time this instance sees it, and
+ * {@link #refresh} replaces the counter of every account whose rows have
+ * changed since the last refresh with those rows again, plus the intakes
+ * of this instance that have not committed yet. Reservations made on
+ * other replicas are therefore counted within one refresh interval, so
+ * across N replicas an account can exceed a limit by at most what the
+ * others reserve in that interval, not by N times the limit.
+ *
+ * <p>DEBIT and TRANSFER transactions count, with their total amount
+ * including charges. ATM and SHOPPING debits also count against the
+ * daily ATM and online-shopping limits.
+ */
+@Slf4j
+@Component
+public class LimitUsageTracker {
+
+    // Installed in a cell that is being evicted; no update can follow it,
+    // so a writer that finds it retries on a fresh cell
+    private static final Usage DROPPED = Usage.empty(LocalDate.MIN);
+    private static final int REFRESH_BATCH = 500;
+
+    private final LimitReservationRepository reservationRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration refreshOverlap;
+    private final Map<String, AtomicReference<Usage>> usage = new ConcurrentHashMap<>();
+    // Reserved here but not committed yet, so not in the rows a refresh reads
+    private final Map<String, LimitReservation> unsaved = new ConcurrentHashMap<>();
+    // Rows created or moved on before this were counted by the last refresh,
+    // the startup rebuild or a cold load
+    private volatile LocalDateTime changedSince;
+
+    @Autowired
+    public LimitUsageTracker(LimitReservationRepository reservationRepo,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${transaction.limits.usage.refresh-overlap-ms:30000}") long refreshOverlapMillis) {
+        this(reservationRepo, transactionTemplate, meterRegistry, refreshOverlapMillis, Clock.systemDefaultZone());
+    }
+
+    LimitUsageTracker(LimitReservationRepository reservationRepo,
+                      TransactionTemplate transactionTemplate,
+                      MeterRegistry meterRegistry,
+                      long refreshOverlapMillis,
+                      Clock clock) {
+        this.reservationRepo = reservationRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMillis);
+        this.changedSince = LocalDateTime.now(clock);
+        meterRegistry.gauge("transaction.limits.usage.accounts", usage, Map::size);
+    }
+
+    /** Counts the reservations still held this month; runs before the instance takes traffic. */
+    @PostConstruct
+    public void reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        changedSince = LocalDateTime.now(clock);
+        Map<String, Usage> loaded = sum(reservationRepo.sumHeldSince(YearMonth.from(today).atDay(1)), today);
+        usage.clear();
+        loaded.forEach((account, counted) -> usage.put(account, new AtomicReference<>(counted)));
+        log.info("Rebuilt limit usage of {} accounts", loaded.size());
+    }
+
+    /**
+     * Takes {@code tx}'s amount from the account's limits, or throws
+     * {@code LIMIT_EXCEEDED} naming the first limit it would exceed. The
+     * returned row is not saved yet: it belongs in the intake transaction,
+     * and {@link #cancel} gives the amount back if that does not commit.
+     */
+    public LimitReservation reserve(Transaction tx, TransactionLimit limit) {
+        LocalDate today = LocalDate.now(clock);
+        long paise = Money.of(tx.getTotalAmount()).paise();
+        LimitReservation reservation = LimitReservation.builder()
+                .transactionId(tx.getTransactionId())
+                .accountNumber(tx.getAccountNumber())
+                .category(tx.getCategory())
+                .amountPaise(paise)
+                .usageDay(today)
+                .status(LimitReservationStatus.RESERVED)
+                .createdAt(LocalDateTime.now(clock))
+                .build();
+
+        // Listed before it is counted: a refresh that reads the cell after
+        // the count also sees it here
+        unsaved.put(reservation.getTransactionId(), reservation);
+        try {
+            while (true) {
+                AtomicReference<Usage> cell = usage.get(tx.getAccountNumber());
+                if (cell == null) {
+                    usage.putIfAbsent(tx.getAccountNumber(),
+                            new AtomicReference<>(load(tx.getAccountNumber(), today)));
+                    continue;
+                }
+                Usage current = cell.get();
+                if (current == DROPPED) {
+                    usage.remove(tx.getAccountNumber(), cell);
+                    continue;
+                }
+                Usage next = current.rolledTo(today).plus(today, today, tx.getCategory(), paise);
+                String exceeded = next.exceeded(limit, tx.getCategory());
+                if (exceeded != null) {
+                    throw TransactionException.limitExceeded(exceeded + " limit exceeded");
+                }
+                if (cell.compareAndSet(current, next)) {
+                    return reservation;
+                }
+            }
+        } catch (RuntimeException e) {
+            unsaved.remove(reservation.getTransactionId());
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a reservation; runs in the intake transaction. Refreshes count
+     * it from the rows once that commits.
+     */
+    public void store(LimitReservation reservation) {
+        reservationRepo.save(reservation);
+        afterCommit(() -> unsaved.remove(reservation.getTransactionId()));
+    }
+
+    /** Gives back a reservation whose intake did not commit. */
+    public void cancel(LimitReservation reservation) {
+        unsaved.remove(reservation.getTransactionId());
+        giveBack(reservation);
+    }
+
+    /** Keeps the reservation for good; runs in the transaction that marks {@code tx} SUCCESS. */
+    public void committed(Transaction tx) {
+        if (!TransactionTotals.isDebit(tx.getTransactionType())) {
+            return;
+        }
+        reservationRepo.transition(tx.getTransactionId(),
+                LimitReservationStatus.RESERVED, LimitReservationStatus.COMMITTED, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Gives the amount back; runs in the transaction that marks {@code tx}
+     * FAILED. Only a reservation still RESERVED is given back, so a
+     * repeated failure does not free the amount twice, and only once that
+     * transaction commits, so a rollback leaves the amount counted.
+     */
+    public void released(Transaction tx) {
+        if (!TransactionTotals.isDebit(tx.getTransactionType())) {
+            return;
+        }
+        reservationRepo.findById(tx.getTransactionId())
+                .filter(r -> r.getStatus() == LimitReservationStatus.RESERVED)
+                .filter(r -> reservationRepo.transition(r.getTransactionId(),
+                        LimitReservationStatus.RESERVED, LimitReservationStatus.RELEASED,
+                        LocalDateTime.now(clock)) == 1)
+                .ifPresent(r -> afterCommit(() -> giveBack(r)));
+    }
+
+    /** Current usage of an account, rolled over to today. */
+    public Usage usage(String accountNumber) {
+        LocalDate today = LocalDate.now(clock);
+        AtomicReference<Usage> cell = usage.get(accountNumber);
+        Usage current = cell == null ? DROPPED : cell.get();
+        return current == DROPPED ? Usage.empty(today) : current.rolledTo(today);
+    }
+
+    /**
+     * Replaces the counter of each account held here whose rows were
+     * created or moved on since the previous refresh with those rows plus
+     * this instance's uncommitted intakes, picking up what other replicas
+     * reserved and released. Other accounts are not read. A counter that
+     * changes while the rows are read is left alone, and a reservation that
+     * commits meanwhile can be counted twice, until a later refresh within
+     * the overlap reads the account again; neither is ever missed.
+     */
+    @Scheduled(fixedDelayString = "${transaction.limits.usage.refresh-ms:5000}",
+            initialDelayString = "${transaction.limits.usage.refresh-ms:5000}")
+    public void refresh() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDateTime started = LocalDateTime.now(clock);
+        LocalDate monthStart = YearMonth.from(today).atDay(1);
+        // Reaches back past the last refresh for intakes that committed
+        // late and replicas whose clocks run behind
+        Set<String> changedAccounts = new HashSet<>(
+                reservationRepo.findAccountsChangedSince(monthStart, changedSince.minus(refreshOverlap)));
+        changedAccounts.retainAll(usage.keySet());
+
+        // Cells first, then uncommitted intakes, then rows: the reverse of
+        // the order reserve() and a committing intake touch them
+        Map<String, Usage> seen = new HashMap<>();
+        for (String account : changedAccounts) {
+            AtomicReference<Usage> cell = usage.get(account);
+            if (cell != null) {
+                seen.put(account, cell.get());
+            }
+        }
+        Map<String, Usage> pending = new HashMap<>();
+        for (LimitReservation r : unsaved.values()) {
+            if (seen.containsKey(r.getAccountNumber())) {
+                pending.merge(r.getAccountNumber(),
+                        Usage.empty(today).plus(today, r.getUsageDay(), r.getCategory(), r.getAmountPaise()),
+                        Usage::combine);
+            }
+        }
+        Map<String, Usage> held = new HashMap<>();
+        List<String> accounts = new ArrayList<>(seen.keySet());
+        for (int i = 0; i < accounts.size(); i += REFRESH_BATCH) {
+            List<String> batch = accounts.subList(i, Math.min(i + REFRESH_BATCH, accounts.size()));
+            held.putAll(sum(reservationRepo.sumHeldByAccountsSince(batch, monthStart), today));
+        }
+
+        int changed = 0;
+        for (Map.Entry<String, Usage> entry : seen.entrySet()) {
+            AtomicReference<Usage> cell = usage.get(entry.getKey());
+            if (cell == null || entry.getValue() == DROPPED) {
+                continue;
+            }
+            Usage next = held.getOrDefault(entry.getKey(), Usage.empty(today))
+                    .combine(pending.getOrDefault(entry.getKey(), Usage.empty(today)));
+            if (!next.equals(entry.getValue().rolledTo(today)) && cell.compareAndSet(entry.getValue(), next)) {
+                changed++;
+            }
+        }
+        changedSince = started;
+        if (changed > 0) {
+            log.debug("Refreshed limit usage of {} accounts from reservations", changed);
+        }
+    }
+
+    /**
+     * Drops accounts with nothing used this month and reservation rows from
+     * before this month; neither can count against a limit any more.
+     */
+    @Scheduled(cron = "${transaction.limits.usage.rollover-cron:5 0 0 * * *}")
+    public void rollover() {
+        LocalDate today = LocalDate.now(clock);
+        usage.forEach((account, cell) -> {
+            Usage current = cell.get();
+            if (current != DROPPED && current.rolledTo(today).isEmpty() && cell.compareAndSet(current, DROPPED)) {
+                usage.remove(account, cell);
+            }
+        });
+
+        Integer deleted = transactionTemplate.execute(status ->
+                reservationRepo.deleteUsageBefore(YearMonth.from(today).atDay(1)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} limit reservations from before {}", deleted, YearMonth.from(today));
+        }
+    }
+
+    /** First use of an account on this instance: count its held rows. */
+    private Usage load(String accountNumber, LocalDate today) {
+        return sum(reservationRepo.sumHeldByAccountSince(accountNumber, YearMonth.from(today).atDay(1)), today)
+                .getOrDefault(accountNumber, Usage.empty(today));
+    }
+
+    private static Map<String, Usage> sum(List<LimitUsageTotal> totals, LocalDate today) {
+        Map<String, Usage> summed = new HashMap<>();
+        for (LimitUsageTotal total : totals) {
+            summed.merge(total.accountNumber(),
+                    Usage.empty(today).plus(today, total.usageDay(), total.category(), total.amountPaise()),
+                    Usage::combine);
+        }
+        return summed;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void giveBack(LimitReservation reservation) {
+        AtomicReference<Usage> cell = usage.get(reservation.getAccountNumber());
+        if (cell == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        while (true) {
+            Usage current = cell.get();
+            // Evicted cells held nothing for this month
+            if (current == DROPPED) {
+                return;
+            }
+            Usage next = current.rolledTo(today).plus(
+                    today, reservation.getUsageDay(), reservation.getCategory(), -reservation.getAmountPaise());
+            if (cell.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Paise used by an account on {@code day} and in its month. Amounts are
+     * floored at zero when given back, in case a window rolled over or was
+     * rebuilt between a reservation and its release.
+     */
+    public record Usage(LocalDate day, long daily, long monthly, long atm, long onlineShopping) {
+
+        static Usage empty(LocalDate day) {
+            return new Usage(day, 0, 0, 0, 0);
+        }
+
+        Usage rolledTo(LocalDate today) {
+            if (day.equals(today)) {
+                return this;
+            }
+            return YearMonth.from(day).equals(YearMonth.from(today))
+                    ? new Usage(today, 0, monthly, 0, 0)
+                    : empty(today);
+        }
+
+        /**
+         * Adds {@code paise}, negative to give back, used on {@code usageDay}
+         * to the windows of {@code today} that it falls in.
+         */
+        Usage plus(LocalDate today, LocalDate usageDay, TransactionCategory category, long paise) {
+            boolean sameDay = usageDay.equals(today);
+            boolean sameMonth = YearMonth.from(usageDay).equals(YearMonth.from(today));
+            return new Usage(
+                    day,
+                    sameDay ? add(daily, paise) : daily,
+                    sameMonth ? add(monthly, paise) : monthly,
+                    sameDay && category == TransactionCategory.ATM ? add(atm, paise) : atm,
+                    sameDay && category == TransactionCategory.SHOPPING ? add(onlineShopping, paise) : onlineShopping);
+        }
+
+        Usage combine(Usage other) {
+            return new Usage(day,
+                    Math.addExact(daily, other.daily),
+                    Math.addExact(monthly, other.monthly),
+                    Math.addExact(atm, other.atm),
+                    Math.addExact(onlineShopping, other.onlineShopping));
+        }
+
+        boolean isEmpty() {
+            return daily == 0 && monthly == 0;
+        }
+
+        /**
+         * Name of the first limit a {@code category} debit leaves this
+         * usage over, or {@code null}. A missing limit is no limit.
+         */
+        String exceeded(TransactionLimit limit, TransactionCategory category) {
+            if (over(daily, limit.getDailyLimit())) return "Daily";
+            if (over(monthly, limit.getMonthlyLimit())) return "Monthly";
+            if (category == TransactionCategory.ATM && over(atm, limit.getAtmLimit())) return "ATM";
+            if (category == TransactionCategory.SHOPPING
+                    && over(onlineShopping, limit.getOnlineShoppingLimit())) return "Online shopping";
+            return null;
+        }
+
+        private static boolean over(long used, Money limit) {
+            return limit != null && used > limit.paise();
+        }
+
+        private static long add(long used, long paise) {
+            return Math.max(0, Math.addExact(used, paise));
+        }
+    }
+}
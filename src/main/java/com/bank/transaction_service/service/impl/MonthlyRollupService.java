@@ -0,0 +1,331 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.dto.response.RollupMaintenanceResponse;
+import com.bank.transaction_service.entity.MonthlyRollup;
+import com.bank.transaction_service.entity.MonthlyRollupBackfill;
+import com.bank.transaction_service.entity.MonthlyRollupId;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.repository.MonthlyRollupBackfillRepository;
+import com.bank.transaction_service.repository.MonthlyRollupRepository;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.util.TimeRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Maintains {@link MonthlyRollup} rows.
+ *
+ * <p>{@link #record} runs inside the caller's transaction when transactions
+ * reach SUCCESS, so a rollup changes exactly when the status change commits.
+ * {@link #rebuild} recomputes an account's month from the raw rows; the
+ * scheduled check compares recent months with the raw rows and rebuilds
+ * any that drifted.
+ *
+ * <p>Rollups only see transactions that succeed after they were deployed,
+ * so every earlier month has to be backfilled once. On startup a
+ * background thread backfills each month that has not been yet, newest
+ * first, and records it as a {@link MonthlyRollupBackfill}; until then
+ * analytics sum that month from the transactions.
+ *
+ * <p>The backfill and the scheduled check go through every active account,
+ * so both run one at a time on this service's own thread and never hold a
+ * scheduler thread the outbox relay needs.
+ */
+@Slf4j
+@Component
+public class MonthlyRollupService {
+
+    // Keys are written in one fixed order so concurrent batches touching
+    // the same rows lock them in the same order
+    private static final Comparator<MonthlyRollupId> KEY_ORDER =
+            Comparator.comparing(MonthlyRollupId::getAccountNumber)
+                    .thenComparing(MonthlyRollupId::getMonthStart)
+                    .thenComparing(MonthlyRollupId::getCategory)
+                    .thenComparing(MonthlyRollupId::getTransactionType);
+
+    private final MonthlyRollupRepository rollupRepo;
+    private final MonthlyRollupBackfillRepository backfillRepo;
+    private final TransactionRepository transactionRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionAggregationService aggregationService;
+    private final int accountBatchSize;
+    private final boolean backfillOnStartup;
+    private final Counter drifted;
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private final ExecutorService maintenance = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rollup-maintenance");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MonthlyRollupService(
+            MonthlyRollupRepository rollupRepo,
+            MonthlyRollupBackfillRepository backfillRepo,
+            TransactionRepository transactionRepo,
+            TransactionTemplate transactionTemplate,
+            PlatformTransactionManager transactionManager,
+            TransactionAggregationService aggregationService,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.analytics.rollup.account-batch-size:500}") int accountBatchSize,
+            @Value("${transaction.analytics.rollup.backfill-on-startup:true}") boolean backfillOnStartup
+    ) {
+        this.rollupRepo = rollupRepo;
+        this.backfillRepo = backfillRepo;
+        this.transactionRepo = transactionRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.aggregationService = aggregationService;
+        this.accountBatchSize = accountBatchSize;
+        this.backfillOnStartup = backfillOnStartup;
+        this.drifted = meterRegistry.counter("transaction.analytics.rollup.drifted");
+
+        // Both sides of a comparison from one snapshot, so writes landing
+        // between the two reads are not mistaken for drift
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    /** Adds a SUCCESS transaction to its rollup; other statuses are ignored. */
+    public void record(Transaction tx) {
+        recordAll(List.of(tx));
+    }
+
+    /**
+     * Adds the SUCCESS transactions among {@code transactions}, one upsert
+     * per rollup key. Must run in the transaction that stores their status.
+     */
+    public void recordAll(Collection<Transaction> transactions) {
+        Map<MonthlyRollupId, Totals> deltas = new TreeMap<>(KEY_ORDER);
+        for (Transaction tx : transactions) {
+            if (tx.getStatus() != TransactionStatus.SUCCESS || tx.getCreatedAt() == null) {
+                continue;
+            }
+            deltas.merge(keyOf(tx), new Totals(tx.getTotalAmount(), 1), Totals::plus);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> rollupRepo.upsert(
+                key.getAccountNumber(),
+                key.getMonthStart(),
+                key.getCategory().name(),
+                key.getTransactionType().name(),
+                delta.amount(),
+                delta.count(),
+                now));
+    }
+
+    /** Replaces an account's rollups for {@code month} with totals computed from its transactions. */
+    public void rebuild(String accountNumber, YearMonth month) {
+        TimeRange range = TimeRange.ofMonth(month);
+        transactionTemplate.execute(status -> {
+            rollupRepo.deleteMonth(accountNumber, month.atDay(1));
+            return rollupRepo.insertMonthFromTransactions(
+                    accountNumber, month.atDay(1), range.start(), range.end(), LocalDateTime.now());
+        });
+        aggregationService.evictMonth(accountNumber, month);
+    }
+
+    /**
+     * Compares an account's rollups for {@code month} with its transactions
+     * and rebuilds them if they differ. Returns whether they matched.
+     */
+    public boolean verify(String accountNumber, YearMonth month) {
+        Map<MonthlyRollupId, Totals> expected = new HashMap<>();
+        Map<MonthlyRollupId, Totals> actual = new HashMap<>();
+        snapshotTemplate.executeWithoutResult(status -> {
+            for (TypeCategoryTotal row : transactionRepo.sumSuccessfulByTypeAndCategory(
+                    accountNumber, TimeRange.ofMonth(month))) {
+                MonthlyRollupId key = new MonthlyRollupId(
+                        accountNumber, month.atDay(1), categoryOf(row.category()), row.transactionType());
+                expected.merge(key, new Totals(row.totalAmount(), row.transactionCount()), Totals::plus);
+            }
+            for (MonthlyRollup rollup : rollupRepo.findByIdAccountNumberAndIdMonthStart(
+                    accountNumber, month.atDay(1))) {
+                actual.put(rollup.getId(), new Totals(rollup.getTotalAmount(), rollup.getTransactionCount()));
+            }
+        });
+
+        if (normalise(expected).equals(normalise(actual))) {
+            return true;
+        }
+
+        log.warn("Monthly rollup drift | account={} | month={} | expected={} | actual={}",
+                accountNumber, month, expected, actual);
+        drifted.increment();
+        rebuild(accountNumber, month);
+        return false;
+    }
+
+    /**
+     * Rebuilds every account with transactions in {@code month}, then
+     * records the month as backfilled so analytics read its rollups.
+     */
+    public RollupMaintenanceResponse backfill(YearMonth month) {
+        RollupMaintenanceResponse result = forEachActiveAccount(month, account -> {
+            rebuild(account, month);
+            return true;
+        });
+        backfillRepo.save(MonthlyRollupBackfill.builder()
+                .monthStart(month.atDay(1))
+                .accounts(result.getAccounts())
+                .completedAt(LocalDateTime.now())
+                .build());
+        aggregationService.evictRollupCoverage();
+        return result;
+    }
+
+    /**
+     * Backfills every month from the current one back to the oldest
+     * transaction's that is not covered yet. Once all are, this costs two
+     * small queries, so every instance runs it on startup.
+     */
+    public void backfillPending() {
+        LocalDateTime earliest = transactionRepo.findEarliestCreatedAt();
+        if (earliest == null) {
+            return;
+        }
+        RollupCoverage coverage = RollupCoverage.of(backfillRepo.findAll());
+        YearMonth oldest = YearMonth.from(earliest);
+        // Newest first: recent months are the ones analytics are asked for most
+        for (YearMonth month = YearMonth.now(); !month.isBefore(oldest); month = month.minusMonths(1)) {
+            if (coverage.covers(month)) {
+                continue;
+            }
+            RollupMaintenanceResponse result = backfill(month);
+            log.info("Monthly rollup backfill | month={} | accounts={}", result.getMonth(), result.getAccounts());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        maintenance.execute(() -> {
+            try {
+                backfillPending();
+            } catch (RuntimeException e) {
+                log.error("Monthly rollup backfill failed; it resumes on the next startup", e);
+            }
+        });
+    }
+
+    /** Verifies every account with transactions in {@code month}, rebuilding those that drifted. */
+    public RollupMaintenanceResponse check(YearMonth month) {
+        return forEachActiveAccount(month, account -> !verify(account, month));
+    }
+
+    /**
+     * Consistency check of the current and previous month, where late writes
+     * can still land. Only hands the check to the maintenance thread; a
+     * check still running from the last trigger is not queued behind.
+     */
+    @Scheduled(cron = "${transaction.analytics.rollup.check-cron:0 30 3 * * *}")
+    public void checkRecentMonths() {
+        if (!checking.compareAndSet(false, true)) {
+            log.warn("Monthly rollup check still running; skipping this run");
+            return;
+        }
+        maintenance.execute(() -> {
+            try {
+                YearMonth current = YearMonth.now();
+                for (YearMonth month : List.of(current.minusMonths(1), current)) {
+                    RollupMaintenanceResponse result = check(month);
+                    log.info("Monthly rollup check | month={} | accounts={} | rebuilt={}",
+                            result.getMonth(), result.getAccounts(), result.getRebuilt());
+                }
+            } catch (RuntimeException e) {
+                log.error("Monthly rollup check failed; it runs again on the next trigger", e);
+            } finally {
+                checking.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintenance.shutdownNow();
+    }
+
+    private RollupMaintenanceResponse forEachActiveAccount(YearMonth month, Predicate<String> rebuiltBy) {
+        TimeRange range = TimeRange.ofMonth(month);
+        int accounts = 0;
+        int rebuilt = 0;
+        String after = "";
+        while (true) {
+            List<String> batch = transactionRepo.findAccountsActiveBetween(
+                    range.start(), range.end(), after, PageRequest.of(0, accountBatchSize));
+            for (String account : batch) {
+                accounts++;
+                if (rebuiltBy.test(account)) {
+                    rebuilt++;
+                }
+            }
+            if (batch.size() < accountBatchSize) {
+                break;
+            }
+            after = batch.get(batch.size() - 1);
+        }
+        return RollupMaintenanceResponse.builder()
+                .month(month.toString())
+                .accounts(accounts)
+                .rebuilt(rebuilt)
+                .build();
+    }
+
+    private static MonthlyRollupId keyOf(Transaction tx) {
+        return new MonthlyRollupId(
+                tx.getAccountNumber(),
+                YearMonth.from(tx.getCreatedAt()).atDay(1),
+                categoryOf(tx.getCategory()),
+                tx.getTransactionType());
+    }
+
+    private static TransactionCategory categoryOf(TransactionCategory category) {
+        return category == null ? TransactionCategory.OTHERS : category;
+    }
+
+    private static Map<MonthlyRollupId, Totals> normalise(Map<MonthlyRollupId, Totals> totals) {
+        Map<MonthlyRollupId, Totals> normalised = new HashMap<>();
+        totals.forEach((key, value) -> normalised.put(key,
+                new Totals(value.amount().stripTrailingZeros(), value.count())));
+        return normalised;
+    }
+
+    private record Totals(BigDecimal amount, long count) {
+
+        Totals plus(Totals other) {
+            return new Totals(amount.add(other.amount), count + other.count);
+        }
+    }
+}
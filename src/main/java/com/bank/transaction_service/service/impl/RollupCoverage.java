@@ -0,0 +1,31 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.MonthlyRollupBackfill;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Months whose rollups are complete: those backfilled, and those after
+ * the month of the first backfill, since rollups were already recorded
+ * live by then and so saw those months from their first day.
+ */
+record RollupCoverage(Set<YearMonth> backfilled, YearMonth liveAfter) {
+
+    static RollupCoverage of(Collection<MonthlyRollupBackfill> backfills) {
+        Set<YearMonth> months = backfills.stream()
+                .map(b -> YearMonth.from(b.getMonthStart()))
+                .collect(Collectors.toUnmodifiableSet());
+        YearMonth liveAfter = backfills.stream()
+                .map(b -> YearMonth.from(b.getCompletedAt()))
+                .min(YearMonth::compareTo)
+                .orElse(null);
+        return new RollupCoverage(months, liveAfter);
+    }
+
+    boolean covers(YearMonth month) {
+        return backfilled.contains(month) || (liveAfter != null && month.isAfter(liveAfter));
+    }
+}
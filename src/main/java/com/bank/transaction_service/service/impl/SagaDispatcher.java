@@ -0,0 +1,91 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.exception.TransactionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Hands saga steps to the saga executor once the intake transaction has
+ * committed, or runs them inline when async mode is switched off.
+ */
+@Slf4j
+@Component
+public class SagaDispatcher {
+
+    private final ThreadPoolTaskExecutor sagaExecutor;
+    private final boolean async;
+    private final Counter rejected;
+    private final Counter callerRuns;
+
+    public SagaDispatcher(@Qualifier("sagaExecutor") ThreadPoolTaskExecutor sagaExecutor,
+                          @Value("${transaction.saga.async.enabled:false}") boolean async,
+                          MeterRegistry meterRegistry) {
+        this.sagaExecutor = sagaExecutor;
+        this.async = async;
+        this.rejected = Counter.builder("transaction.saga.rejected")
+                .description("Write requests refused because the saga executor was saturated")
+                .register(meterRegistry);
+        this.callerRuns = Counter.builder("transaction.saga.caller.runs")
+                .description("Saga steps run on the request thread after a late rejection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refuses the request up front, before anything is written, when the
+     * executor has no room left for another saga.
+     */
+    public void ensureCapacity() {
+        if (async && saturated()) {
+            rejected.increment();
+            throw TransactionException.tooManyRequests(
+                    "Too many transactions in progress. Please retry shortly"
+            );
+        }
+    }
+
+    public void dispatch(Runnable sagaStep) {
+        if (!async) {
+            sagaStep.run();
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            submit(sagaStep);
+                        }
+                    });
+        } else {
+            submit(sagaStep);
+        }
+    }
+
+    private void submit(Runnable sagaStep) {
+        try {
+            sagaExecutor.execute(sagaStep);
+        } catch (TaskRejectedException ex) {
+            // The row is already committed, so the saga has to run somewhere.
+            log.warn("Saga executor saturated after commit, running saga on caller thread");
+            callerRuns.increment();
+            sagaStep.run();
+        }
+    }
+
+    private boolean saturated() {
+        ThreadPoolExecutor pool = sagaExecutor.getThreadPoolExecutor();
+        return pool.getQueue().remainingCapacity() == 0
+                && pool.getActiveCount() >= pool.getMaximumPoolSize();
+    }
+}
@@ -10,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,7 +24,6 @@ public class ScheduledTransactionServiceImpl implements ScheduledTransactionServ
 
     @Override
     @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
     public void executeScheduledTransactions() {
 
         log.info("Starting scheduled transaction execution");
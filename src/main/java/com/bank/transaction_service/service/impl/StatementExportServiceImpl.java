@@ -0,0 +1,214 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.enums.StatementFormat;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.bank.transaction_service.service.StatementExportService;
+import com.bank.transaction_service.util.TimeRange;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streams a statement straight from the database cursor into the response.
+ * Rows are projections, so the persistence context stays empty, and each
+ * one is written and dropped before the next is read: memory use does not
+ * depend on how many rows the range holds.
+ *
+ * <p>An export holds its connection for as long as the client takes to
+ * read the body, so only a few may run at once; the rest are turned away
+ * before streaming starts rather than draining the Hikari pool.
+ */
+@Slf4j
+@Service
+public class StatementExportServiceImpl implements StatementExportService {
+
+    static final String CSV_HEADER = "transaction_id,created_at,type,description,amount,status\n";
+
+    private static final int WRITE_BUFFER_CHARS = 8192;
+
+    private final TransactionRepository transactionRepo;
+    private final JsonFactory jsonFactory;
+    private final int maxRangeDays;
+    private final Semaphore slots;
+
+    public StatementExportServiceImpl(
+            TransactionRepository transactionRepo,
+            ObjectMapper objectMapper,
+            @Value("${transaction.statement.max-range-days:731}") int maxRangeDays,
+            @Value("${transaction.statement.max-concurrent:2}") int maxConcurrent
+    ) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("transaction.statement.max-concurrent must be at least 1");
+        }
+        this.transactionRepo = transactionRepo;
+        this.jsonFactory = objectMapper.getFactory();
+        this.maxRangeDays = maxRangeDays;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public ExportSlot acquireSlot() {
+        if (!slots.tryAcquire()) {
+            throw TransactionException.tooManyRequests(
+                    "Too many statement exports in progress, try again shortly");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+    }
+
+    @Override
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw TransactionException.badRequest("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw TransactionException.badRequest("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw TransactionException.badRequest(
+                    "Statement range cannot exceed " + maxRangeDays + " days");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(
+            String accountNumber,
+            LocalDate from,
+            LocalDate to,
+            StatementFormat format,
+            OutputStream out
+    ) throws IOException {
+
+        validateRange(from, to);
+
+        long written;
+        try (Stream<TransactionRow> rows = transactionRepo.streamStatement(
+                accountNumber, TimeRange.ofDays(from, to))) {
+
+            written = switch (format) {
+                case CSV -> writeCsv(rows.iterator(), out);
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+            };
+        }
+
+        log.info("Statement exported | account={} | from={} | to={} | format={} | rows={}",
+                accountNumber, from, to, format, written);
+        return written;
+    }
+
+    private long writeCsv(Iterator<TransactionRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        writer.write(CSV_HEADER);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionRow row = rows.next();
+            writer.write(row.transactionId());
+            writer.write(',');
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(row.createdAt(), writer);
+            writer.write(',');
+            writer.write(row.transactionType().name());
+            writer.write(',');
+            writeCsvField(writer, row.description());
+            writer.write(',');
+            writer.write(signedAmount(row).toPlainString());
+            writer.write(',');
+            writer.write(row.status().name());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TransactionRow> rows, OutputStream out) throws IOException {
+        JsonGenerator gen = jsonFactory.createGenerator(out);
+        // One object per line, no separator between root values
+        gen.setRootValueSeparator(null);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            TransactionRow row = rows.next();
+            gen.writeStartObject();
+            gen.writeStringField("transactionId", row.transactionId());
+            gen.writeStringField("createdAt",
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.createdAt()));
+            gen.writeStringField("type", row.transactionType().name());
+            gen.writeStringField("description", row.description());
+            gen.writeFieldName("amount");
+            gen.writeNumber(signedAmount(row));
+            gen.writeStringField("status", row.status().name());
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            count++;
+        }
+        gen.flush();
+        return count;
+    }
+
+    private static BigDecimal signedAmount(TransactionRow row) {
+        return row.transactionType() == TransactionType.DEBIT
+                ? row.totalAmount().negate()
+                : row.totalAmount();
+    }
+
+    /**
+     * RFC 4180 quoting. Values a spreadsheet would evaluate as a formula
+     * get a leading apostrophe, since descriptions are free text.
+     */
+    static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,124 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.MonthlyRollup;
+import com.bank.transaction_service.repository.MonthlyRollupBackfillRepository;
+import com.bank.transaction_service.repository.MonthlyRollupRepository;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.service.TransactionTotals;
+import com.bank.transaction_service.util.TimeRange;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monthly totals come from the rollups for months whose rollups are
+ * complete (see {@link RollupCoverage}), and are summed from the
+ * transactions for the rest, so a month that has not been backfilled yet
+ * never reads as empty.
+ *
+ * <p>Totals of a closed month do not change, so they are cached. A month
+ * counts as closed once the daily rollup check no longer looks at it,
+ * from the start of the month after next, plus {@code closed-grace-days}
+ * for that check to finish. Only a manual rebuild can change a closed
+ * month after that; it evicts the month on this instance, and the TTL
+ * bounds how long other instances can serve the old figures.
+ */
+@Service
+public class TransactionAggregationServiceImpl implements TransactionAggregationService {
+
+    private static final String COVERAGE = "coverage";
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final MonthlyRollupBackfillRepository backfillRepository;
+    private final TransactionRepository transactionRepository;
+    private final Cache<MonthKey, TransactionTotals> closedMonths;
+    private final Cache<String, RollupCoverage> coverage;
+    private final int closedGraceDays;
+
+    public TransactionAggregationServiceImpl(
+            MonthlyRollupRepository rollupRepository,
+            MonthlyRollupBackfillRepository backfillRepository,
+            TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.analytics.cache.max-size:100000}") long maxSize,
+            @Value("${transaction.analytics.cache.ttl-seconds:21600}") long ttlSeconds,
+            @Value("${transaction.analytics.cache.closed-grace-days:1}") int closedGraceDays,
+            @Value("${transaction.analytics.rollup.coverage-ttl-seconds:60}") long coverageTtlSeconds
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.backfillRepository = backfillRepository;
+        this.transactionRepository = transactionRepository;
+        this.closedGraceDays = closedGraceDays;
+        this.closedMonths = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, closedMonths, "transaction.analytics.closed-months");
+
+        // Backfills finished on another instance show up within the TTL
+        this.coverage = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(coverageTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public TransactionTotals monthlyTotals(String accountNumber, YearMonth month) {
+        if (!isClosed(month)) {
+            return loadMonth(accountNumber, month);
+        }
+        return closedMonths.get(new MonthKey(accountNumber, month), key -> loadMonth(key.accountNumber(), key.month()));
+    }
+
+    @Override
+    public TransactionTotals customerTotals(UUID customerId) {
+        return new TransactionTotals(transactionRepository.sumAmountByCustomer(customerId));
+    }
+
+    @Override
+    public void evictMonth(String accountNumber, YearMonth month) {
+        closedMonths.invalidate(new MonthKey(accountNumber, month));
+    }
+
+    @Override
+    public void evictRollupCoverage() {
+        coverage.invalidateAll();
+    }
+
+    boolean isClosed(YearMonth month) {
+        return !month.plusMonths(2).atDay(1).plusDays(closedGraceDays).isAfter(LocalDate.now());
+    }
+
+    private TransactionTotals loadMonth(String accountNumber, YearMonth month) {
+        RollupCoverage covered = coverage.get(COVERAGE, key -> RollupCoverage.of(backfillRepository.findAll()));
+        if (!covered.covers(month)) {
+            return new TransactionTotals(
+                    transactionRepository.sumSuccessfulByTypeAndCategory(accountNumber, TimeRange.ofMonth(month)));
+        }
+
+        List<MonthlyRollup> rollups =
+                rollupRepository.findByIdAccountNumberAndIdMonthStart(accountNumber, month.atDay(1));
+
+        return new TransactionTotals(rollups.stream()
+                .map(r -> new TypeCategoryTotal(
+                        r.getId().getTransactionType(),
+                        r.getId().getCategory(),
+                        r.getTotalAmount(),
+                        r.getTransactionCount()))
+                .toList());
+    }
+
+    private record MonthKey(String accountNumber, YearMonth month) {}
+}
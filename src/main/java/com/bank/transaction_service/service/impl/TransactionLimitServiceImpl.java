@@ -1,17 +1,23 @@
 package com.bank.transaction_service.service.impl;
 
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
+import com.bank.transaction_service.dto.response.RemainingLimitResponse;
 import com.bank.transaction_service.dto.response.TransactionLimitResponse;
 import com.bank.transaction_service.entity.TransactionLimit;
 import com.bank.transaction_service.repository.TransactionLimitRepository;
 import com.bank.transaction_service.service.TransactionLimitService;
+import com.bank.transaction_service.util.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
 @Service
 @RequiredArgsConstructor
 public class TransactionLimitServiceImpl implements TransactionLimitService {
 
     private final TransactionLimitRepository repository;
+    private final LimitUsageTracker usageTracker;
 
     @Override
     public TransactionLimitResponse get(String accountNumber) {
@@ -35,4 +41,37 @@ public class TransactionLimitServiceImpl implements TransactionLimitService {
 
         return TransactionLimitResponse.from(limit);
     }
+
+    /** Read from the in-process usage counters; an account without limits gets the defaults. */
+    @Override
+    public RemainingLimitResponse remaining(String accountNumber) {
+        TransactionLimit limit = repository.findByAccountNumber(accountNumber)
+                .orElseGet(() -> new TransactionLimit(accountNumber));
+        LimitUsageTracker.Usage usage = usageTracker.usage(accountNumber);
+
+        return RemainingLimitResponse.builder()
+                .accountNumber(accountNumber)
+                .date(usage.day().toString())
+                .perTransactionLimit(amount(limit.getPerTransactionLimit()))
+                .daily(window(limit.getDailyLimit(), usage.daily()))
+                .monthly(window(limit.getMonthlyLimit(), usage.monthly()))
+                .atm(window(limit.getAtmLimit(), usage.atm()))
+                .onlineShopping(window(limit.getOnlineShoppingLimit(), usage.onlineShopping()))
+                .build();
+    }
+
+    private static RemainingLimitResponse.Window window(Money limit, long usedPaise) {
+        Money used = Money.ofPaise(usedPaise);
+        Money remaining = limit == null || !limit.isGreaterThan(used) ? Money.ZERO : limit.minus(used);
+
+        return RemainingLimitResponse.Window.builder()
+                .limit(amount(limit))
+                .used(used.toBigDecimal())
+                .remaining(limit == null ? null : remaining.toBigDecimal())
+                .build();
+    }
+
+    private static BigDecimal amount(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
@@ -1,34 +1,45 @@
 package com.bank.transaction_service.service.impl;
 
-import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountBalanceReader;
 import com.bank.transaction_service.dto.response.*;
-import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TransactionRow;
 import com.bank.transaction_service.service.TransactionQueryService;
+import com.bank.transaction_service.util.HistoryCursor;
+import com.bank.transaction_service.util.TransactionFormats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionQueryServiceImpl implements TransactionQueryService {
 
+    static final int MAX_FEED_LIMIT = 100;
+
     private final TransactionRepository transactionRepo;
-    private final AccountClient accountClient;
+    private final AccountBalanceReader balanceReader;
 
+    /**
+     * Page/limit history. Kept for existing clients: every page costs an
+     * OFFSET scan plus a COUNT(*), so new callers should use
+     * {@link #getHistoryFeed}.
+     */
     @Override
+    @Transactional(readOnly = true)
     public TransactionHistoryResponse getHistory(String accountNumber, int limit, int page) {
 
         PageRequest pageable = PageRequest.of(page - 1, limit);
 
-        Page<Transaction> txPage =
-                transactionRepo.findByAccountNumberOrderByCreatedAtDesc(
+        Page<TransactionRow> txPage =
+                transactionRepo.findHistoryRows(
                         accountNumber, pageable
                 );
 
@@ -45,17 +56,11 @@ public class TransactionQueryServiceImpl implements TransactionQueryService {
                     .build();
         }
 
-        List<TransactionResponse> transactions =
-                txPage.getContent()
-                        .stream()
-                        .map(this::mapTransaction)
-                        .toList();
-
         return TransactionHistoryResponse.builder()
                 .success(true)
                 .message("Transaction history fetched successfully")
                 .description("Transaction history for account " + maskAccount(accountNumber))
-                .transactions(transactions)
+                .transactions(txPage.getContent())
                 .total(txPage.getTotalElements())
                 .page(page)
                 .limit(limit)
@@ -63,13 +68,55 @@ public class TransactionQueryServiceImpl implements TransactionQueryService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionFeedResponse getHistoryFeed(String accountNumber, int limit, String cursor) {
+
+        if (limit < 1 || limit > MAX_FEED_LIMIT) {
+            throw TransactionException.badRequest("limit must be between 1 and " + MAX_FEED_LIMIT);
+        }
+
+        // One extra row tells whether another page exists, without a count query
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<TransactionRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepo.findHistoryPage(accountNumber, window);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = transactionRepo.findHistoryPageAfter(
+                    accountNumber, after.createdAt(), after.transactionId(), window);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<TransactionRow> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionRow last = page.get(page.size() - 1);
+            nextCursor = new HistoryCursor(last.createdAt(), last.transactionId()).encode();
+        }
+
+        return TransactionFeedResponse.builder()
+                .success(true)
+                .message(page.isEmpty()
+                        ? "No transactions found yet"
+                        : "Transaction history fetched successfully")
+                .description("Transaction history for account " + maskAccount(accountNumber))
+                .limit(limit)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .transactions(page)
+                .build();
+    }
+
     @Override
     public MiniStatementResponse miniStatement(String accountNumber) {
-        List<Transaction> last5 =
-                transactionRepo.findTop5ByAccountNumberOrderByCreatedAtDesc(accountNumber);
+        // No transaction here: it would hold a connection across the balance call
+        List<TransactionRow> last5 =
+                transactionRepo.findRecentRows(accountNumber, PageRequest.of(0, 5));
 
         BigDecimal currentBalance =
-                accountClient.getBalance(accountNumber);
+                balanceReader.getBalance(accountNumber);
 
         if (last5.isEmpty()) {
             return MiniStatementResponse.builder()
@@ -85,15 +132,14 @@ public class TransactionQueryServiceImpl implements TransactionQueryService {
         List<MiniStatementResponse.MiniTxn> miniTxns =
                 last5.stream()
                         .map(tx -> MiniStatementResponse.MiniTxn.builder()
-                                .date(tx.getCreatedAt()
-                                        .format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
-                                .description(tx.getDescription())
+                                .date(TransactionFormats.DATE.format(tx.createdAt()))
+                                .description(tx.description())
                                 .amount(
-                                        tx.getTransactionType() == TransactionType.DEBIT
-                                                ? tx.getTotalAmount().negate()
-                                                : tx.getTotalAmount()
+                                        tx.transactionType() == TransactionType.DEBIT
+                                                ? tx.totalAmount().negate()
+                                                : tx.totalAmount()
                                 )
-                                .type(tx.getTransactionType().name())
+                                .type(tx.transactionType().name())
                                 .build()
                         )
                         .toList();
@@ -108,35 +154,6 @@ public class TransactionQueryServiceImpl implements TransactionQueryService {
                 .build();
     }
 
-    private TransactionResponse mapTransaction(Transaction tx) {
-        String amountDisplay =
-                tx.getTransactionType() == TransactionType.DEBIT
-                        ? "- ₹" + tx.getTotalAmount()
-                        : "+ ₹" + tx.getTotalAmount();
-
-        return TransactionResponse.builder()
-                .transactionId(tx.getTransactionId())
-                .date(tx.getCreatedAt()
-                        .format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
-                .time(tx.getCreatedAt()
-                        .format(DateTimeFormatter.ofPattern("hh:mm a")))
-                .type(tx.getTransactionType().name())
-                .description(tx.getDescription())
-                .amount(amountDisplay)
-                .status(tx.getStatus().name())
-                .statusMessage(getTransactionStatusMessage(tx))
-                .build();
-    }
-
-    private String getTransactionStatusMessage(Transaction tx) {
-        return switch (tx.getStatus()) {
-            case SUCCESS -> "Transaction completed successfully";
-            case IN_PROGRESS -> "Transaction is being initiated";
-            case PENDING -> "Transaction is being processed";
-            case FAILED -> "Transaction failed. Amount will be refunded if debited";
-        };
-    }
-
     private String maskAccount(String accountNumber) {
         if (accountNumber == null || accountNumber.length() < 4) return "****";
         return "****" + accountNumber.substring(accountNumber.length() - 4);
@@ -1,6 +1,8 @@
 package com.bank.transaction_service.service.impl;
 
+import com.bank.transaction_service.client.AccountBalanceReader;
 import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOperationResult;
 import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.entity.TransactionSaga;
 import com.bank.transaction_service.enums.SagaStatus;
@@ -9,12 +11,15 @@ import com.bank.transaction_service.enums.TransactionStatus;
 import com.bank.transaction_service.enums.TransactionType;
 import com.bank.transaction_service.kafka.producer.TransactionStatusProducer;
 import com.bank.transaction_service.repository.TransactionSagaRepository;
+import com.bank.transaction_service.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -23,15 +28,19 @@ public class TransactionSagaService {
 
     private final TransactionSagaRepository sagaRepo;
     private final AccountClient accountClient;
+    private final AccountBalanceReader balanceReader;
     private final TransactionStatusProducer statusProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final MonthlyRollupService rollupService;
+    private final LimitUsageTracker limitUsage;
 
     public TransactionSaga start(Transaction tx) {
-        BigDecimal sagaAmount =
+        Money sagaAmount =
                 tx.getTotalAmount() != null
-                        ? tx.getTotalAmount()
-                        : (tx.getAmount() != null ? tx.getAmount() : BigDecimal.ZERO);
+                        ? Money.of(tx.getTotalAmount())
+                        : (tx.getAmount() != null ? Money.of(tx.getAmount()) : Money.ZERO);
 
-        if (sagaAmount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (!sagaAmount.isPositive()) {
             throw new IllegalStateException(
                     "Invalid saga amount for transaction " + tx.getTransactionId()
             );
@@ -43,7 +52,7 @@ public class TransactionSagaService {
                         .transactionId(tx.getTransactionId())
                         .fromAccount(tx.getAccountNumber())
                         .toAccount(tx.getToAccount())
-                        .amount(sagaAmount)
+                        .amount(sagaAmount.toBigDecimal())
                         .status(SagaStatus.IN_PROGRESS)
                         .currentStep(SagaStep.INITIATED)
                         .createdAt(LocalDateTime.now())
@@ -57,9 +66,10 @@ public class TransactionSagaService {
             saga.setCurrentStep(SagaStep.CREDIT);
             sagaRepo.save(saga);
 
-            accountClient.credit(tx.getAccountNumber(), tx.getAmount());
+            AccountOperationResult result = applyToAccounts(tx,
+                    () -> accountClient.credit(tx.getAccountNumber(), tx.getAmount()));
 
-            sagaSuccess(tx, saga);
+            sagaSuccess(tx, saga, result);
 
         } catch (Exception ex) {
             sagaFailure(tx, saga, ex);
@@ -71,9 +81,10 @@ public class TransactionSagaService {
             saga.setCurrentStep(SagaStep.DEBIT);
             sagaRepo.save(saga);
 
-            accountClient.debit(tx.getAccountNumber(), tx.getAmount());
+            AccountOperationResult result = applyToAccounts(tx,
+                    () -> accountClient.debit(tx.getAccountNumber(), tx.getAmount()));
 
-            sagaSuccess(tx, saga);
+            sagaSuccess(tx, saga, result);
 
         } catch (Exception ex) {
             sagaFailure(tx, saga, ex);
@@ -85,28 +96,36 @@ public class TransactionSagaService {
             saga.setCurrentStep(SagaStep.TRANSFER);
             sagaRepo.save(saga);
 
-            accountClient.transfer(
+            AccountOperationResult result = applyToAccounts(tx, () -> accountClient.transfer(
                     tx.getAccountNumber(),
                     tx.getToAccount(),
                     tx.getAmount(),
                     tx.getCharges()
-            );
+            ));
 
-            sagaSuccess(tx, saga);
+            sagaSuccess(tx, saga, result);
 
         } catch (Exception ex) {
             sagaFailure(tx, saga, ex);
         }
     }
 
-    private void sagaSuccess(Transaction tx, TransactionSaga saga) {
+    /**
+     * Runs a balance-changing call and then invalidates cached balances of
+     * the accounts involved, even if the call failed part-way.
+     */
+    private AccountOperationResult applyToAccounts(Transaction tx, Supplier<AccountOperationResult> call) {
+        try {
+            return call.get();
+        } finally {
+            balanceReader.invalidate(tx.getAccountNumber());
+            balanceReader.invalidate(tx.getToAccount());
+        }
+    }
 
-        BigDecimal currentBalance =
-                tx.getTransactionType() == TransactionType.TRANSFER
-                        ? accountClient.getBalance(tx.getAccountNumber())
-                        : accountClient.getBalance(tx.getAccountNumber());
+    private void sagaSuccess(Transaction tx, TransactionSaga saga, AccountOperationResult result) {
 
-        tx.setCurrentBalance(currentBalance);
+        applyCurrentBalance(tx, result);
         tx.setStatus(TransactionStatus.SUCCESS);
         tx.setCompletedAt(LocalDateTime.now());
 
@@ -114,18 +133,51 @@ public class TransactionSagaService {
         saga.setCurrentStep(SagaStep.COMPLETED);
         saga.setUpdatedAt(LocalDateTime.now());
 
-        sagaRepo.save(saga);
+        transactionTemplate.execute(status -> {
+            sagaRepo.save(saga);
+            statusProducer.publishSuccess(tx);
+            rollupService.record(tx);
+            limitUsage.committed(tx);
+            return null;
+        });
+    }
+
+    /**
+     * Takes the post-operation balance from account-service's response.
+     * If the response carries none, the balance is derived from the
+     * pre-flight balance and flagged for {@link BalanceReconciler}.
+     */
+    private void applyCurrentBalance(Transaction tx, AccountOperationResult result) {
+        if (result != null && result.balance() != null) {
+            tx.setCurrentBalance(result.balance());
+            tx.setBalanceDerived(false);
+            return;
+        }
 
-        statusProducer.publishSuccess(tx);
+        BigDecimal previous = tx.getPreviousBalance();
+        if (previous != null) {
+            tx.setCurrentBalance(tx.getTransactionType() == TransactionType.CREDIT
+                    ? previous.add(tx.getTotalAmount())
+                    : previous.subtract(tx.getTotalAmount()));
+        }
+        tx.setBalanceDerived(true);
     }
 
     private void sagaFailure(Transaction tx, TransactionSaga saga, Exception ex) {
+        tx.setStatus(TransactionStatus.FAILED);
+        tx.setFailureReason(ex.getMessage());
+        tx.setCompletedAt(LocalDateTime.now());
+
         saga.setStatus(SagaStatus.FAILED);
         saga.setCurrentStep(SagaStep.FAILED);
         saga.setFailureReason(ex.getMessage());
         saga.setUpdatedAt(LocalDateTime.now());
-        sagaRepo.save(saga);
 
-        statusProducer.publishFailure(tx, ex.getMessage());
+        transactionTemplate.execute(status -> {
+            sagaRepo.save(saga);
+            statusProducer.publishFailure(tx, ex.getMessage());
+            limitUsage.released(tx);
+            return null;
+        });
     }
 }
\ No newline at end of file
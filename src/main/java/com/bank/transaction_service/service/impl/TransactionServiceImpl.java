@@ -1,48 +1,63 @@
 package com.bank.transaction_service.service.impl;
 
-import com.bank.transaction_service.client.AccountClient;
 import com.bank.transaction_service.dto.request.*;
 import com.bank.transaction_service.dto.response.*;
+import com.bank.transaction_service.entity.LimitReservation;
 import com.bank.transaction_service.entity.Transaction;
-import com.bank.transaction_service.entity.TransactionLimit;
 import com.bank.transaction_service.entity.TransactionSaga;
 import com.bank.transaction_service.enums.*;
 import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.kafka.producer.TransactionStatusProducer;
-import com.bank.transaction_service.repository.TransactionLimitRepository;
 import com.bank.transaction_service.repository.TransactionRepository;
 import com.bank.transaction_service.security.AuthUser;
 import com.bank.transaction_service.service.TransactionService;
+import com.bank.transaction_service.util.IdGenerator;
+import com.bank.transaction_service.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Write path for customer transactions. There is deliberately no
+ * class-level transaction: remote calls to account-service run without a
+ * JDBC connection, and each persistence step (intake insert, saga step,
+ * final status) commits in its own short local transaction.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final Money IMPS_CHARGE = Money.ofRupees(5);
+    private static final Money RTGS_CHARGE = Money.ofRupees(25);
+    private static final Money RTGS_HIGH_VALUE_CHARGE = Money.ofRupees(30);
+    private static final Money RTGS_HIGH_VALUE_THRESHOLD = Money.ofRupees(200000);
+
     private final TransactionRepository transactionRepo;
-    private final TransactionLimitRepository limitRepo;
-    private final AccountClient accountClient;
     private final TransactionSagaService sagaService;
     private final TransactionStatusProducer statusProducer;
+    private final SagaDispatcher sagaDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final IntakePreflight preflight;
+    private final IdGenerator idGenerator;
+    private final IdempotencyGuard idempotencyGuard;
+    private final LimitUsageTracker limitUsage;
 
     @Override
     public CreditTransactionResponse credit(CreditTransactionRequest req) {
 
         AuthUser user = currentUser();
-        verifyOwnership(user.getCustomerId(), req.getAccountNumber());
+        sagaDispatcher.ensureCapacity();
 
         validateCategory(TransactionType.CREDIT, req.getCategory());
+        amountOf(req.getAmount());
 
         String idempotencyKey = generateIdempotencyKey(
                 req.getAccountNumber(),
@@ -52,15 +67,13 @@ public class TransactionServiceImpl implements TransactionService {
                 req.getDescription()
         );
 
-        transactionRepo.findByIdempotencyKey(idempotencyKey)
-                .ifPresent(tx -> {
-                    throw TransactionException.badRequest(
-                            "Duplicate request. Transaction already exists: " + tx.getTransactionId()
-                    );
-                });
+        idempotencyGuard.rejectIfRecent(idempotencyKey, user.getCustomerId());
 
-        BigDecimal previousBalance =
-                accountClient.getBalance(req.getAccountNumber());
+        BigDecimal previousBalance = preflight.check(
+                user.getCustomerId(),
+                req.getAccountNumber(),
+                null
+        ).previousBalance();
 
         Transaction tx = createTxn(
                 req.getAccountNumber(),
@@ -75,10 +88,8 @@ public class TransactionServiceImpl implements TransactionService {
         tx.setPreviousBalance(previousBalance);
         tx.setIdempotencyKey(idempotencyKey);
 
-        transactionRepo.save(tx);
-
-        TransactionSaga saga = sagaService.start(tx);
-        sagaService.processCredit(tx, saga);
+        TransactionSaga saga = persistIntake(tx, null);
+        sagaDispatcher.dispatch(() -> sagaService.processCredit(tx, saga));
 
         return CreditTransactionResponse.builder()
                 .success(true)
@@ -93,9 +104,10 @@ public class TransactionServiceImpl implements TransactionService {
     public DebitTransactionResponse debit(DebitTransactionRequest req) {
 
         AuthUser user = currentUser();
-        verifyOwnership(user.getCustomerId(), req.getAccountNumber());
+        sagaDispatcher.ensureCapacity();
 
         validateCategory(TransactionType.DEBIT, req.getCategory());
+        Money amount = amountOf(req.getAmount());
 
         String idempotencyKey = generateIdempotencyKey(
                 req.getAccountNumber(),
@@ -105,17 +117,13 @@ public class TransactionServiceImpl implements TransactionService {
                 req.getDescription()
         );
 
-        transactionRepo.findByIdempotencyKey(idempotencyKey)
-                .ifPresent(tx -> {
-                    throw TransactionException.badRequest(
-                            "Duplicate request. Transaction already exists: " + tx.getTransactionId()
-                    );
-                });
-
-        checkTransactionLimits(req.getAccountNumber(), req.getAmount());
+        idempotencyGuard.rejectIfRecent(idempotencyKey, user.getCustomerId());
 
-        BigDecimal previousBalance =
-                accountClient.getBalance(req.getAccountNumber());
+        IntakePreflight.Clearance clearance = preflight.check(
+                user.getCustomerId(),
+                req.getAccountNumber(),
+                amount
+        );
 
         Transaction tx = createTxn(
                 req.getAccountNumber(),
@@ -127,13 +135,12 @@ public class TransactionServiceImpl implements TransactionService {
 
         tx.setCategory(req.getCategory());
         tx.setDescription(req.getDescription());
-        tx.setPreviousBalance(previousBalance);
+        tx.setPreviousBalance(clearance.previousBalance());
         tx.setIdempotencyKey(idempotencyKey);
 
-        transactionRepo.save(tx);
-
-        TransactionSaga saga = sagaService.start(tx);
-        sagaService.processDebit(tx, saga);
+        LimitReservation reservation = limitUsage.reserve(tx, clearance.limit());
+        TransactionSaga saga = persistIntake(tx, reservation);
+        sagaDispatcher.dispatch(() -> sagaService.processDebit(tx, saga));
 
         return DebitTransactionResponse.builder()
                 .success(true)
@@ -148,7 +155,8 @@ public class TransactionServiceImpl implements TransactionService {
     public TransferInitiatedResponse transfer(TransferTransactionRequest req) {
 
         AuthUser user = currentUser();
-        verifyOwnership(user.getCustomerId(), req.getFromAccount());
+        sagaDispatcher.ensureCapacity();
+        Money amount = amountOf(req.getAmount());
         //new line
 //        validateCategory(TransactionType.TRANSFER, TransactionCategory.TRANSFER);
         String idempotencyKey = generateIdempotencyKey(
@@ -159,23 +167,20 @@ public class TransactionServiceImpl implements TransactionService {
                 req.getDescription()
         );
 
-        transactionRepo.findByIdempotencyKey(idempotencyKey)
-                .ifPresent(tx -> {
-                    throw TransactionException.badRequest(
-                            "Duplicate request. Transaction already exists: " + tx.getTransactionId()
-                    );
-                });
-
-        BigDecimal charges = calculateTransferCharges(
+        Money charges = calculateTransferCharges(
                 TransferMode.valueOf(req.getTransferType()),
-                req.getAmount()
+                amount
         );
 
-        BigDecimal totalDebit = req.getAmount().add(charges);
-        checkTransactionLimits(req.getFromAccount(), totalDebit);
+        Money totalDebit = amount.plus(charges);
+
+        idempotencyGuard.rejectIfRecent(idempotencyKey, user.getCustomerId());
 
-        BigDecimal previousBalance =
-                accountClient.getBalance(req.getFromAccount());
+        IntakePreflight.Clearance clearance = preflight.check(
+                user.getCustomerId(),
+                req.getFromAccount(),
+                totalDebit
+        );
 
         Transaction tx = Transaction.builder()
                 .transactionId(generateTxnId())
@@ -185,19 +190,18 @@ public class TransactionServiceImpl implements TransactionService {
                 .transactionType(TransactionType.TRANSFER)
                 .category(TransactionCategory.TRANSFER)
                 .amount(req.getAmount())
-                .charges(charges)
-                .totalAmount(totalDebit)
+                .charges(charges.toBigDecimal())
+                .totalAmount(totalDebit.toBigDecimal())
                 .status(TransactionStatus.IN_PROGRESS)
                 .createdAt(LocalDateTime.now())
-                .previousBalance(previousBalance)
+                .previousBalance(clearance.previousBalance())
                 .idempotencyKey(idempotencyKey)
                 .description(req.getDescription())
                 .build();
 
-        transactionRepo.save(tx);
-
-        TransactionSaga saga = sagaService.start(tx);
-        sagaService.processTransfer(tx, saga);
+        LimitReservation reservation = limitUsage.reserve(tx, clearance.limit());
+        TransactionSaga saga = persistIntake(tx, reservation);
+        sagaDispatcher.dispatch(() -> sagaService.processTransfer(tx, saga));
 
         return TransferInitiatedResponse.builder()
                 .success(true)
@@ -238,19 +242,43 @@ public class TransactionServiceImpl implements TransactionService {
                                   BigDecimal amount,
                                   BigDecimal charges) {
 
-        return transactionRepo.save(
-                Transaction.builder()
-                        .transactionId(generateTxnId())
-                        .accountNumber(account)
-                        .customerId(customerId)
-                        .transactionType(type)
-                        .amount(amount)
-                        .charges(charges)
-                        .totalAmount(amount.add(charges))
-                        .status(TransactionStatus.IN_PROGRESS)
-                        .createdAt(LocalDateTime.now())
-                        .build()
-        );
+        return Transaction.builder()
+                .transactionId(generateTxnId())
+                .accountNumber(account)
+                .customerId(customerId)
+                .transactionType(type)
+                .amount(amount)
+                .charges(charges)
+                .totalAmount(amount.add(charges))
+                .status(TransactionStatus.IN_PROGRESS)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Inserts the intake row without reading first; the idempotency
+     * constraint rejects a concurrent duplicate. A limit reservation is
+     * stored in the same transaction, and given back if it fails.
+     */
+    private TransactionSaga persistIntake(Transaction tx, LimitReservation reservation) {
+        try {
+            return idempotencyGuard.insert(tx, () -> transactionTemplate.execute(status -> {
+                transactionRepo.save(tx);
+                if (reservation != null) {
+                    limitUsage.store(reservation);
+                }
+                return sagaService.start(tx);
+            }));
+        } catch (RuntimeException e) {
+            cancel(reservation);
+            throw e;
+        }
+    }
+
+    private void cancel(LimitReservation reservation) {
+        if (reservation != null) {
+            limitUsage.cancel(reservation);
+        }
     }
 
     private AuthUser currentUser() {
@@ -260,23 +288,9 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     private String generateTxnId() {
-        return "TXN-" + System.currentTimeMillis();
+        return idGenerator.nextTransactionId();
     }
 
-    private void verifyOwnership(UUID customerId, String accountNumber) {
-        UUID owner = accountClient.getAccountOwner(accountNumber);
-        if (!owner.equals(customerId)) {
-            throw TransactionException.unauthorized("Not your account");
-        }
-    }
-
-    private void checkTransactionLimits(String accountNumber, BigDecimal amount) {
-        TransactionLimit limit = limitRepo.findById(accountNumber)
-                .orElse(new TransactionLimit(accountNumber));
-        if (amount.compareTo(limit.getPerTransactionLimit()) > 0) {
-            throw TransactionException.limitExceeded("Limit exceeded");
-        }
-    }
     private String generateIdempotencyKey(
             String account,
             BigDecimal amount,
@@ -285,15 +299,27 @@ public class TransactionServiceImpl implements TransactionService {
             String description
     ) {
         String raw = account + "|" + amount + "|" + type + "|" + category + "|" + description;
-        return DigestUtils.sha256Hex(raw);
+        return idempotencyGuard.keyFor(raw);
     }
-    private BigDecimal calculateTransferCharges(TransferMode mode, BigDecimal amount) {
+    /** Rejects a missing amount or one with a fraction of a paisa before anything is reserved. */
+    private static Money amountOf(BigDecimal amount) {
+        if (amount == null) {
+            throw TransactionException.badRequest("Amount is required");
+        }
+        try {
+            return Money.of(amount);
+        } catch (ArithmeticException e) {
+            throw TransactionException.badRequest("Amount can have at most two decimal places");
+        }
+    }
+
+    private Money calculateTransferCharges(TransferMode mode, Money amount) {
         return switch (mode) {
-            case IMPS -> BigDecimal.valueOf(5);
-            case NEFT, UPI -> BigDecimal.ZERO;
-            case RTGS -> amount.compareTo(BigDecimal.valueOf(200000)) > 0
-                    ? BigDecimal.valueOf(30)
-                    : BigDecimal.valueOf(25);
+            case IMPS -> IMPS_CHARGE;
+            case NEFT, UPI -> Money.ZERO;
+            case RTGS -> amount.isGreaterThan(RTGS_HIGH_VALUE_THRESHOLD)
+                    ? RTGS_HIGH_VALUE_CHARGE
+                    : RTGS_CHARGE;
         };
     }
     private void validateCategory(TransactionType type, TransactionCategory category) {
@@ -312,7 +338,8 @@ public class TransactionServiceImpl implements TransactionService {
             case DEBIT -> {
                 if (!(category == TransactionCategory.FOOD ||
                         category == TransactionCategory.SHOPPING ||
-                        category == TransactionCategory.BILL)) {
+                        category == TransactionCategory.BILL ||
+                        category == TransactionCategory.ATM)) {
                     throw TransactionException.badRequest("Invalid category for DEBIT");
                 }
             }
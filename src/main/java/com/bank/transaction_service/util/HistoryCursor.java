@@ -0,0 +1,45 @@
+package com.bank.transaction_service.util;
+
+import com.bank.transaction_service.exception.TransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an account's history: the {@code (createdAt, transactionId)}
+ * of the last row returned. The next page starts strictly after it in
+ * {@code createdAt DESC, transactionId DESC} order, so rows inserted
+ * meanwhile neither shift nor repeat pages the way OFFSET does.
+ *
+ * <p>Clients see it only as an opaque URL-safe token.
+ */
+public record HistoryCursor(LocalDateTime createdAt, String transactionId) {
+
+    private static final String VERSION = "1";
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + createdAt + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0 || !VERSION.equals(raw.substring(0, first))
+                    || second == raw.length() - 1) {
+                throw TransactionException.badRequest("Invalid cursor");
+            }
+            return new HistoryCursor(
+                    LocalDateTime.parse(raw.substring(first + 1, second)),
+                    raw.substring(second + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw TransactionException.badRequest("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bank.transaction_service.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount in rupees held as a {@code long} count of paise. Sums and
+ * comparisons on the hot paths are plain integer arithmetic instead of
+ * {@link BigDecimal} allocations; {@code Math.*Exact} turns an overflow
+ * into an {@link ArithmeticException} rather than a wrapped value.
+ *
+ * <p>Converts from {@link BigDecimal} only when exact, so an amount with
+ * a fraction of a paisa is rejected instead of being rounded. Serialises
+ * to JSON as a plain decimal number, and is stored through
+ * {@code MoneyConverter} as the same {@code DECIMAL} column a
+ * {@code BigDecimal} would use.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long PAISE_PER_RUPEE = 100;
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0 ? ZERO : new Money(paise);
+    }
+
+    public static Money ofRupees(long rupees) {
+        return ofPaise(Math.multiplyExact(rupees, PAISE_PER_RUPEE));
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has a fraction of a
+     *         paisa or does not fit in a {@code long} of paise
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofPaise(amount.movePointRight(SCALE).longValueExact());
+    }
+
+    /** {@code null} stays {@code null}; for optional columns and fields. */
+    public static Money ofNullable(BigDecimal amount) {
+        return amount == null ? null : of(amount);
+    }
+
+    public long paise() {
+        return paise;
+    }
+
+    public Money plus(Money other) {
+        return ofPaise(Math.addExact(paise, other.paise));
+    }
+
+    public Money minus(Money other) {
+        return ofPaise(Math.subtractExact(paise, other.paise));
+    }
+
+    public Money times(long factor) {
+        return ofPaise(Math.multiplyExact(paise, factor));
+    }
+
+    public Money negate() {
+        return ofPaise(Math.negateExact(paise));
+    }
+
+    public int signum() {
+        return Long.signum(paise);
+    }
+
+    public boolean isPositive() {
+        return paise > 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return paise > other.paise;
+    }
+
+    /** Always scale 2, e.g. {@code 1500.00}. */
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.paise == paise;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bank.transaction_service.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Half-open interval {@code [start, end)} of {@code createdAt} values.
+ * Queries compare the bare column against both bounds, so the
+ * {@code (accountNumber, createdAt)} index prefix serves them as a range
+ * scan; wrapping the column in {@code MONTH()} or {@code CAST(.. AS date)}
+ * would force every row of the account to be read and evaluated. The open
+ * end also avoids the {@code 23:59:59.999999} guesswork of a closed bound.
+ */
+public record TimeRange(LocalDateTime start, LocalDateTime end) {
+
+    public TimeRange {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Range bounds are required");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Range start must be before its end: " + start + " / " + end);
+        }
+    }
+
+    public static TimeRange ofDay(LocalDate day) {
+        return new TimeRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    public static TimeRange ofMonth(YearMonth month) {
+        return new TimeRange(month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    /** Whole days from {@code first} to {@code last}, both included. */
+    public static TimeRange ofDays(LocalDate first, LocalDate last) {
+        return new TimeRange(first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+    }
+
+    public boolean contains(LocalDateTime instant) {
+        return !instant.isBefore(start) && instant.isBefore(end);
+    }
+}
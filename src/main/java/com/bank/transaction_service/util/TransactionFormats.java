@@ -0,0 +1,45 @@
+package com.bank.transaction_service.util;
+
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Display formats shared by the history and statement responses.
+ * {@link DateTimeFormatter} is immutable and thread-safe, so one instance
+ * serves every row instead of a new pattern parse per call.
+ */
+public final class TransactionFormats {
+
+    private TransactionFormats() {}
+
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("hh:mm a");
+
+    public static final String DEBIT_PREFIX = "- ₹";
+    public static final String CREDIT_PREFIX = "+ ₹";
+
+    private static final Map<TransactionStatus, String> STATUS_MESSAGES = new EnumMap<>(TransactionStatus.class);
+
+    static {
+        for (TransactionStatus status : TransactionStatus.values()) {
+            STATUS_MESSAGES.put(status, switch (status) {
+                case SUCCESS -> "Transaction completed successfully";
+                case IN_PROGRESS -> "Transaction is being initiated";
+                case PENDING -> "Transaction is being processed";
+                case FAILED -> "Transaction failed. Amount will be refunded if debited";
+            });
+        }
+    }
+
+    public static String statusMessage(TransactionStatus status) {
+        return STATUS_MESSAGES.get(status);
+    }
+
+    public static String amountPrefix(TransactionType type) {
+        return type == TransactionType.DEBIT ? DEBIT_PREFIX : CREDIT_PREFIX;
+    }
+}
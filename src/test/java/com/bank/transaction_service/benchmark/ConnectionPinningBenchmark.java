@@ -0,0 +1,85 @@
+package com.bank.transaction_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-path throughput with a 10-connection pool, before and after the
+ * transaction split in {@code TransactionServiceImpl}.
+ *
+ * <p>{@code pinned} holds one connection from the ownership check to the
+ * final status, the way the old class-level {@code @Transactional} did.
+ * {@code split} only holds a connection around the three persistence
+ * steps (intake insert, saga step, final status). Remote calls are
+ * modelled as sleeps so the numbers isolate the pool as the bottleneck.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(64)
+public class ConnectionPinningBenchmark {
+
+    private static final int POOL_SIZE = 10;
+
+    @Param({"5", "20"})
+    public long remoteMillis;
+
+    @Param({"1"})
+    public long dbMillis;
+
+    private Semaphore pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new Semaphore(POOL_SIZE, true);
+    }
+
+    @Benchmark
+    public void pinned() throws InterruptedException {
+        pool.acquire();
+        try {
+            remote();           // ownership
+            remote();           // balance
+            db();               // intake insert
+            db();               // saga step
+            remote();           // credit/debit/transfer
+            remote();           // post-op balance
+            db();               // final status
+        } finally {
+            pool.release();
+        }
+    }
+
+    @Benchmark
+    public void split() throws InterruptedException {
+        remote();
+        remote();
+        inTransaction();
+        inTransaction();
+        remote();
+        remote();
+        inTransaction();
+    }
+
+    private void inTransaction() throws InterruptedException {
+        pool.acquire();
+        try {
+            db();
+        } finally {
+            pool.release();
+        }
+    }
+
+    private void remote() throws InterruptedException {
+        Thread.sleep(remoteMillis);
+    }
+
+    private void db() throws InterruptedException {
+        Thread.sleep(dbMillis);
+    }
+}
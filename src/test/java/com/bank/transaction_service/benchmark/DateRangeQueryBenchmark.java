@@ -0,0 +1,169 @@
+package com.bank.transaction_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly and daily lookups against a seeded {@code transactions} table
+ * in H2, indexed like production on
+ * {@code (account_number, created_at, transaction_id)}.
+ *
+ * <p>The {@code ...ByFunction} and {@code ...ByCast} variants are the old
+ * queries. Wrapping {@code created_at} in {@code MONTH()/YEAR()} or
+ * {@code CAST(.. AS DATE)} leaves only the account prefix of the index
+ * usable, so every row of the account is read and tested. The
+ * {@code ...ByRange} variants use the half-open {@code [start, end)}
+ * predicates the repository uses now, which seek straight to the range.
+ * Setup prints the plan of each query; the index condition shows the
+ * difference.
+ *
+ * <p>Rows go round-robin over 200 accounts, one per minute from
+ * 2022-01-01, so at 1.2M rows an account holds about 6,000 rows over
+ * 27 months: roughly 260 a month and 9 a day.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class DateRangeQueryBenchmark {
+
+    private static final int ACCOUNTS = 200;
+    private static final String ACCOUNT = "ACC0000000042";
+    private static final YearMonth MONTH = YearMonth.of(2023, 6);
+    private static final LocalDate DAY = LocalDate.of(2023, 6, 15);
+
+    private static final String MONTH_BY_FUNCTION = """
+            SELECT transaction_id, total_amount FROM transactions
+            WHERE account_number = ? AND MONTH(created_at) = ? AND YEAR(created_at) = ?
+            """;
+
+    private static final String DAY_BY_CAST = """
+            SELECT transaction_id, total_amount FROM transactions
+            WHERE account_number = ? AND CAST(created_at AS DATE) = ?
+            """;
+
+    private static final String BY_RANGE = """
+            SELECT transaction_id, total_amount FROM transactions
+            WHERE account_number = ? AND created_at >= ? AND created_at < ?
+            """;
+
+    @Param({"1200000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement monthByFunction;
+    private PreparedStatement dayByCast;
+    private PreparedStatement byRange;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:ranges;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS transactions");
+            ddl.execute("""
+                    CREATE TABLE transactions (
+                        transaction_id VARCHAR(30) PRIMARY KEY,
+                        account_number VARCHAR(20) NOT NULL,
+                        created_at TIMESTAMP NOT NULL,
+                        total_amount DECIMAL(19, 2) NOT NULL)
+                    """);
+            ddl.execute("""
+                    INSERT INTO transactions
+                    SELECT 'TXN' || LPAD(CAST(X AS VARCHAR), 19, '0'),
+                           'ACC' || LPAD(CAST(MOD(X, %d) AS VARCHAR), 10, '0'),
+                           DATEADD(MINUTE, X, TIMESTAMP '2022-01-01 00:00:00'),
+                           MOD(X, 90000) / 100.0 + 1
+                    FROM SYSTEM_RANGE(1, %d)
+                    """.formatted(ACCOUNTS, rows));
+            ddl.execute("CREATE INDEX idx_account_created_txn"
+                    + " ON transactions (account_number, created_at, transaction_id)");
+            ddl.execute("ANALYZE");
+        }
+
+        monthByFunction = connection.prepareStatement(MONTH_BY_FUNCTION);
+        monthByFunction.setString(1, ACCOUNT);
+        monthByFunction.setInt(2, MONTH.getMonthValue());
+        monthByFunction.setInt(3, MONTH.getYear());
+
+        dayByCast = connection.prepareStatement(DAY_BY_CAST);
+        dayByCast.setString(1, ACCOUNT);
+        dayByCast.setObject(2, DAY);
+
+        byRange = connection.prepareStatement(BY_RANGE);
+
+        printPlan(MONTH_BY_FUNCTION);
+        printPlan(DAY_BY_CAST);
+        printPlan(BY_RANGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int monthByFunction() throws SQLException {
+        return drain(monthByFunction);
+    }
+
+    @Benchmark
+    public int monthByRange() throws SQLException {
+        bindRange(MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay());
+        return drain(byRange);
+    }
+
+    @Benchmark
+    public int dayByCast() throws SQLException {
+        return drain(dayByCast);
+    }
+
+    @Benchmark
+    public int dayByRange() throws SQLException {
+        bindRange(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+        return drain(byRange);
+    }
+
+    private void bindRange(LocalDateTime start, LocalDateTime end) throws SQLException {
+        byRange.setString(1, ACCOUNT);
+        byRange.setTimestamp(2, Timestamp.valueOf(start));
+        byRange.setTimestamp(3, Timestamp.valueOf(end));
+    }
+
+    private static int drain(PreparedStatement query) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                count += rs.getString(1).length() + rs.getBigDecimal(2).signum();
+            }
+        }
+        return count;
+    }
+
+    private void printPlan(String sql) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            // The plan only depends on the predicate shape, not the values
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    System.out.println(rs.getString(1));
+                }
+            }
+        }
+    }
+}
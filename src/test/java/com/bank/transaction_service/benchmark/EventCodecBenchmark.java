@@ -0,0 +1,111 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.kafka.codec.EventCodec;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serde cost of the event codecs against the previous JSON path.
+ * {@code decodePaymentJsonViaString} is what {@code PaymentEventConsumer}
+ * used to do: copy the {@link ByteString} into a String and parse that.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EventCodecs json;
+    private EventCodecs binary;
+
+    private TransactionStatusEvent statusEvent;
+    private ByteString paymentJson;
+    private ByteString paymentBinary;
+    private String paymentBinaryType;
+    private List<PaymentEventMessage> paymentBatch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        json = new EventCodecs(objectMapper, "json", 1024);
+        binary = new EventCodecs(objectMapper, "binary", 1024);
+
+        statusEvent = new TransactionStatusEvent(
+                "TXN-0000123456789012345", "TRANSFER", "ACC1234567", "ACC7654321",
+                new BigDecimal("1500.50"), "SUCCESS", null,
+                LocalDateTime.now(), LocalDateTime.now());
+
+        PaymentEventMessage payment = payment(0);
+        EventCodec<PaymentEventMessage> binaryCodec = binary.writer(PaymentEventMessage.class);
+        paymentJson = ByteString.copyFrom(objectMapper.writeValueAsBytes(payment));
+        paymentBinary = ByteString.copyFrom(binaryCodec.encode(payment));
+        paymentBinaryType = binaryCodec.contentType();
+
+        paymentBatch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            paymentBatch.add(payment(i));
+        }
+
+        System.out.printf("%npayment event: json=%d B, binary=%d B; 100-event batch: json=%d B, binary=%d B%n",
+                paymentJson.size(), paymentBinary.size(),
+                json.batchWriter(PaymentEventMessage.class).encode(paymentBatch).length,
+                binary.batchWriter(PaymentEventMessage.class).encode(paymentBatch).length);
+    }
+
+    @Benchmark
+    public PaymentEventMessage decodePaymentJsonViaString() throws Exception {
+        return objectMapper.readValue(paymentJson.toStringUtf8(), PaymentEventMessage.class);
+    }
+
+    @Benchmark
+    public List<PaymentEventMessage> decodePaymentJson() {
+        return json.decode(PaymentEventMessage.class, null, paymentJson.asReadOnlyByteBuffer());
+    }
+
+    @Benchmark
+    public List<PaymentEventMessage> decodePaymentBinary() {
+        return binary.decode(PaymentEventMessage.class, paymentBinaryType, paymentBinary.asReadOnlyByteBuffer());
+    }
+
+    @Benchmark
+    public byte[] encodeStatusJsonMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(statusEvent);
+    }
+
+    @Benchmark
+    public byte[] encodeStatusBinary() {
+        return binary.writer(TransactionStatusEvent.class).encode(statusEvent);
+    }
+
+    @Benchmark
+    public byte[] encodePaymentBatchBinaryCompressed() {
+        return binary.batchWriter(PaymentEventMessage.class).encode(paymentBatch);
+    }
+
+    private static PaymentEventMessage payment(int i) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setEventId("evt_" + i);
+        event.setPaymentId("pay_" + i);
+        event.setPaymentIntentId("pi_" + i);
+        event.setUserId("6f1c2a4e-8d3b-4b7a-9c21-3e5f7a9b1d20");
+        event.setAmount(250_000L + i);
+        event.setCurrency("INR");
+        event.setStatus("SUCCESS");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.dto.response.TransactionResponse;
+import com.bank.transaction_service.dto.response.TransactionRowsSerializer;
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a 1,000-row history page to JSON. {@code legacy} is the old
+ * path: each row goes into a {@link TransactionResponse}, with two
+ * {@code DateTimeFormatter.ofPattern} calls and a concatenated amount
+ * string, and the list is then serialized. {@code streaming} writes the
+ * rows directly with {@link TransactionRowsSerializer}. Both write to a
+ * discarding stream. The benchmark profile runs with {@code -prof gc};
+ * {@code gc.alloc.rate.norm} gives the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class HistoryMappingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionRow> rows;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        TransactionStatus[] statuses = TransactionStatus.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new TransactionRow(
+                    String.format("TXN%019d", i),
+                    i % 3 == 0 ? TransactionType.CREDIT : TransactionType.DEBIT,
+                    "Card payment " + i,
+                    BigDecimal.valueOf(10_000 + i * 37L, 2),
+                    statuses[i % statuses.length],
+                    start.plusMinutes(i * 17L)));
+        }
+    }
+
+    @Benchmark
+    public void legacy() throws IOException {
+        List<TransactionResponse> responses = rows.stream().map(HistoryMappingBenchmark::legacyMap).toList();
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new LegacyPage(responses));
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new StreamingPage(rows));
+    }
+
+    record LegacyPage(List<TransactionResponse> transactions) {}
+
+    record StreamingPage(@JsonSerialize(using = TransactionRowsSerializer.class) List<TransactionRow> transactions) {}
+
+    private static TransactionResponse legacyMap(TransactionRow tx) {
+        String amountDisplay =
+                tx.transactionType() == TransactionType.DEBIT
+                        ? "- ₹" + tx.totalAmount()
+                        : "+ ₹" + tx.totalAmount();
+
+        return TransactionResponse.builder()
+                .transactionId(tx.transactionId())
+                .date(tx.createdAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
+                .time(tx.createdAt().format(DateTimeFormatter.ofPattern("hh:mm a")))
+                .type(tx.transactionType().name())
+                .description(tx.description())
+                .amount(amountDisplay)
+                .status(tx.status().name())
+                .statusMessage(switch (tx.status()) {
+                    case SUCCESS -> "Transaction completed successfully";
+                    case IN_PROGRESS -> "Transaction is being initiated";
+                    case PENDING -> "Transaction is being processed";
+                    case FAILED -> "Transaction failed. Amount will be refunded if debited";
+                })
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link IdGenerator} under contention. {@code nextId} is the
+ * raw CAS; {@code nextTransactionId} adds the zero-padded string the
+ * entities store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    private IdGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        generator = new IdGenerator(1);
+    }
+
+    @Benchmark
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String nextTransactionId() {
+        return generator.nextTransactionId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.service.impl.IdempotencyGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intake throughput while clients retry the same few requests at once.
+ *
+ * <p>{@code readThenWrite} is the old path: a SELECT on the idempotency
+ * key for every request, then an INSERT. {@code tiered} goes through
+ * {@link IdempotencyGuard}: recent duplicates are rejected in memory, new
+ * keys insert directly, and only a lost race pays for a lookup. The table
+ * is a map and each round trip is a sleep, so the numbers show how many
+ * round trips each path makes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(32)
+public class IdempotencyStormBenchmark {
+
+    /** Distinct requests being retried; smaller means a denser storm. */
+    @Param({"16", "1024"})
+    public int hotKeys;
+
+    @Param({"1"})
+    public long dbMillis;
+
+    private final UUID customerId = UUID.randomUUID();
+
+    private IdempotencyGuard guard;
+    private ConcurrentHashMap<String, String> table;
+    private String[] keys;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        guard = new IdempotencyGuard(null, new SimpleMeterRegistry(), 86_400, 1_000_000, 0.01, 100_000);
+        table = new ConcurrentHashMap<>();
+        keys = new String[hotKeys];
+        for (int i = 0; i < hotKeys; i++) {
+            keys[i] = guard.keyFor("ACC" + i + "|100|DEBIT|BILL|storm");
+        }
+    }
+
+    @Benchmark
+    public boolean readThenWrite() throws InterruptedException {
+        String key = nextKey();
+
+        db();                                   // SELECT ... WHERE idempotency_key = ?
+        if (table.containsKey(key)) {
+            return false;
+        }
+        db();                                   // INSERT
+        return table.putIfAbsent(key, "TXN") == null;
+    }
+
+    @Benchmark
+    public boolean tiered() throws InterruptedException {
+        String key = nextKey();
+
+        try {
+            guard.rejectIfRecent(key, customerId);
+        } catch (TransactionException duplicate) {
+            return false;
+        }
+
+        db();                                   // INSERT
+        if (table.putIfAbsent(key, "TXN") != null) {
+            db();                               // constraint violation: look up the winner
+        }
+        // The insert already ran above; this only records the accepted key
+        guard.insert(Transaction.builder()
+                .transactionId("TXN")
+                .customerId(customerId)
+                .idempotencyKey(key)
+                .build(), () -> null);
+        return true;
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    private void db() throws InterruptedException {
+        Thread.sleep(dbMillis);
+    }
+}
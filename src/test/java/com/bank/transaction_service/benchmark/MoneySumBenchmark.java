@@ -0,0 +1,73 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing 100,000 amounts. {@code bigDecimal} is the old accumulation
+ * with one {@code BigDecimal.add} allocation per amount; {@code money}
+ * adds the same values as {@link Money}, overflow-checked, and
+ * {@code paise} is the raw {@code long} loop {@code Money} reduces to.
+ * The amounts are converted up front, as the aggregation converts each
+ * group once and then only adds. Run with {@code -prof gc} to see the
+ * allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class MoneySumBenchmark {
+
+    private static final int AMOUNTS = 100_000;
+
+    private BigDecimal[] decimals;
+    private Money[] monies;
+    private long[] paise;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimals = new BigDecimal[AMOUNTS];
+        monies = new Money[AMOUNTS];
+        paise = new long[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            long value = random.nextLong(1, 10_000_000);
+            decimals[i] = BigDecimal.valueOf(value, 2);
+            monies[i] = Money.ofPaise(value);
+            paise[i] = value;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money total = Money.ZERO;
+        for (Money amount : monies) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long paise() {
+        long total = 0;
+        for (long amount : paise) {
+            total = Math.addExact(total, amount);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,145 @@
+package com.bank.transaction_service.benchmark;
+
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of loading one history page through Hibernate against in-memory H2.
+ * The benchmarks compare three ways of reading it:
+ * <ul>
+ *   <li>{@code entities}: full {@link Transaction} entities, as
+ *       {@code TransactionQueryServiceImpl} used to load them. Each row
+ *       is managed and snapshotted for dirty checking.</li>
+ *   <li>{@code entitiesReadOnly}: the same query with the read-only hint,
+ *       so no snapshot is kept. All columns are still fetched.</li>
+ *   <li>{@code projection}: the {@link TransactionRow} constructor
+ *       expression the repository uses now.</li>
+ * </ul>
+ * The benchmark profile runs with {@code -prof gc}; compare
+ * {@code gc.alloc.rate.norm} (bytes per page) alongside the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class TransactionReadBenchmark {
+
+    private static final String ACCOUNT = "ACC0000000001";
+
+    private static final String ENTITY_QUERY = """
+            SELECT t FROM Transaction t
+            WHERE t.accountNumber = :accountNumber
+            ORDER BY t.createdAt DESC
+            """;
+
+    private static final String ROW_QUERY = """
+            SELECT new com.bank.transaction_service.repository.projection.TransactionRow(
+                t.transactionId, t.transactionType, t.description, t.totalAmount, t.status, t.createdAt)
+            FROM Transaction t
+            WHERE t.accountNumber = :accountNumber
+            ORDER BY t.createdAt DESC
+            """;
+
+    @Param({"20", "100", "500"})
+    public int pageSize;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Transaction.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:reads;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        UUID customer = UUID.randomUUID();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < 2_000; i++) {
+                // 1 in 4 rows belongs to the benchmarked account
+                String account = i % 4 == 0 ? ACCOUNT : "ACC" + String.format("%010d", i % 97 + 2);
+                session.insert(transaction(i, account, customer, start.plusMinutes(i)));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Transaction> entities() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createSelectionQuery(ENTITY_QUERY, Transaction.class)
+                    .setParameter("accountNumber", ACCOUNT)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+        }
+    }
+
+    @Benchmark
+    public List<Transaction> entitiesReadOnly() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createSelectionQuery(ENTITY_QUERY, Transaction.class)
+                    .setParameter("accountNumber", ACCOUNT)
+                    .setMaxResults(pageSize)
+                    .setReadOnly(true)
+                    .getResultList();
+        }
+    }
+
+    @Benchmark
+    public List<TransactionRow> projection() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createSelectionQuery(ROW_QUERY, TransactionRow.class)
+                    .setParameter("accountNumber", ACCOUNT)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+        }
+    }
+
+    private static Transaction transaction(int i, String account, UUID customer, LocalDateTime createdAt) {
+        BigDecimal amount = BigDecimal.valueOf(100 + i % 900, 2);
+        return Transaction.builder()
+                .transactionId(String.format("TXN%019d", i))
+                .accountNumber(account)
+                .customerId(customer)
+                .transactionType(i % 2 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT)
+                .category(TransactionCategory.SHOPPING)
+                .amount(amount)
+                .charges(BigDecimal.ZERO)
+                .totalAmount(amount)
+                .description("Card payment " + i)
+                .status(TransactionStatus.SUCCESS)
+                .toAccount("ACC9999999999")
+                .previousBalance(BigDecimal.valueOf(50_000))
+                .currentBalance(BigDecimal.valueOf(50_000).subtract(amount))
+                .balanceDerived(false)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .createdAt(createdAt)
+                .completedAt(createdAt.plusSeconds(2))
+                .build();
+    }
+}
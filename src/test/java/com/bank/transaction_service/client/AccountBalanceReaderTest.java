@@ -0,0 +1,142 @@
+package com.bank.transaction_service.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceReaderTest {
+
+    private static final String ACCOUNT = "ACC123";
+
+    @Mock
+    private AccountClient accountClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentReads_shareOneRemoteCall() throws Exception {
+        AccountBalanceReader reader = new AccountBalanceReader(accountClient, meterRegistry, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(accountClient.getBalance(ACCOUNT)).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            release.await();
+            return BigDecimal.TEN;
+        });
+
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> reader.getBalance(ACCOUNT)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<BigDecimal> result : results) {
+            assertEquals(BigDecimal.TEN, result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(7, lookups("coalesced"));
+    }
+
+    @Test
+    void readAfterInvalidate_doesNotJoinEarlierCall() throws Exception {
+        AccountBalanceReader reader = new AccountBalanceReader(accountClient, meterRegistry, 0);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accountClient.getBalance(ACCOUNT))
+                .thenAnswer(inv -> {
+                    firstStarted.countDown();
+                    release.await();
+                    return BigDecimal.valueOf(100);
+                })
+                .thenReturn(BigDecimal.valueOf(40));
+
+        Future<BigDecimal> beforeWrite = pool.submit(() -> reader.getBalance(ACCOUNT));
+        assertTrue(firstStarted.await(1, TimeUnit.SECONDS));
+
+        reader.invalidate(ACCOUNT);
+        BigDecimal afterWrite = reader.getBalance(ACCOUNT);
+        release.countDown();
+
+        assertEquals(BigDecimal.valueOf(40), afterWrite);
+        assertEquals(BigDecimal.valueOf(100), beforeWrite.get(1, TimeUnit.SECONDS));
+        verify(accountClient, times(2)).getBalance(ACCOUNT);
+    }
+
+    @Test
+    void microTtl_reusesResultUntilInvalidated() {
+        AccountBalanceReader reader = new AccountBalanceReader(accountClient, meterRegistry, 60_000);
+        when(accountClient.getBalance(ACCOUNT)).thenReturn(BigDecimal.ONE, BigDecimal.TEN);
+
+        assertEquals(BigDecimal.ONE, reader.getBalance(ACCOUNT));
+        assertEquals(BigDecimal.ONE, reader.getBalance(ACCOUNT));
+
+        reader.invalidate(ACCOUNT);
+
+        assertEquals(BigDecimal.TEN, reader.getBalance(ACCOUNT));
+        assertEquals(1, lookups("cached"));
+        assertEquals(2, lookups("remote"));
+    }
+
+    @Test
+    void withoutTtl_sequentialReadsEachCallRemote() {
+        AccountBalanceReader reader = new AccountBalanceReader(accountClient, meterRegistry, 0);
+        when(accountClient.getBalance(ACCOUNT)).thenReturn(BigDecimal.ONE);
+
+        reader.getBalance(ACCOUNT);
+        reader.getBalance(ACCOUNT);
+
+        verify(accountClient, times(2)).getBalance(ACCOUNT);
+    }
+
+    @Test
+    void failure_isSharedWithJoinedReaders() throws Exception {
+        AccountBalanceReader reader = new AccountBalanceReader(accountClient, meterRegistry, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        when(accountClient.getBalance(ACCOUNT)).thenAnswer(inv -> {
+            release.await();
+            throw new IllegalStateException("down");
+        });
+
+        Future<BigDecimal> first = pool.submit(() -> reader.getBalance(ACCOUNT));
+        Future<BigDecimal> second = pool.submit(() -> reader.getBalance(ACCOUNT));
+        Thread.sleep(200);
+        release.countDown();
+
+        ExecutionException a = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        ExecutionException b = assertThrows(ExecutionException.class, () -> second.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, a.getCause());
+        assertInstanceOf(IllegalStateException.class, b.getCause());
+        verify(accountClient, times(1)).getBalance(ACCOUNT);
+    }
+
+    private double lookups(String outcome) {
+        return meterRegistry.counter("account.balance.lookups", "outcome", outcome).count();
+    }
+}
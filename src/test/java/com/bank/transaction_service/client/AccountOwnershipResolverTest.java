@@ -0,0 +1,123 @@
+package com.bank.transaction_service.client;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountOwnershipResolverTest {
+
+    private static final String ACCOUNT = "ACC123";
+
+    @Mock
+    private AccountClient accountClient;
+
+    private AtomicLong clock;
+    private AccountOwnershipResolver resolver;
+    private UUID owner;
+
+    @BeforeEach
+    void setup() {
+        clock = new AtomicLong(1_700_000_000_000L);
+        resolver = new AccountOwnershipResolver(
+                accountClient, new SimpleMeterRegistry(), 100, 600, 30, 5, clock::get);
+        owner = UUID.randomUUID();
+    }
+
+    @Test
+    void isOwnedBy_cachesOwner() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner);
+
+        assertTrue(resolver.isOwnedBy(ACCOUNT, owner));
+        assertTrue(resolver.isOwnedBy(ACCOUNT, owner));
+
+        verify(accountClient, times(1)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void isOwnedBy_staleMatchIsRefetched() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner, UUID.randomUUID());
+
+        assertTrue(resolver.isOwnedBy(ACCOUNT, owner));
+        clock.addAndGet(5_000);
+        assertFalse(resolver.isOwnedBy(ACCOUNT, owner));
+
+        verify(accountClient, times(2)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void findOwner_keepsOwnerForFullTtl() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner);
+
+        resolver.findOwner(ACCOUNT);
+        clock.addAndGet(60_000);
+        assertEquals(Optional.of(owner), resolver.findOwner(ACCOUNT));
+
+        verify(accountClient, times(1)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void isOwnedBy_mismatchRefetchesOnce() {
+        UUID newOwner = UUID.randomUUID();
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner, newOwner);
+
+        assertTrue(resolver.isOwnedBy(ACCOUNT, owner));
+        assertTrue(resolver.isOwnedBy(ACCOUNT, newOwner));
+        assertFalse(resolver.isOwnedBy(ACCOUNT, owner));
+
+        verify(accountClient, times(3)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void exists_unknownAccountIsNegativelyCached() {
+        when(accountClient.getAccountOwner(ACCOUNT))
+                .thenThrow(mock(FeignException.NotFound.class));
+
+        assertFalse(resolver.exists(ACCOUNT));
+        assertFalse(resolver.exists(ACCOUNT));
+        assertFalse(resolver.isOwnedBy(ACCOUNT, owner));
+
+        verify(accountClient, times(1)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void findOwner_otherFeignErrorsPropagate() {
+        when(accountClient.getAccountOwner(ACCOUNT))
+                .thenThrow(mock(FeignException.ServiceUnavailable.class));
+
+        assertThrows(FeignException.class, () -> resolver.findOwner(ACCOUNT));
+    }
+
+    @Test
+    void invalidate_dropsEntry() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner);
+
+        assertEquals(Optional.of(owner), resolver.findOwner(ACCOUNT));
+        resolver.invalidate(ACCOUNT);
+        assertEquals(Optional.of(owner), resolver.findOwner(ACCOUNT));
+
+        verify(accountClient, times(2)).getAccountOwner(ACCOUNT);
+    }
+
+    @Test
+    void invalidateAll_dropsEveryEntry() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(owner);
+
+        resolver.findOwner(ACCOUNT);
+        resolver.invalidateAll();
+        resolver.findOwner(ACCOUNT);
+
+        verify(accountClient, times(2)).getAccountOwner(ACCOUNT);
+    }
+}
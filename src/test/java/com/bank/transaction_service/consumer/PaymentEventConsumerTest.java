@@ -0,0 +1,137 @@
+package com.bank.transaction_service.consumer;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.kafka.codec.EventCodec;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.messaging.InboundMessage;
+import com.bank.transaction_service.messaging.MessagingBackend;
+import com.bank.transaction_service.service.PaymentEventBatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentEventConsumerTest {
+
+    @Mock
+    private MessagingBackend messagingBackend;
+    @Mock
+    private PaymentEventBatcher batcher;
+    @Mock
+    private PaymentFailureHandler failureHandler;
+    @Mock
+    private InboundMessage message;
+
+    private final EventCodecs eventCodecs =
+            new EventCodecs(new ObjectMapper().findAndRegisterModules(), "json", 1024);
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentEventConsumer consumer;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        consumer = new PaymentEventConsumer(messagingBackend, eventCodecs, batcher, failureHandler, meterRegistry);
+    }
+
+    @Test
+    void committedEvent_isAcked() {
+        PaymentEventMessage event = event("PAY-1", "U1");
+        givenJson(event);
+        when(batcher.submit(event)).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.onMessage(message);
+
+        verify(message).ack();
+        verify(failureHandler).onSuccess(message);
+        verifyNoMoreInteractions(failureHandler);
+    }
+
+    @Test
+    void ackWaitsForBatchCommit() {
+        CompletableFuture<Void> commit = new CompletableFuture<>();
+        givenJson(event("PAY-1", "U1"));
+        when(batcher.submit(any())).thenReturn(commit);
+
+        consumer.onMessage(message);
+        verify(message, never()).ack();
+
+        commit.complete(null);
+        verify(message).ack();
+    }
+
+    @Test
+    void failedEvent_goesToFailureHandler() {
+        IllegalArgumentException badUser = new IllegalArgumentException("bad user");
+        when(batcher.submit(any())).thenReturn(CompletableFuture.failedFuture(badUser));
+        givenJson(event("PAY-1", "not-a-uuid"));
+
+        consumer.onMessage(message);
+
+        verify(failureHandler).onFailure(message, badUser);
+        verify(message, never()).ack();
+        verify(message, never()).nack();
+    }
+
+    @Test
+    void refusedEvent_goesToFailureHandler() {
+        when(batcher.submit(any())).thenThrow(new RejectedExecutionException("shut down"));
+        givenJson(event("PAY-1", "U1"));
+
+        consumer.onMessage(message);
+
+        verify(failureHandler).onFailure(eq(message), any(RejectedExecutionException.class));
+    }
+
+    @Test
+    void undecodablePayload_goesToFailureHandlerWithoutProcessing() {
+        when(message.data()).thenReturn(ByteBuffer.wrap("{not json".getBytes(StandardCharsets.UTF_8)));
+
+        consumer.onMessage(message);
+
+        verify(failureHandler).onFailure(eq(message), any(IllegalArgumentException.class));
+        verifyNoInteractions(batcher);
+    }
+
+    @Test
+    void batch_isAckedOnlyAfterEveryEvent() {
+        EventCodec<List<PaymentEventMessage>> batch = eventCodecs.batchWriter(PaymentEventMessage.class);
+        List<PaymentEventMessage> events = List.of(event("PAY-1", "U1"), event("PAY-2", "U2"), event("PAY-3", "U1"));
+        when(message.data()).thenReturn(ByteBuffer.wrap(batch.encode(events)));
+        when(message.attribute(EventCodecs.CONTENT_TYPE_ATTRIBUTE)).thenReturn(batch.contentType());
+        when(batcher.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.onMessage(message);
+
+        verify(message).ack();
+        verify(batcher, times(3)).submit(any());
+        assertEquals(1, meterRegistry.counter("payment.events.consumed", "outcome", "ack").count());
+    }
+
+    private void givenJson(PaymentEventMessage event) {
+        when(message.data()).thenReturn(
+                ByteBuffer.wrap(eventCodecs.writer(PaymentEventMessage.class).encode(event)));
+    }
+
+    private static PaymentEventMessage event(String paymentId, String userId) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setPaymentId(paymentId);
+        event.setUserId(userId);
+        event.setAmount(100L);
+        event.setStatus("SUCCESS");
+        return event;
+    }
+}
@@ -0,0 +1,141 @@
+package com.bank.transaction_service.consumer;
+
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import com.bank.transaction_service.messaging.InboundMessage;
+import com.bank.transaction_service.repository.PaymentDeadLetterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentFailureHandlerTest {
+
+    @Mock
+    private PaymentDeadLetterRepository deadLetterRepo;
+    @Mock
+    private InboundMessage message;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentFailureHandler handler;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new PaymentFailureHandler(deadLetterRepo, meterRegistry, 10, 80, 3);
+        lenient().when(message.messageId()).thenReturn("m-1");
+        lenient().when(message.data()).thenAnswer(inv ->
+                ByteBuffer.wrap("{\"paymentId\":\"PAY-1\"}".getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+    }
+
+    @Test
+    void permanentFailure_isDeadLetteredAndAcked() {
+        handler.onFailure(message, new IllegalArgumentException("Invalid UUID string: x"));
+
+        ArgumentCaptor<PaymentDeadLetter> captor = ArgumentCaptor.forClass(PaymentDeadLetter.class);
+        verify(deadLetterRepo).save(captor.capture());
+        verify(message).ack();
+        verify(message, never()).nack();
+
+        PaymentDeadLetter deadLetter = captor.getValue();
+        assertEquals("m-1", deadLetter.getMessageId());
+        assertEquals("PERMANENT", deadLetter.getFailureKind());
+        assertEquals("{\"paymentId\":\"PAY-1\"}", new String(deadLetter.getPayload()));
+        assertEquals(1, meterRegistry.counter("payment.events.dead.lettered").count());
+    }
+
+    @Test
+    void retryableFailure_isNackedAfterBackoff() {
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+
+        verify(message, timeout(1000)).nack();
+        verify(message, never()).ack();
+        verifyNoInteractions(deadLetterRepo);
+        assertEquals(1, meterRegistry.counter("payment.events.failures", "kind", "retryable").count());
+    }
+
+    @Test
+    void retryableFailure_isDeadLetteredAfterMaxAttempts() {
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+        verifyNoInteractions(deadLetterRepo);
+
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+
+        verify(deadLetterRepo).save(any(PaymentDeadLetter.class));
+        verify(message).ack();
+    }
+
+    @Test
+    void success_resetsAttemptCount() {
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+        handler.onSuccess(message);
+
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+
+        verifyNoInteractions(deadLetterRepo);
+    }
+
+    @Test
+    void deadLetterWriteFailure_fallsBackToRedelivery() {
+        when(deadLetterRepo.save(any())).thenThrow(new QueryTimeoutException("db down"));
+
+        handler.onFailure(message, new IllegalArgumentException("bad"));
+
+        verify(message, never()).ack();
+        verify(message, timeout(1000)).nack();
+    }
+
+    @Test
+    void reportedDeliveryAttempt_takesPrecedenceOverLocalCount() {
+        when(message.deliveryAttempt()).thenReturn(3);
+
+        handler.onFailure(message, new QueryTimeoutException("timeout"));
+
+        verify(deadLetterRepo).save(argThat(deadLetter -> deadLetter.getAttempts() == 3));
+        verify(message).ack();
+    }
+
+    @Test
+    void backoff_doublesUpToMax() {
+        assertEquals(10, handler.backoffMillis(1));
+        assertEquals(20, handler.backoffMillis(2));
+        assertEquals(40, handler.backoffMillis(3));
+        assertEquals(80, handler.backoffMillis(4));
+        assertEquals(80, handler.backoffMillis(30));
+    }
+
+    @Test
+    void classify_separatesBadInputFromTransientErrors() {
+        assertEquals(FailureKind.PERMANENT, FailureKind.classify(new IllegalArgumentException()));
+        assertEquals(FailureKind.PERMANENT,
+                FailureKind.classify(new DateTimeParseException("bad", "x", 0)));
+        assertEquals(FailureKind.PERMANENT,
+                FailureKind.classify(new CompletionException(new NumberFormatException())));
+        assertEquals(FailureKind.RETRYABLE, FailureKind.classify(new QueryTimeoutException("t")));
+        assertEquals(FailureKind.RETRYABLE, FailureKind.classify(new IllegalStateException()));
+        // Programming errors can be fixed and redelivered
+        assertEquals(FailureKind.RETRYABLE, FailureKind.classify(new NullPointerException()));
+        assertEquals(FailureKind.RETRYABLE, FailureKind.classify(new ArithmeticException()));
+    }
+}
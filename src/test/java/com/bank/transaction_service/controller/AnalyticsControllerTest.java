@@ -2,6 +2,9 @@ package com.bank.transaction_service.controller;
 
 import com.bank.transaction_service.dto.response.BaseResponse;
 import com.bank.transaction_service.dto.response.TransactionAnalyticsResponse;
+import com.bank.transaction_service.dto.response.TransactionRangeAnalyticsResponse;
+import com.bank.transaction_service.enums.AnalyticsPeriod;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.service.AnalyticsService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import java.time.YearMonth;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,4 +53,45 @@ public class AnalyticsControllerTest {
                 result.getBody().getResultInfo().getResultMsg()
         );
     }
+
+    @Test
+    public void testRangeAnalytics_fromTo() {
+
+        TransactionRangeAnalyticsResponse response =
+                new TransactionRangeAnalyticsResponse();
+
+        when(analyticsService.getRangeAnalytics(
+                "ACC123", YearMonth.of(2025, 3), YearMonth.of(2026, 2)
+        )).thenReturn(response);
+
+        ResponseEntity<BaseResponse<TransactionRangeAnalyticsResponse>> result =
+                analyticsController.rangeAnalytics("ACC123", "2025-03", "2026-02", null);
+
+        Assertions.assertSame(response, result.getBody().getData());
+    }
+
+    @Test
+    public void testRangeAnalytics_period() {
+
+        TransactionRangeAnalyticsResponse response =
+                new TransactionRangeAnalyticsResponse();
+
+        when(analyticsService.getPeriodAnalytics(
+                "ACC123", AnalyticsPeriod.YEAR_TO_DATE
+        )).thenReturn(response);
+
+        ResponseEntity<BaseResponse<TransactionRangeAnalyticsResponse>> result =
+                analyticsController.rangeAnalytics("ACC123", null, null, "year-to-date");
+
+        Assertions.assertSame(response, result.getBody().getData());
+    }
+
+    @Test
+    public void testRangeAnalytics_missingRange() {
+
+        Assertions.assertThrows(TransactionException.class,
+                () -> analyticsController.rangeAnalytics("ACC123", "2025-03", null, null));
+
+        verifyNoInteractions(analyticsService);
+    }
 }
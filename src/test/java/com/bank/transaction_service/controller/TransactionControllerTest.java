@@ -4,19 +4,31 @@ import com.bank.transaction_service.dto.request.CreditTransactionRequest;
 import com.bank.transaction_service.dto.request.DebitTransactionRequest;
 import com.bank.transaction_service.dto.request.TransferTransactionRequest;
 import com.bank.transaction_service.dto.response.*;
+import com.bank.transaction_service.exception.GlobalExceptionHandler;
+import com.bank.transaction_service.security.AuthUser;
 import com.bank.transaction_service.service.TransactionService;
+import com.bank.transaction_service.service.impl.IdempotentResponseStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 public class TransactionControllerTest {
@@ -24,6 +36,10 @@ public class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Spy
+    private IdempotentResponseStore responseStore =
+            new IdempotentResponseStore(new ObjectMapper().findAndRegisterModules(), 1 << 20, 3600, 1000);
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -33,7 +49,7 @@ public class TransactionControllerTest {
         DebitTransactionResponse response = new DebitTransactionResponse();
         response.setMessage("hey");
         when(transactionService.debit(any())).thenReturn(response);
-        ResponseEntity<BaseResponse<DebitTransactionResponse>> debit = transactionController.debit(request);
+        ResponseEntity<BaseResponse<DebitTransactionResponse>> debit = transactionController.debit(request, null);
         Assertions.assertNotNull(debit);
         Assertions.assertEquals("Debit transaction initiated", debit.getBody().getResultInfo().getResultMsg());
     }
@@ -44,7 +60,7 @@ public class TransactionControllerTest {
         CreditTransactionResponse response = new CreditTransactionResponse();
         response.setMessage("COMPLETED");
         when(transactionService.credit(any())).thenReturn(response);
-        ResponseEntity<BaseResponse<CreditTransactionResponse>> credit = transactionController.credit(request);
+        ResponseEntity<BaseResponse<CreditTransactionResponse>> credit = transactionController.credit(request, null);
         Assertions.assertNotNull(credit);
         Assertions.assertEquals("Credit transaction initiated", credit.getBody().getResultInfo().getResultMsg());
     }
@@ -55,7 +71,7 @@ public class TransactionControllerTest {
         TransferInitiatedResponse response = new TransferInitiatedResponse();
         response.setStatus("COMPLETED");
         when(transactionService.transfer(any())).thenReturn(response);
-        ResponseEntity<BaseResponse<TransferInitiatedResponse>> transfer = transactionController.transfer(request);
+        ResponseEntity<BaseResponse<TransferInitiatedResponse>> transfer = transactionController.transfer(request, null);
         Assertions.assertNotNull(transfer);
         Assertions.assertEquals("Transfer transaction initiated", transfer.getBody().getResultInfo().getResultMsg());
     }
@@ -71,4 +87,56 @@ public class TransactionControllerTest {
         Assertions.assertEquals("Transaction status fetched successfully", getStatus.getBody().getResultInfo().getResultMsg());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testDebitRetryWithIdempotencyKeyReplaysFirstResponse() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthUser(UUID.randomUUID(), "user"), null)
+        );
+        try {
+            DebitTransactionRequest request = new DebitTransactionRequest();
+            DebitTransactionResponse response = new DebitTransactionResponse();
+            response.setTransactionId("TXN-1");
+            when(transactionService.debit(any())).thenReturn(response);
+
+            transactionController.debit(request, "retry-1");
+            ResponseEntity<BaseResponse<DebitTransactionResponse>> retry =
+                    transactionController.debit(request, "retry-1");
+
+            Assertions.assertEquals("TXN-1", retry.getBody().getData().getTransactionId());
+            verify(transactionService, times(1)).debit(any());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testDebitWithSubPaisaAmountIsRejected() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(transactionController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mvc.perform(post("/api/customer/transaction/debit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"accountNumber\":\"ACC123\",\"amount\":10.005,"
+                                + "\"category\":\"FOOD\",\"description\":\"Lunch\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    public void testTransferWithSubPaisaAmountIsRejected() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(transactionController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mvc.perform(post("/api/customer/transaction/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccount\":\"ACC123\",\"toAccount\":\"ACC999\",\"amount\":10.005,"
+                                + "\"transferType\":\"IMPS\",\"description\":\"Rent\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+}
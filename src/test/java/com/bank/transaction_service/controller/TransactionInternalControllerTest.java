@@ -1,9 +1,10 @@
 package com.bank.transaction_service.controller;
 
 import com.bank.transaction_service.dto.response.BaseResponse;
-import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionType;
-import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.service.TransactionTotals;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,7 +23,7 @@ import static org.mockito.Mockito.when;
 public class TransactionInternalControllerTest {
 
     @Mock
-    private TransactionRepository repo;
+    private TransactionAggregationService aggregationService;
 
     @InjectMocks
     private TransactionInternalController controller;
@@ -31,26 +32,17 @@ public class TransactionInternalControllerTest {
     public void testTotalDebit() {
         UUID customerId = UUID.randomUUID();
 
-        Transaction t1 = new Transaction();
-        t1.setTransactionType(TransactionType.DEBIT);
-        t1.setAmount(BigDecimal.valueOf(100));
+        when(aggregationService.customerTotals(customerId))
+                .thenReturn(new TransactionTotals(List.of(
+                        new TypeCategoryTotal(TransactionType.DEBIT, null, new BigDecimal("100.10"), 1),
+                        new TypeCategoryTotal(TransactionType.TRANSFER, null, new BigDecimal("200.20"), 1),
+                        new TypeCategoryTotal(TransactionType.CREDIT, null, new BigDecimal("500"), 1))));
 
-        Transaction t2 = new Transaction();
-        t2.setTransactionType(TransactionType.TRANSFER);
-        t2.setAmount(BigDecimal.valueOf(200));
-
-        Transaction t3 = new Transaction();
-        t3.setTransactionType(TransactionType.CREDIT);
-        t3.setAmount(BigDecimal.valueOf(500));
-
-        when(repo.findByCustomerId(customerId))
-                .thenReturn(List.of(t1, t2, t3));
-
-        ResponseEntity<BaseResponse<Double>> response =
+        ResponseEntity<BaseResponse<BigDecimal>> response =
                 controller.totalDebit(customerId);
 
         Assertions.assertNotNull(response);
-        Assertions.assertEquals(300.0, response.getBody().getData());
+        Assertions.assertEquals(new BigDecimal("300.30"), response.getBody().getData());
         Assertions.assertEquals(
                 "Total debit calculated successfully",
                 response.getBody().getResultInfo().getResultMsg()
@@ -61,13 +53,13 @@ public class TransactionInternalControllerTest {
     public void testTotalDebit_EmptyList() {
         UUID customerId = UUID.randomUUID();
 
-        when(repo.findByCustomerId(customerId))
-                .thenReturn(List.of());
+        when(aggregationService.customerTotals(customerId))
+                .thenReturn(TransactionTotals.EMPTY);
 
-        ResponseEntity<BaseResponse<Double>> response =
+        ResponseEntity<BaseResponse<BigDecimal>> response =
                 controller.totalDebit(customerId);
 
-        Assertions.assertEquals(0.0, response.getBody().getData());
+        Assertions.assertEquals(new BigDecimal("0.00"), response.getBody().getData());
         Assertions.assertEquals(
                 "Total debit calculated successfully",
                 response.getBody().getResultInfo().getResultMsg()
@@ -1,8 +1,12 @@
 package com.bank.transaction_service.controller;
 
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
 import com.bank.transaction_service.dto.response.BaseResponse;
+import com.bank.transaction_service.dto.response.RemainingLimitResponse;
 import com.bank.transaction_service.dto.response.TransactionLimitResponse;
+import com.bank.transaction_service.exception.GlobalExceptionHandler;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.security.AuthUser;
 import com.bank.transaction_service.service.TransactionLimitService;
 import com.bank.transaction_service.util.AppConstants;
@@ -10,14 +14,21 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 public class TransactionLimitControllerTest {
@@ -25,11 +36,16 @@ public class TransactionLimitControllerTest {
     @Mock
     private TransactionLimitService limitService;
 
+    @Mock
+    private AccountOwnershipResolver ownershipResolver;
+
     @InjectMocks
     private TransactionLimitController controller;
 
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
     private void mockValidAuth() {
-        AuthUser user = mock(AuthUser.class);
+        AuthUser user = new AuthUser(CUSTOMER_ID, "ROLE_CUSTOMER");
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.isAuthenticated()).thenReturn(true);
@@ -63,6 +79,36 @@ public class TransactionLimitControllerTest {
         );
     }
 
+    @Test
+    public void testGetRemaining() {
+        mockValidAuth();
+        when(ownershipResolver.isOwnedBy("ACC123", CUSTOMER_ID)).thenReturn(true);
+        RemainingLimitResponse response = new RemainingLimitResponse();
+
+        when(limitService.remaining("ACC123")).thenReturn(response);
+
+        ResponseEntity<BaseResponse<RemainingLimitResponse>> result =
+                controller.getRemaining("ACC123");
+
+        Assertions.assertSame(response, result.getBody().getData());
+        Assertions.assertEquals(
+                "Remaining limits fetched successfully",
+                result.getBody().getResultInfo().getResultMsg()
+        );
+    }
+
+    @Test
+    public void testGetRemaining_otherCustomersAccountIsForbidden() {
+        mockValidAuth();
+        when(ownershipResolver.isOwnedBy("ACC999", CUSTOMER_ID)).thenReturn(false);
+
+        TransactionException ex = Assertions.assertThrows(TransactionException.class, () ->
+                controller.getRemaining("ACC999")
+        );
+        Assertions.assertEquals("FORBIDDEN", ex.getErrorCode());
+        verifyNoInteractions(limitService);
+    }
+
     @Test
     public void testUpdateLimits() {
         mockValidAuth();
@@ -123,4 +169,20 @@ public class TransactionLimitControllerTest {
                 controller.getLimits("ACC123")
         );
     }
+    @Test
+    public void testUpdateLimitsWithSubPaisaValueIsRejected() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mvc.perform(put("/api/customer/limits")
+                        .param("accountNumber", "ACC123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dailyLimit\":50000.001,\"perTransactionLimit\":10000,"
+                                + "\"monthlyLimit\":200000,\"atmLimit\":20000,\"onlineShoppingLimit\":30000}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(limitService);
+    }
+
 }
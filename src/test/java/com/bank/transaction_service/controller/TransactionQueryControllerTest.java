@@ -1,20 +1,35 @@
 package com.bank.transaction_service.controller;
 
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.dto.response.BaseResponse;
 import com.bank.transaction_service.dto.response.MiniStatementResponse;
+import com.bank.transaction_service.dto.response.TransactionFeedResponse;
 import com.bank.transaction_service.dto.response.TransactionHistoryResponse;
+import com.bank.transaction_service.enums.StatementFormat;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.security.AuthUser;
+import com.bank.transaction_service.service.StatementExportService;
 import com.bank.transaction_service.service.TransactionQueryService;
 import com.bank.transaction_service.util.AppConstants;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,11 +40,19 @@ public class TransactionQueryControllerTest {
     @Mock
     private TransactionQueryService queryService;
 
+    @Mock
+    private StatementExportService exportService;
+
+    @Mock
+    private AccountOwnershipResolver ownershipResolver;
+
     @InjectMocks
     private TransactionQueryController controller;
 
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
     private void mockValidAuth() {
-        AuthUser user = mock(AuthUser.class);
+        AuthUser user = new AuthUser(CUSTOMER_ID, "ROLE_CUSTOMER");
 
         Authentication authentication = mock(Authentication.class);
         when(authentication.isAuthenticated()).thenReturn(true);
@@ -65,6 +88,21 @@ public class TransactionQueryControllerTest {
         );
     }
 
+    @Test
+    public void testHistoryFeed() {
+        mockValidAuth();
+        TransactionFeedResponse response =
+                new TransactionFeedResponse();
+
+        when(queryService.getHistoryFeed("ACC123", 20, "abc"))
+                .thenReturn(response);
+
+        ResponseEntity<BaseResponse<TransactionFeedResponse>> result =
+                controller.historyFeed("ACC123", 20, "abc");
+
+        Assertions.assertSame(response, result.getBody().getData());
+    }
+
     @Test
     public void testMiniStatement() {
         mockValidAuth();
@@ -84,6 +122,112 @@ public class TransactionQueryControllerTest {
         );
     }
 
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 12, 31);
+
+    @Test
+    public void testExportStatement_plain() throws Exception {
+        mockValidAuth();
+        StatementExportService.ExportSlot slot = mock(StatementExportService.ExportSlot.class);
+        when(ownershipResolver.isOwnedBy("ACC123", CUSTOMER_ID)).thenReturn(true);
+        when(exportService.acquireSlot()).thenReturn(slot);
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(4).write("header\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(exportService).export(eq("ACC123"), eq(FROM), eq(TO), eq(StatementFormat.CSV), any());
+
+        ResponseEntity<StreamingResponseBody> result =
+                controller.exportStatement("ACC123", FROM, TO, "csv", null);
+
+        HttpHeaders headers = result.getHeaders();
+        Assertions.assertEquals("text/csv", headers.getContentType().toString());
+        Assertions.assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertTrue(headers.getFirst(HttpHeaders.CONTENT_DISPOSITION)
+                .contains("statement-2024-01-01-2024-12-31.csv"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        verify(slot, never()).close();
+        result.getBody().writeTo(out);
+        Assertions.assertEquals("header\n", out.toString(StandardCharsets.UTF_8));
+        verify(slot).close();
+    }
+
+    @Test
+    public void testExportStatement_gzip() throws Exception {
+        mockValidAuth();
+        when(ownershipResolver.isOwnedBy("ACC123", CUSTOMER_ID)).thenReturn(true);
+        doAnswer(inv -> {
+            inv.<OutputStream>getArgument(4).write("{}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(eq("ACC123"), eq(FROM), eq(TO), eq(StatementFormat.NDJSON), any());
+
+        ResponseEntity<StreamingResponseBody> result =
+                controller.exportStatement("ACC123", FROM, TO, "ndjson", "br, gzip;q=0.8");
+
+        Assertions.assertEquals("gzip", result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getBody().writeTo(out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            Assertions.assertEquals("{}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testExportStatement_invalidRangeFailsBeforeStreaming() {
+        mockValidAuth();
+        doThrow(TransactionException.badRequest("from must not be after to"))
+                .when(exportService).validateRange(TO, FROM);
+
+        Assertions.assertThrows(TransactionException.class, () ->
+                controller.exportStatement("ACC123", TO, FROM, "csv", null)
+        );
+    }
+
+    @Test
+    public void testExportStatement_otherCustomersAccountIsForbidden() {
+        mockValidAuth();
+        when(ownershipResolver.isOwnedBy("ACC999", CUSTOMER_ID)).thenReturn(false);
+
+        TransactionException ex = Assertions.assertThrows(TransactionException.class, () ->
+                controller.exportStatement("ACC999", FROM, TO, "csv", null)
+        );
+        Assertions.assertEquals("FORBIDDEN", ex.getErrorCode());
+        verify(exportService, never()).acquireSlot();
+    }
+
+    @Test
+    public void testExportStatement_busyIsRejectedBeforeStreaming() {
+        mockValidAuth();
+        when(ownershipResolver.isOwnedBy("ACC123", CUSTOMER_ID)).thenReturn(true);
+        when(exportService.acquireSlot())
+                .thenThrow(TransactionException.tooManyRequests("Too many statement exports in progress"));
+
+        TransactionException ex = Assertions.assertThrows(TransactionException.class, () ->
+                controller.exportStatement("ACC123", FROM, TO, "csv", null)
+        );
+        Assertions.assertEquals("TOO_MANY_REQUESTS", ex.getErrorCode());
+    }
+
+    @Test
+    public void testExportStatement_unknownFormat() {
+        mockValidAuth();
+
+        Assertions.assertThrows(TransactionException.class, () ->
+                controller.exportStatement("ACC123", FROM, TO, "xlsx", null)
+        );
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        Assertions.assertTrue(TransactionQueryController.acceptsGzip("gzip, deflate"));
+        Assertions.assertTrue(TransactionQueryController.acceptsGzip("GZIP;q=0.5"));
+        Assertions.assertFalse(TransactionQueryController.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(TransactionQueryController.acceptsGzip("br, deflate"));
+        Assertions.assertFalse(TransactionQueryController.acceptsGzip(null));
+    }
+
     @Test
     public void testUnauthorized_WhenAuthNull() {
         SecurityContext context = mock(SecurityContext.class);
@@ -0,0 +1,85 @@
+package com.bank.transaction_service.dto.response;
+
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionRowsSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void rows_serializeLikeTransactionResponse() throws Exception {
+        TransactionRow debit = new TransactionRow("TXN1", TransactionType.DEBIT, "Rent",
+                new BigDecimal("15000.00"), TransactionStatus.SUCCESS, LocalDateTime.of(2024, 3, 5, 21, 7));
+        TransactionRow credit = new TransactionRow("TXN2", TransactionType.CREDIT, null,
+                new BigDecimal("12.50"), TransactionStatus.PENDING, LocalDateTime.of(2024, 3, 6, 9, 30));
+
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(
+                TransactionHistoryResponse.builder().transactions(List.of(debit, credit)).build()))
+                .get("transactions");
+
+        JsonNode expected = objectMapper.valueToTree(List.of(legacy(debit), legacy(credit)));
+        assertEquals(expected, written);
+        assertEquals("- ₹15000.00", written.get(0).get("amount").asText());
+        assertEquals("+ ₹12.50", written.get(1).get("amount").asText());
+    }
+
+    @Test
+    void emptyPage_isEmptyArray() throws Exception {
+        String json = objectMapper.writeValueAsString(
+                TransactionFeedResponse.builder().transactions(List.of()).build());
+
+        assertTrue(json.contains("\"transactions\":[]"), json);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "SUCCESS,Transaction completed successfully",
+            "IN_PROGRESS,Transaction is being initiated",
+            "PENDING,Transaction is being processed",
+            "FAILED,Transaction failed. Amount will be refunded if debited"
+    })
+    void statusMessages_exact(TransactionStatus status, String expectedMessage) throws Exception {
+        TransactionRow row = new TransactionRow("TXN1", TransactionType.CREDIT, "Test",
+                BigDecimal.valueOf(1000), status, LocalDateTime.now());
+
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsString(
+                TransactionFeedResponse.builder().transactions(List.of(row)).build()));
+
+        assertEquals(expectedMessage, written.get("transactions").get(0).get("statusMessage").asText());
+    }
+
+    /** The per-row mapping the history endpoint used before the serializer. */
+    private static TransactionResponse legacy(TransactionRow tx) {
+        return TransactionResponse.builder()
+                .transactionId(tx.transactionId())
+                .date(tx.createdAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
+                .time(tx.createdAt().format(DateTimeFormatter.ofPattern("hh:mm a")))
+                .type(tx.transactionType().name())
+                .description(tx.description())
+                .amount(tx.transactionType() == TransactionType.DEBIT
+                        ? "- ₹" + tx.totalAmount()
+                        : "+ ₹" + tx.totalAmount())
+                .status(tx.status().name())
+                .statusMessage(switch (tx.status()) {
+                    case SUCCESS -> "Transaction completed successfully";
+                    case IN_PROGRESS -> "Transaction is being initiated";
+                    case PENDING -> "Transaction is being processed";
+                    case FAILED -> "Transaction failed. Amount will be refunded if debited";
+                })
+                .build();
+    }
+}
@@ -66,4 +66,24 @@ public class TransactionExceptionTest {
         assertEquals("EXTERNAL_SERVICE_ERROR", ex.getErrorCode());
         assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
     }
+
+    @Test
+    void testTooManyRequests() {
+        TransactionException ex =
+                TransactionException.tooManyRequests("Busy");
+
+        assertEquals("Busy", ex.getMessage());
+        assertEquals("TOO_MANY_REQUESTS", ex.getErrorCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus());
+    }
+
+    @Test
+    void testConflict() {
+        TransactionException ex =
+                TransactionException.conflict("In progress");
+
+        assertEquals("In progress", ex.getMessage());
+        assertEquals("CONFLICT", ex.getErrorCode());
+        assertEquals(HttpStatus.CONFLICT, ex.getHttpStatus());
+    }
 }
@@ -0,0 +1,154 @@
+package com.bank.transaction_service.kafka.codec;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final EventCodecs json = new EventCodecs(objectMapper, "json", 1024);
+    private final EventCodecs binary = new EventCodecs(objectMapper, "binary", 1024);
+
+    @Test
+    void binaryStatusEvent_roundTripsFromReadOnlyBuffer() {
+        TransactionStatusEvent event = statusEvent("TXN-1", null);
+        EventCodec<TransactionStatusEvent> codec = binary.writer(TransactionStatusEvent.class);
+
+        ByteBuffer wire = ByteString.copyFrom(codec.encode(event)).asReadOnlyByteBuffer();
+
+        assertEquals(List.of(event), binary.decode(TransactionStatusEvent.class, codec.contentType(), wire));
+    }
+
+    @Test
+    void binaryStatusEvent_isSmallerThanJson() {
+        TransactionStatusEvent event = statusEvent("TXN-1", "Insufficient balance");
+
+        int jsonSize = json.writer(TransactionStatusEvent.class).encode(event).length;
+        int binarySize = binary.writer(TransactionStatusEvent.class).encode(event).length;
+
+        assertTrue(binarySize * 2 < jsonSize, binarySize + " vs " + jsonSize);
+    }
+
+    @Test
+    void binaryDecimal_keepsScaleAndWideValues() {
+        BigDecimal wide = new BigDecimal("123456789012345678901234567890.12");
+        TransactionStatusEvent event = new TransactionStatusEvent(
+                "TXN-2", "CREDIT", "ACC1", null, wide, "SUCCESS", null, null, null);
+        EventCodec<TransactionStatusEvent> codec = binary.writer(TransactionStatusEvent.class);
+
+        TransactionStatusEvent decoded = codec.decode(ByteBuffer.wrap(codec.encode(event)));
+
+        assertEquals(wide, decoded.amount());
+        assertEquals(2, decoded.amount().scale());
+    }
+
+    @Test
+    void binaryPaymentEvent_roundTrips() {
+        PaymentEventMessage event = paymentEvent("PAY-1");
+        EventCodec<PaymentEventMessage> codec = binary.writer(PaymentEventMessage.class);
+
+        ByteBuffer wire = ByteString.copyFrom(codec.encode(event)).asReadOnlyByteBuffer();
+
+        assertEquals(List.of(event), json.decode(PaymentEventMessage.class, codec.contentType(), wire));
+    }
+
+    @Test
+    void missingContentType_isReadAsJson() {
+        byte[] payload = ("{\"eventId\":\"E1\",\"paymentId\":\"PAY-1\",\"userId\":\"U1\","
+                + "\"amount\":500,\"currency\":\"INR\",\"status\":\"SUCCESS\"}").getBytes(StandardCharsets.UTF_8);
+
+        List<PaymentEventMessage> events = json.decode(PaymentEventMessage.class, null,
+                ByteString.copyFrom(payload).asReadOnlyByteBuffer());
+
+        assertEquals("PAY-1", events.get(0).getPaymentId());
+        assertEquals(500L, events.get(0).getAmount());
+    }
+
+    @Test
+    void largeBatch_isCompressedAndRoundTrips() {
+        List<PaymentEventMessage> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(paymentEvent("PAY-" + i));
+        }
+        EventCodec<List<PaymentEventMessage>> codec = binary.batchWriter(PaymentEventMessage.class);
+        int uncompressed = events.stream()
+                .mapToInt(e -> binary.writer(PaymentEventMessage.class).encode(e).length)
+                .sum();
+
+        byte[] payload = codec.encode(events);
+
+        assertTrue(payload.length < uncompressed / 2, payload.length + " vs " + uncompressed);
+        assertEquals(events, json.decode(PaymentEventMessage.class, codec.contentType(),
+                ByteString.copyFrom(payload).asReadOnlyByteBuffer()));
+    }
+
+    @Test
+    void smallBatch_isNotCompressed() {
+        EventCodec<List<PaymentEventMessage>> codec = json.batchWriter(PaymentEventMessage.class);
+        List<PaymentEventMessage> events = List.of(paymentEvent("PAY-1"), paymentEvent("PAY-2"));
+
+        byte[] payload = codec.encode(events);
+
+        assertEquals(0, payload[1]);
+        assertEquals("application/json;batch", codec.contentType());
+        assertEquals(events, binary.decode(PaymentEventMessage.class, codec.contentType(), ByteBuffer.wrap(payload)));
+    }
+
+    @Test
+    void unknownSchemaVersion_isRejected() {
+        EventCodec<TransactionStatusEvent> codec = binary.writer(TransactionStatusEvent.class);
+        byte[] payload = codec.encode(statusEvent("TXN-1", null));
+        payload[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(payload)));
+    }
+
+    @Test
+    void truncatedPayload_isRejected() {
+        EventCodec<TransactionStatusEvent> codec = binary.writer(TransactionStatusEvent.class);
+        byte[] payload = codec.encode(statusEvent("TXN-1", null));
+        byte[] truncated = Arrays.copyOf(payload, payload.length / 2);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(truncated)));
+    }
+
+    @Test
+    void unknownContentType_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> json.decode(
+                PaymentEventMessage.class, "text/plain", ByteBuffer.wrap(new byte[0])));
+    }
+
+    private static TransactionStatusEvent statusEvent(String id, String failureReason) {
+        return new TransactionStatusEvent(
+                id, "TRANSFER", "ACC1234567", "ACC7654321", new BigDecimal("1500.50"),
+                failureReason == null ? "SUCCESS" : "FAILED", failureReason,
+                LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000),
+                LocalDateTime.of(2025, 3, 1, 10, 15, 31));
+    }
+
+    private static PaymentEventMessage paymentEvent(String paymentId) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setEventId("EVT-" + paymentId);
+        event.setPaymentId(paymentId);
+        event.setPaymentIntentId("pi_" + paymentId);
+        event.setUserId("6f1c2a4e-8d3b-4b7a-9c21-3e5f7a9b1d20");
+        event.setAmount(250_000L);
+        event.setCurrency("INR");
+        event.setStatus("SUCCESS");
+        event.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 0));
+        return event;
+    }
+}
@@ -0,0 +1,154 @@
+package com.bank.transaction_service.kafka.producer;
+
+import com.bank.transaction_service.entity.OutboxEvent;
+import com.bank.transaction_service.repository.OutboxEventRepository;
+import com.bank.transaction_service.messaging.MessagingBackend;
+import com.bank.transaction_service.messaging.OutboundMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepo;
+    @Mock
+    private MessagingBackend messagingBackend;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay relay;
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+            inTransaction.set(true);
+            try {
+                return inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        relay = new OutboxRelay(outboxRepo, messagingBackend, transactionTemplate,
+                new SimpleMeterRegistry(), 2, 5, 1000, 30_000, 24);
+    }
+
+    @Test
+    void drain_publishesBatchAndMarksSent() {
+        when(outboxRepo.lockPendingBatch(eq(2), any()))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of());
+        when(messagingBackend.publish(eq("transaction-status"), any(OutboundMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture("m"));
+
+        relay.drain();
+
+        verify(outboxRepo).markSent(eq(List.of(1L, 2L)), any());
+        verify(outboxRepo, never()).markFailed(any(), any());
+        verify(outboxRepo, times(2)).lockPendingBatch(eq(2), any());
+    }
+
+    @Test
+    void drain_claimsBatchAndPublishesOutsideTransaction() {
+        when(outboxRepo.lockPendingBatch(eq(2), any())).thenReturn(List.of(event(1L)));
+        when(messagingBackend.publish(eq("transaction-status"), any(OutboundMessage.class)))
+                .thenAnswer(inv -> {
+                    assertFalse(inTransaction.get(), "published while a transaction was open");
+                    return CompletableFuture.completedFuture("m");
+                });
+
+        relay.drain();
+
+        InOrder order = inOrder(outboxRepo, messagingBackend);
+        order.verify(outboxRepo).claim(eq(List.of(1L)), any());
+        order.verify(messagingBackend).publish(eq("transaction-status"), any(OutboundMessage.class));
+        order.verify(outboxRepo).markSent(eq(List.of(1L)), any());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void leaseNotLongerThanPublishTimeout_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OutboxRelay(outboxRepo, messagingBackend,
+                transactionTemplate, new SimpleMeterRegistry(), 2, 5, 1000, 1000, 24));
+    }
+
+    @Test
+    void drain_failedPublishStaysPending() {
+        when(outboxRepo.lockPendingBatch(eq(2), any())).thenReturn(List.of(event(1L), event(2L)), List.of());
+        when(messagingBackend.publish(eq("transaction-status"), any(OutboundMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture("m"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+
+        relay.drain();
+
+        verify(outboxRepo).markSent(eq(List.of(1L)), any());
+        verify(outboxRepo).markFailed(eq(List.of(2L)), contains("unavailable"));
+    }
+
+    @Test
+    void drain_partialBatchEndsRun() {
+        when(outboxRepo.lockPendingBatch(eq(2), any())).thenReturn(List.of(event(1L)));
+        when(messagingBackend.publish(eq("transaction-status"), any(OutboundMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture("m"));
+
+        relay.drain();
+
+        verify(outboxRepo, times(1)).lockPendingBatch(eq(2), any());
+    }
+
+    @Test
+    void drain_emptyOutboxPublishesNothing() {
+        when(outboxRepo.lockPendingBatch(eq(2), any())).thenReturn(List.of());
+
+        relay.drain();
+
+        verifyNoInteractions(messagingBackend);
+    }
+
+    @Test
+    void publish_carriesPayloadAndAttributes() {
+        when(outboxRepo.lockPendingBatch(eq(2), any())).thenReturn(List.of(event(7L)));
+        when(messagingBackend.publish(eq("transaction-status"), any(OutboundMessage.class)))
+                .thenReturn(CompletableFuture.completedFuture("m"));
+
+        relay.drain();
+
+        ArgumentCaptor<OutboundMessage> captor = ArgumentCaptor.forClass(OutboundMessage.class);
+        verify(messagingBackend).publish(eq("transaction-status"), captor.capture());
+        OutboundMessage message = captor.getValue();
+        assertEquals("{}", new String(message.data(), StandardCharsets.UTF_8));
+        assertEquals("TXN-7", message.attributes().get("aggregate-id"));
+        assertEquals("7", message.attributes().get("outbox-id"));
+        assertNull(message.orderingKey());
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("transaction-status")
+                .aggregateId("TXN-" + id)
+                .contentType("application/json")
+                .payload("{}".getBytes(StandardCharsets.UTF_8))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,30 +1,41 @@
 package com.bank.transaction_service.kafka.producer;
 
+import com.bank.transaction_service.entity.OutboxEvent;
 import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionStatus;
 import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
 import com.bank.transaction_service.kafka.event.TransactionStatusEvent;
+import com.bank.transaction_service.repository.OutboxEventRepository;
 import com.bank.transaction_service.repository.TransactionRepository;
-import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionStatusProducerTest {
 
     @Mock
-    private PubSubTemplate pubSubTemplate;
+    private TransactionRepository transactionRepo;
 
     @Mock
-    private TransactionRepository transactionRepo;
+    private OutboxEventRepository outboxRepo;
+
+    @Spy
+    private EventCodecs eventCodecs =
+            new EventCodecs(new ObjectMapper().findAndRegisterModules(), "json", 1024);
 
     @InjectMocks
     private TransactionStatusProducer producer;
@@ -49,8 +60,9 @@ class TransactionStatusProducerTest {
         producer.publishSuccess(tx);
 
         verify(transactionRepo).save(tx);
-        verify(pubSubTemplate)
-                .publish(eq("transaction-status"), any(TransactionStatusEvent.class));
+        TransactionStatusEvent event = enqueuedEvent();
+        assertEquals("TX123", event.transactionId());
+        assertEquals("SUCCESS", event.finalStatus());
     }
 
     @Test
@@ -60,7 +72,21 @@ class TransactionStatusProducerTest {
         producer.publishFailure(tx, "Insufficient balance");
 
         verify(transactionRepo).save(tx);
-        verify(pubSubTemplate)
-                .publish(eq("transaction-status"), any(TransactionStatusEvent.class));
+        TransactionStatusEvent event = enqueuedEvent();
+        assertEquals("FAILED", event.finalStatus());
+        assertEquals("Insufficient balance", event.failureReason());
+    }
+
+    private TransactionStatusEvent enqueuedEvent() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepo).save(captor.capture());
+
+        OutboxEvent outbox = captor.getValue();
+        assertEquals("transaction-status", outbox.getTopic());
+        assertEquals("TX123", outbox.getAggregateId());
+        assertNull(outbox.getSentAt());
+        assertEquals("application/json", outbox.getContentType());
+        return eventCodecs.decode(TransactionStatusEvent.class, outbox.getContentType(),
+                ByteBuffer.wrap(outbox.getPayload())).get(0);
     }
 }
\ No newline at end of file
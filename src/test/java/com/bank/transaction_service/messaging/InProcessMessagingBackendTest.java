@@ -0,0 +1,156 @@
+package com.bank.transaction_service.messaging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InProcessMessagingBackendTest {
+
+    private InProcessMessagingBackend backend;
+
+    @AfterEach
+    void tearDown() {
+        backend.shutdown();
+    }
+
+    @Test
+    void publishedMessage_isDeliveredWithAttributes() throws Exception {
+        backend = backend(100, 0, "orders-sub:orders");
+        CompletableFuture<InboundMessage> received = new CompletableFuture<>();
+        backend.subscribe("orders-sub", message -> {
+            message.ack();
+            received.complete(message);
+        });
+
+        String id = backend.publish("orders", message("hello", null)).get(5, TimeUnit.SECONDS);
+
+        InboundMessage message = received.get(5, TimeUnit.SECONDS);
+        assertEquals(id, message.messageId());
+        assertEquals("hello", text(message));
+        assertEquals("text/plain", message.attribute("content-type"));
+        assertNull(message.attribute("missing"));
+        assertEquals(1, message.deliveryAttempt());
+        assertNotNull(message.publishTime());
+    }
+
+    @Test
+    void sameOrderingKey_isDeliveredInOrderOneAtATime() throws Exception {
+        backend = backend(100, 0, "");
+        int count = 200;
+        List<String> seen = new CopyOnWriteArrayList<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+        backend.subscribe("ledger", message -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            seen.add(text(message));
+            inFlight.decrementAndGet();
+            message.ack();
+            done.countDown();
+        });
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expected.add("m" + i);
+            backend.publish("ledger", message("m" + i, "user-1"));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(expected, seen);
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void nack_redeliversWithHigherAttempt() throws Exception {
+        backend = backend(100, 0, "");
+        List<Integer> attempts = new CopyOnWriteArrayList<>();
+        CountDownLatch acked = new CountDownLatch(1);
+        backend.subscribe("retries", message -> {
+            attempts.add(message.deliveryAttempt());
+            if (message.deliveryAttempt() < 3) {
+                message.nack();
+            } else {
+                message.ack();
+                acked.countDown();
+            }
+        });
+
+        backend.publish("retries", message("again", "k"));
+
+        assertTrue(acked.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), attempts);
+    }
+
+    @Test
+    void throwingHandler_nacksTheMessage() throws Exception {
+        backend = backend(100, 0, "");
+        CountDownLatch redelivered = new CountDownLatch(1);
+        backend.subscribe("faulty", message -> {
+            if (message.deliveryAttempt() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            message.ack();
+            redelivered.countDown();
+        });
+
+        backend.publish("faulty", message("x", null));
+
+        assertTrue(redelivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unsettledMessages_areCappedAtMaxOutstanding() throws Exception {
+        backend = backend(2, 0, "");
+        List<InboundMessage> held = new CopyOnWriteArrayList<>();
+        backend.subscribe("slow", held::add);
+
+        for (int i = 0; i < 5; i++) {
+            backend.publish("slow", message("m" + i, null)).get(5, TimeUnit.SECONDS);
+        }
+        Thread.sleep(200);
+        assertEquals(2, held.size());
+
+        held.get(0).ack();
+        held.get(1).ack();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (held.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, held.size());
+    }
+
+    @Test
+    void injectedPublishFailure_failsTheFuture() {
+        backend = new InProcessMessagingBackend(10, 1, 0, 1024, 10, 2, 1.0, 0, "");
+
+        CompletableFuture<String> result = backend.publish("orders", message("x", null));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    private static InProcessMessagingBackend backend(int maxOutstanding, long latencyMillis, String bindings) {
+        return new InProcessMessagingBackend(10, 1, latencyMillis, 1024, maxOutstanding, 4, 0, 0, bindings);
+    }
+
+    private static OutboundMessage message(String text, String orderingKey) {
+        return new OutboundMessage(text.getBytes(StandardCharsets.UTF_8),
+                Map.of("content-type", "text/plain"), orderingKey);
+    }
+
+    private static String text(InboundMessage message) {
+        return StandardCharsets.UTF_8.decode(message.data()).toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.transaction_service.security;
+
+import com.bank.transaction_service.exception.TransactionException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalApiAuthTest {
+
+    @Test
+    void verify_acceptsConfiguredToken() {
+        InternalApiAuth auth = new InternalApiAuth("s3cret");
+
+        assertDoesNotThrow(() -> auth.verify("s3cret"));
+    }
+
+    @Test
+    void verify_rejectsMissingOrWrongToken() {
+        InternalApiAuth auth = new InternalApiAuth("s3cret");
+
+        assertThrows(TransactionException.class, () -> auth.verify(null));
+        assertThrows(TransactionException.class, () -> auth.verify("s3cret2"));
+    }
+
+    @Test
+    void verify_rejectsEverythingWhenUnconfigured() {
+        InternalApiAuth auth = new InternalApiAuth("");
+
+        assertThrows(TransactionException.class, () -> auth.verify(""));
+        assertThrows(TransactionException.class, () -> auth.verify(null));
+    }
+}
@@ -0,0 +1,132 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.dto.response.PaymentDeadLetterResponse;
+import com.bank.transaction_service.entity.PaymentDeadLetter;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.kafka.codec.EventCodecs;
+import com.bank.transaction_service.repository.PaymentDeadLetterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentDeadLetterServiceTest {
+
+    @Mock
+    private PaymentDeadLetterRepository deadLetterRepo;
+    @Mock
+    private PaymentIntegrationService integrationService;
+
+    private PaymentDeadLetterService service;
+
+    @BeforeEach
+    void setup() {
+        EventCodecs eventCodecs = new EventCodecs(new ObjectMapper().findAndRegisterModules(), "json", 1024);
+        service = new PaymentDeadLetterService(deadLetterRepo, eventCodecs, integrationService);
+        lenient().when(deadLetterRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void replay_successMarksReplayed() {
+        when(deadLetterRepo.findById(1L)).thenReturn(Optional.of(deadLetter(1L)));
+        when(integrationService.ingest(anyList())).thenReturn(Map.of());
+
+        PaymentDeadLetterResponse result = service.replay(1L);
+
+        assertNotNull(result.getReplayedAt());
+        assertNull(result.getReplayError());
+        verify(integrationService).ingest(argThat(events ->
+                events.size() == 1 && "PAY-1".equals(events.get(0).getPaymentId())));
+    }
+
+    @Test
+    void replay_stillRejectedStaysPending() {
+        when(deadLetterRepo.findById(1L)).thenReturn(Optional.of(deadLetter(1L)));
+        when(integrationService.ingest(anyList()))
+                .thenReturn(Map.of("PAY-1", new IllegalArgumentException("Invalid UUID string: x")));
+
+        PaymentDeadLetterResponse result = service.replay(1L);
+
+        assertNull(result.getReplayedAt());
+        assertTrue(result.getReplayError().contains("Invalid UUID"));
+    }
+
+    @Test
+    void replay_alreadyReplayedIsRejected() {
+        PaymentDeadLetter done = deadLetter(1L);
+        done.setReplayedAt(LocalDateTime.now());
+        when(deadLetterRepo.findById(1L)).thenReturn(Optional.of(done));
+
+        assertThrows(TransactionException.class, () -> service.replay(1L));
+        verifyNoInteractions(integrationService);
+    }
+
+    @Test
+    void replay_unknownIdIsNotFound() {
+        when(deadLetterRepo.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(TransactionException.class, () -> service.replay(9L));
+    }
+
+    @Test
+    void list_pagesAreOneBased() {
+        when(deadLetterRepo.findByReplayedAtIsNull(any())).thenReturn(Page.empty());
+
+        service.list(true, 50, 1);
+
+        verify(deadLetterRepo).findByReplayedAtIsNull(PageRequest.of(0, 50, Sort.by("id")));
+    }
+
+    @Test
+    void list_invalidPageOrLimitIsRejected() {
+        assertThrows(TransactionException.class, () -> service.list(true, 50, 0));
+        assertThrows(TransactionException.class, () -> service.list(true, 0, 1));
+        assertThrows(TransactionException.class,
+                () -> service.list(true, PaymentDeadLetterService.MAX_LIST_LIMIT + 1, 1));
+        verifyNoInteractions(deadLetterRepo);
+    }
+
+    @Test
+    void replayPending_walksPagesAndCountsSuccesses() {
+        when(deadLetterRepo.findByReplayedAtIsNullAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(deadLetter(1L), deadLetter(2L)));
+        when(deadLetterRepo.findByReplayedAtIsNullAndIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenReturn(List.of());
+        when(integrationService.ingest(anyList()))
+                .thenReturn(Map.of())
+                .thenThrow(new IllegalStateException("db down"));
+
+        assertEquals(1, service.replayPending(10));
+        verify(deadLetterRepo, times(2)).save(any());
+    }
+
+    private static PaymentDeadLetter deadLetter(Long id) {
+        return PaymentDeadLetter.builder()
+                .id(id)
+                .messageId("m-" + id)
+                .payload("{\"paymentId\":\"PAY-1\",\"userId\":\"x\",\"amount\":1,\"status\":\"SUCCESS\"}"
+                        .getBytes(StandardCharsets.UTF_8))
+                .failureKind("PERMANENT")
+                .attempts(1)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentEventBatcherTest {
+
+    @Mock
+    private PaymentIntegrationService integrationService;
+
+    private PaymentEventBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void eventsArrivingTogether_areWrittenInOneBatch() throws Exception {
+        CountDownLatch firstFlushStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        when(integrationService.ingest(anyList())).thenAnswer(inv -> {
+            batchSizes.add(inv.<List<?>>getArgument(0).size());
+            firstFlushStarted.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return Map.of();
+        });
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 100, 0, 1, 1000);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        results.add(batcher.submit(event("PAY-0", "U1")));
+        assertTrue(firstFlushStarted.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i <= 50; i++) {
+            results.add(batcher.submit(event("PAY-" + i, "U" + i)));
+        }
+        release.countDown();
+
+        for (CompletableFuture<Void> result : results) {
+            result.get(1, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(1, 50), batchSizes);
+    }
+
+    @Test
+    void batchIsCappedAtBatchSize() throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        when(integrationService.ingest(anyList())).thenAnswer(inv -> {
+            batchSizes.add(inv.<List<?>>getArgument(0).size());
+            return Map.of();
+        });
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 10, 200, 1, 1000);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            results.add(batcher.submit(event("PAY-" + i, "U1")));
+        }
+        for (CompletableFuture<Void> result : results) {
+            result.get(2, TimeUnit.SECONDS);
+        }
+
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10), batchSizes.toString());
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void sameUser_isWrittenInArrivalOrder() throws Exception {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        when(integrationService.ingest(anyList())).thenAnswer(inv -> {
+            for (Object event : inv.<List<?>>getArgument(0)) {
+                written.add(((PaymentEventMessage) event).getPaymentId());
+            }
+            return Map.of();
+        });
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 7, 1, 4, 1000);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(batcher.submit(event("PAY-" + i, "U1")));
+        }
+        for (CompletableFuture<Void> result : results) {
+            result.get(2, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("PAY-" + i, written.get(i));
+        }
+    }
+
+    @Test
+    void rejectedEvent_failsAloneWhileOthersCommit() throws Exception {
+        IllegalArgumentException badUser = new IllegalArgumentException("Invalid UUID");
+        when(integrationService.ingest(anyList())).thenReturn(Map.of("PAY-2", badUser));
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 10, 200, 1, 1000);
+
+        CompletableFuture<Void> good = batcher.submit(event("PAY-1", "U1"));
+        CompletableFuture<Void> bad = batcher.submit(event("PAY-2", "oops"));
+
+        good.get(1, TimeUnit.SECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(1, TimeUnit.SECONDS));
+        assertSame(badUser, e.getCause());
+    }
+
+    @Test
+    void failedCommit_failsWholeBatch() {
+        when(integrationService.ingest(anyList())).thenThrow(new IllegalStateException("deadlock"));
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 10, 0, 1, 1000);
+
+        CompletableFuture<Void> result = batcher.submit(event("PAY-1", "U1"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void afterShutdown_refusesEvents() {
+        batcher = new PaymentEventBatcher(integrationService, new SimpleMeterRegistry(), 10, 0, 1, 1000);
+        batcher.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> batcher.submit(event("PAY-1", "U1")));
+        verifyNoInteractions(integrationService);
+    }
+
+    private static PaymentEventMessage event(String paymentId, String userId) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setPaymentId(paymentId);
+        event.setUserId(userId);
+        event.setAmount(100L);
+        event.setStatus("SUCCESS");
+        return event;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.dto.PaymentEventMessage;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.service.impl.MonthlyRollupService;
+import com.bank.transaction_service.util.IdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIntegrationServiceTest {
+
+    private static final String USER = "6f1c2a4e-8d3b-4b7a-9c21-3e5f7a9b1d20";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Spy
+    private IdGenerator idGenerator = new IdGenerator(1);
+
+    @Mock
+    private MonthlyRollupService rollupService;
+
+    @InjectMocks
+    private PaymentIntegrationService service;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_resolvesExistingKeysOnceAndInsertsTheRestTogether() {
+        when(transactionRepository.findExistingIdempotencyKeys(any())).thenReturn(Set.of("PAY-2"));
+
+        Map<String, RuntimeException> rejected = service.ingest(List.of(
+                event("PAY-1", USER), event("PAY-2", USER), event("PAY-1", USER), event("PAY-3", USER)));
+
+        assertTrue(rejected.isEmpty());
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionRepository).findExistingIdempotencyKeys(keys.capture());
+        assertEquals(List.of("PAY-1", "PAY-2", "PAY-3"), List.copyOf(keys.getValue()));
+
+        List<Transaction> saved = savedRows();
+        assertEquals(List.of("PAY-1", "PAY-3"), saved.stream().map(Transaction::getIdempotencyKey).toList());
+        verify(rollupService).recordAll(saved);
+    }
+
+    @Test
+    void ingest_malformedEventIsRejectedWithoutFailingTheBatch() {
+        when(transactionRepository.findExistingIdempotencyKeys(any())).thenReturn(Set.of());
+
+        Map<String, RuntimeException> rejected = service.ingest(List.of(
+                event("PAY-1", USER), event("PAY-2", "not-a-uuid")));
+
+        assertInstanceOf(IllegalArgumentException.class, rejected.get("PAY-2"));
+        assertEquals(List.of("PAY-1"), savedRows().stream().map(Transaction::getIdempotencyKey).toList());
+    }
+
+    @Test
+    void ingest_skipsNonSuccessEvents() {
+        PaymentEventMessage pending = event("PAY-1", USER);
+        pending.setStatus("PENDING");
+
+        assertTrue(service.ingest(List.of(pending)).isEmpty());
+
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void ingest_allKnownWritesNothing() {
+        when(transactionRepository.findExistingIdempotencyKeys(any())).thenReturn(Set.of("PAY-1"));
+
+        service.ingest(List.of(event("PAY-1", USER)));
+
+        verify(transactionRepository, never()).saveAll(any());
+        verifyNoInteractions(rollupService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Transaction> savedRows() {
+        ArgumentCaptor<List<Transaction>> rows = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(rows.capture());
+        return rows.getValue();
+    }
+
+    private static PaymentEventMessage event(String paymentId, String userId) {
+        PaymentEventMessage event = new PaymentEventMessage();
+        event.setPaymentId(paymentId);
+        event.setUserId(userId);
+        event.setAmount(100L);
+        event.setStatus("SUCCESS");
+        return event;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.transaction_service.service;
+
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.util.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTotalsTest {
+
+    private final TransactionTotals totals = new TransactionTotals(List.of(
+            new TypeCategoryTotal(TransactionType.DEBIT, TransactionCategory.FOOD, new BigDecimal("120.25"), 3),
+            new TypeCategoryTotal(TransactionType.TRANSFER, null, new BigDecimal("1000"), 1),
+            new TypeCategoryTotal(TransactionType.DEBIT, TransactionCategory.OTHERS, new BigDecimal("0.75"), 1),
+            new TypeCategoryTotal(TransactionType.CREDIT, TransactionCategory.SALARY, new BigDecimal("50000"), 1)));
+
+    @Test
+    void debit_sumsDebitAndTransferRows() {
+        assertEquals(Money.of(new BigDecimal("1121.00")), totals.debit());
+    }
+
+    @Test
+    void credit_sumsCreditRowsOnly() {
+        assertEquals(Money.ofRupees(50000), totals.credit());
+    }
+
+    @Test
+    void count_addsEveryGroup() {
+        assertEquals(6, totals.count());
+    }
+
+    @Test
+    void debitByCategory_mergesUncategorisedIntoOthers() {
+        Map<TransactionCategory, Money> byCategory = totals.debitByCategory();
+
+        assertEquals(2, byCategory.size());
+        assertEquals(Money.of(new BigDecimal("120.25")), byCategory.get(TransactionCategory.FOOD));
+        assertEquals(Money.of(new BigDecimal("1000.75")), byCategory.get(TransactionCategory.OTHERS));
+    }
+
+    @Test
+    void empty_isZero() {
+        assertEquals(Money.ZERO, TransactionTotals.EMPTY.debit());
+        assertEquals(Money.ZERO, TransactionTotals.EMPTY.credit());
+        assertEquals(0, TransactionTotals.EMPTY.count());
+        assertTrue(TransactionTotals.EMPTY.debitByCategory().isEmpty());
+    }
+}
@@ -1,19 +1,24 @@
 package com.bank.transaction_service.service.impl;
 
 import com.bank.transaction_service.dto.response.TransactionAnalyticsResponse;
-import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.dto.response.TransactionRangeAnalyticsResponse;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.enums.TransactionCategory;
 import com.bank.transaction_service.enums.TransactionType;
-import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.service.TransactionTotals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,33 +26,32 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AnalyticsServiceImplTest {
 
+    private static final YearMonth JANUARY_2026 = YearMonth.of(2026, 1);
+
     @Mock
-    private TransactionRepository repository;
+    private TransactionAggregationService aggregationService;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
 
-    @InjectMocks
     private AnalyticsServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        service = new AnalyticsServiceImpl(aggregationService, pool, 12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
     @Test
     void getMonthlyAnalytics_CalculateCorrectly() {
-        Transaction debit = Transaction.builder()
-                .transactionType(TransactionType.DEBIT)
-                .totalAmount(new BigDecimal("1000"))
-                .category(TransactionCategory.FOOD)
-                .build();
-
-        Transaction credit = Transaction.builder()
-                .transactionType(TransactionType.CREDIT)
-                .totalAmount(new BigDecimal("2000"))
-                .build();
-
-        Transaction transfer = Transaction.builder()
-                .transactionType(TransactionType.TRANSFER)
-                .totalAmount(new BigDecimal("500"))
-                .category(null)
-                .build();
-
-        when(repository.findByAccountNumberAndMonth("123", 1, 2026))
-                .thenReturn(List.of(debit, credit, transfer));
+        when(aggregationService.monthlyTotals("123", JANUARY_2026))
+                .thenReturn(totals(
+                        group(TransactionCategory.FOOD, TransactionType.DEBIT, "1000", 1),
+                        group(TransactionCategory.OTHERS, TransactionType.CREDIT, "2000", 1),
+                        group(TransactionCategory.OTHERS, TransactionType.TRANSFER, "500", 1)));
 
         TransactionAnalyticsResponse response =
                 service.getMonthlyAnalytics("123",
@@ -57,13 +61,13 @@ class AnalyticsServiceImplTest {
         assertEquals("123", response.getAccountNumber());
         assertEquals("2026-01", response.getMonth());
 
-        assertEquals(new BigDecimal("1500"),
+        assertEquals(new BigDecimal("1500.00"),
                 response.getSummary().getTotalDebit());
 
-        assertEquals(new BigDecimal("2000"),
+        assertEquals(new BigDecimal("2000.00"),
                 response.getSummary().getTotalCredit());
 
-        assertEquals(new BigDecimal("500"),
+        assertEquals(new BigDecimal("500.00"),
                 response.getSummary().getNetFlow());
 
         assertEquals(3,
@@ -72,26 +76,26 @@ class AnalyticsServiceImplTest {
         assertEquals(2,
                 response.getCategoryBreakdown().size());
 
-        verify(repository)
-                .findByAccountNumberAndMonth("123", 1, 2026);
+        verify(aggregationService)
+                .monthlyTotals("123", JANUARY_2026);
     }
 
     @Test
     void getMonthlyAnalytics_emptyTransactions() {
-        when(repository.findByAccountNumberAndMonth("123", 1, 2026))
-                .thenReturn(List.of());
+        when(aggregationService.monthlyTotals("123", JANUARY_2026))
+                .thenReturn(TransactionTotals.EMPTY);
 
         TransactionAnalyticsResponse response =
                 service.getMonthlyAnalytics("123",
                         YearMonth.of(2026, 1));
 
-        assertEquals(BigDecimal.ZERO,
+        assertEquals(new BigDecimal("0.00"),
                 response.getSummary().getTotalDebit());
 
-        assertEquals(BigDecimal.ZERO,
+        assertEquals(new BigDecimal("0.00"),
                 response.getSummary().getTotalCredit());
 
-        assertEquals(BigDecimal.ZERO,
+        assertEquals(new BigDecimal("0.00"),
                 response.getSummary().getNetFlow());
 
         assertEquals(0,
@@ -99,32 +103,89 @@ class AnalyticsServiceImplTest {
 
         assertTrue(response.getCategoryBreakdown().isEmpty());
 
-        verify(repository)
-                .findByAccountNumberAndMonth("123", 1, 2026);
+        verify(aggregationService)
+                .monthlyTotals("123", JANUARY_2026);
     }
 
     @Test
-    void getMonthlyAnalytics_nullCategory() {
-        Transaction tx = Transaction.builder()
-                .transactionType(TransactionType.DEBIT)
-                .totalAmount(new BigDecimal("100"))
-                .category(null)
-                .build();
-
-        when(repository.findByAccountNumberAndMonth("123", 1, 2026))
-                .thenReturn(List.of(tx));
+    void getMonthlyAnalytics_countsEveryRolledUpTransaction() {
+        when(aggregationService.monthlyTotals("123", JANUARY_2026))
+                .thenReturn(totals(
+                        group(TransactionCategory.FOOD, TransactionType.DEBIT, "750.50", 12),
+                        group(TransactionCategory.FOOD, TransactionType.TRANSFER, "100", 2),
+                        group(TransactionCategory.SALARY, TransactionType.CREDIT, "90000", 1)));
 
         TransactionAnalyticsResponse response =
                 service.getMonthlyAnalytics("123",
                         YearMonth.of(2026, 1));
 
+        assertEquals(15,
+                response.getSummary().getTransactionCount());
+
         assertEquals(1,
                 response.getCategoryBreakdown().size());
 
-        assertEquals("OTHERS",
+        assertEquals("FOOD",
                 response.getCategoryBreakdown().get(0).getCategory());
 
-        verify(repository)
-                .findByAccountNumberAndMonth("123", 1, 2026);
+        assertEquals(new BigDecimal("850.50"),
+                response.getCategoryBreakdown().get(0).getAmount());
+    }
+
+    @Test
+    void getRangeAnalytics_summarisesEachMonthAgainstThePreviousOne() {
+        when(aggregationService.monthlyTotals(eq("123"), any()))
+                .thenReturn(TransactionTotals.EMPTY);
+        when(aggregationService.monthlyTotals("123", YearMonth.of(2025, 12)))
+                .thenReturn(totals(group(TransactionCategory.FOOD, TransactionType.DEBIT, "200", 2)));
+        when(aggregationService.monthlyTotals("123", JANUARY_2026))
+                .thenReturn(totals(
+                        group(TransactionCategory.FOOD, TransactionType.DEBIT, "250", 3),
+                        group(TransactionCategory.SALARY, TransactionType.CREDIT, "1000", 1)));
+        when(aggregationService.monthlyTotals("123", YearMonth.of(2026, 3)))
+                .thenReturn(totals(group(TransactionCategory.FOOD, TransactionType.DEBIT, "100", 1)));
+
+        TransactionRangeAnalyticsResponse response =
+                service.getRangeAnalytics("123", JANUARY_2026, YearMonth.of(2026, 3));
+
+        assertEquals("2026-01", response.getFrom());
+        assertEquals("2026-03", response.getTo());
+        assertEquals(List.of("2026-01", "2026-02", "2026-03"),
+                response.getMonths().stream().map(TransactionRangeAnalyticsResponse.MonthSummary::getMonth).toList());
+
+        TransactionRangeAnalyticsResponse.MonthSummary january = response.getMonths().get(0);
+        assertEquals(new BigDecimal("50.00"), january.getDebitChange());
+        assertEquals(new BigDecimal("25.00"), january.getDebitChangePercent());
+        assertEquals(new BigDecimal("1000.00"), january.getCreditChange());
+
+        TransactionRangeAnalyticsResponse.MonthSummary march = response.getMonths().get(2);
+        assertEquals(new BigDecimal("100.00"), march.getDebitChange());
+        assertNull(march.getDebitChangePercent());
+
+        assertEquals(new BigDecimal("350.00"), response.getSummary().getTotalDebit());
+        assertEquals(new BigDecimal("1000.00"), response.getSummary().getTotalCredit());
+        assertEquals(5, response.getSummary().getTransactionCount());
+        assertEquals(new BigDecimal("350.00"), response.getCategoryBreakdown().get(0).getAmount());
+
+        verify(aggregationService, times(4)).monthlyTotals(eq("123"), any());
+    }
+
+    @Test
+    void getRangeAnalytics_rejectsReversedOrOversizedRanges() {
+        assertThrows(TransactionException.class,
+                () -> service.getRangeAnalytics("123", JANUARY_2026, JANUARY_2026.minusMonths(1)));
+        assertThrows(TransactionException.class,
+                () -> service.getRangeAnalytics("123", JANUARY_2026, JANUARY_2026.plusMonths(12)));
+
+        verifyNoInteractions(aggregationService);
+    }
+
+    private static TransactionTotals totals(TypeCategoryTotal... groups) {
+        return new TransactionTotals(List.of(groups));
+    }
+
+    private static TypeCategoryTotal group(
+            TransactionCategory category, TransactionType type, String amount, long count) {
+        return new TypeCategoryTotal(type, category, new BigDecimal(amount), count);
     }
 }
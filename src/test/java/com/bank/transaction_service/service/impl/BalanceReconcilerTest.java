@@ -0,0 +1,108 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceReconcilerTest {
+
+    @Mock
+    private TransactionRepository transactionRepo;
+    @Mock
+    private AccountClient accountClient;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BalanceReconciler reconciler;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        reconciler = new BalanceReconciler(
+                transactionRepo, accountClient, transactionTemplate, new SimpleMeterRegistry(), 100, 0);
+    }
+
+    @Test
+    void reconcile_correctsNewestWhenStillLatest() {
+        Transaction older = derived("TXN-1", 1, BigDecimal.valueOf(900));
+        Transaction newest = derived("TXN-2", 2, BigDecimal.valueOf(800));
+
+        when(transactionRepo.findByBalanceDerivedTrueAndCompletedAtBefore(any(), any()))
+                .thenReturn(List.of(older, newest));
+        when(transactionRepo.findFirstByAccountNumberOrderByCreatedAtDesc("ACC1"))
+                .thenReturn(Optional.of(newest));
+        when(accountClient.getBalance("ACC1")).thenReturn(BigDecimal.valueOf(750));
+
+        reconciler.reconcile();
+
+        assertEquals(BigDecimal.valueOf(750), newest.getCurrentBalance());
+        assertEquals(BigDecimal.valueOf(900), older.getCurrentBalance());
+        assertFalse(older.getBalanceDerived());
+        assertFalse(newest.getBalanceDerived());
+        verify(accountClient, times(1)).getBalance("ACC1");
+        verify(transactionRepo).saveAll(List.of(older, newest));
+    }
+
+    @Test
+    void reconcile_skipsBalanceCallWhenNewerActivityExists() {
+        Transaction tx = derived("TXN-1", 1, BigDecimal.valueOf(900));
+        Transaction later = derived("TXN-9", 9, null);
+
+        when(transactionRepo.findByBalanceDerivedTrueAndCompletedAtBefore(any(), any()))
+                .thenReturn(List.of(tx));
+        when(transactionRepo.findFirstByAccountNumberOrderByCreatedAtDesc("ACC1"))
+                .thenReturn(Optional.of(later));
+
+        reconciler.reconcile();
+
+        verifyNoInteractions(accountClient);
+        assertFalse(tx.getBalanceDerived());
+        verify(transactionRepo).saveAll(List.of(tx));
+    }
+
+    @Test
+    void reconcile_balanceUnavailable_keepsRowsFlagged() {
+        Transaction tx = derived("TXN-1", 1, BigDecimal.valueOf(900));
+
+        when(transactionRepo.findByBalanceDerivedTrueAndCompletedAtBefore(any(), any()))
+                .thenReturn(List.of(tx));
+        when(transactionRepo.findFirstByAccountNumberOrderByCreatedAtDesc("ACC1"))
+                .thenReturn(Optional.of(tx));
+        when(accountClient.getBalance("ACC1")).thenThrow(new RuntimeException("down"));
+
+        reconciler.reconcile();
+
+        assertTrue(tx.getBalanceDerived());
+        verify(transactionRepo, never()).saveAll(any());
+    }
+
+    private static Transaction derived(String id, int minute, BigDecimal balance) {
+        return Transaction.builder()
+                .transactionId(id)
+                .accountNumber("ACC1")
+                .currentBalance(balance)
+                .balanceDerived(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, minute))
+                .completedAt(LocalDateTime.of(2024, 1, 1, 10, minute))
+                .build();
+    }
+}
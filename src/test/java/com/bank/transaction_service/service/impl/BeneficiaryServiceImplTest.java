@@ -1,12 +1,13 @@
 package com.bank.transaction_service.service.impl;
 
-import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.client.CustomerClient;
 import com.bank.transaction_service.dto.request.BeneficiaryRequest;
 import com.bank.transaction_service.dto.response.BeneficiaryResponse;
 import com.bank.transaction_service.entity.Beneficiary;
 import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.repository.BeneficiaryRepository;
+import com.bank.transaction_service.util.IdGenerator;
 import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -29,9 +31,11 @@ class BeneficiaryServiceImplTest {
     @Mock
     private BeneficiaryRepository repository;
     @Mock
-    private AccountClient accountClient;
+    private AccountOwnershipResolver ownershipResolver;
     @Mock
     private CustomerClient customerClient;
+    @Spy
+    private IdGenerator idGenerator = new IdGenerator(1);
 
     @InjectMocks
     private BeneficiaryServiceImpl service;
@@ -51,7 +55,7 @@ class BeneficiaryServiceImplTest {
     private void mockBaseSuccess() {
         when(repository.existsByCustomerIdAndBeneficiaryAccount("C1", "BEN1"))
                 .thenReturn(false);
-        when(accountClient.accountExists("BEN1"))
+        when(ownershipResolver.exists("BEN1"))
                 .thenReturn(true);
     }
 
@@ -66,7 +70,7 @@ class BeneficiaryServiceImplTest {
     void add_whenAccountMissing() {
         when(repository.existsByCustomerIdAndBeneficiaryAccount("C1", "BEN1"))
                 .thenReturn(false);
-        when(accountClient.accountExists("BEN1"))
+        when(ownershipResolver.exists("BEN1"))
                 .thenReturn(false);
         assertThrows(TransactionException.class, () -> service.add(req));
     }
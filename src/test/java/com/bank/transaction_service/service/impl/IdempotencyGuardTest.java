@@ -0,0 +1,186 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyGuardTest {
+
+    private static final long WINDOW_SECONDS = 3600;
+
+    @Mock
+    private TransactionRepository transactionRepo;
+
+    private AtomicLong clock;
+    private IdempotencyGuard guard;
+    private UUID customerId;
+
+    @BeforeEach
+    void setup() {
+        clock = new AtomicLong(1_700_000_000_000L);
+        guard = new IdempotencyGuard(
+                transactionRepo, new SimpleMeterRegistry(), WINDOW_SECONDS, 1000, 0.01, 1000, clock::get);
+        customerId = UUID.randomUUID();
+    }
+
+    @Test
+    void keyFor_dependsOnlyOnFingerprint() {
+        String key = guard.keyFor("ACC1|100|DEBIT|BILL|rent");
+
+        clock.addAndGet(WINDOW_SECONDS * 1000);
+        assertEquals(key, guard.keyFor("ACC1|100|DEBIT|BILL|rent"));
+        assertNotEquals(key, guard.keyFor("ACC1|100|DEBIT|BILL|rent2"));
+    }
+
+    @Test
+    void rejectIfRecent_unknownKeyPasses() {
+        assertDoesNotThrow(() -> guard.rejectIfRecent(guard.keyFor("new"), customerId));
+    }
+
+    @Test
+    void rejectIfRecent_acceptedKeyIsRejectedForSameCustomer() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        guard.insert(tx, () -> null);
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> guard.rejectIfRecent(tx.getIdempotencyKey(), customerId));
+
+        assertTrue(ex.getMessage().contains("TXN-1"));
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void rejectIfRecent_otherCustomerFallsThrough() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        guard.insert(tx, () -> null);
+
+        assertDoesNotThrow(() -> guard.rejectIfRecent(tx.getIdempotencyKey(), UUID.randomUUID()));
+    }
+
+    @Test
+    void rejectIfRecent_retryAcrossPeriodBoundaryIsRejected() {
+        long periodMillis = WINDOW_SECONDS * 1000;
+        clock.set((clock.get() / periodMillis + 1) * periodMillis - 1_000);
+        Transaction tx = intake(guard.keyFor("payment"));
+        guard.insert(tx, () -> null);
+
+        clock.addAndGet(2_000);
+
+        assertThrows(TransactionException.class,
+                () -> guard.rejectIfRecent(tx.getIdempotencyKey(), customerId));
+    }
+
+    @Test
+    void rejectIfRecent_forgetsKeysAcceptedAWindowAgo() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        guard.insert(tx, () -> null);
+
+        clock.addAndGet(WINDOW_SECONDS * 1000);
+
+        assertDoesNotThrow(() -> guard.rejectIfRecent(tx.getIdempotencyKey(), customerId));
+    }
+
+    @Test
+    void insert_returnsResultWithoutLookup() {
+        Transaction tx = intake(guard.keyFor("payment"));
+
+        assertEquals("saga", guard.insert(tx, () -> "saga"));
+        verifyNoInteractions(transactionRepo);
+    }
+
+    @Test
+    void insert_conflictWithRecentRowBecomesDuplicate() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        Transaction existing = existing(clock.get() - 60_000);
+        when(transactionRepo.findByIdempotencyKey(tx.getIdempotencyKey())).thenReturn(Optional.of(existing));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> guard.insert(tx, () -> { throw violation(); }));
+
+        assertTrue(ex.getMessage().contains("TXN-0"));
+        assertThrows(TransactionException.class,
+                () -> guard.rejectIfRecent(tx.getIdempotencyKey(), customerId));
+        verify(transactionRepo, never()).releaseIdempotencyKey(any(), any());
+    }
+
+    @Test
+    void insert_conflictWithExpiredRowReleasesKeyAndRetries() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        Transaction existing = existing(clock.get() - WINDOW_SECONDS * 1000 - 1_000);
+        when(transactionRepo.findByIdempotencyKey(tx.getIdempotencyKey())).thenReturn(Optional.of(existing));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = guard.insert(tx, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw violation();
+            }
+            return "saga";
+        });
+
+        assertEquals("saga", result);
+        assertEquals(2, attempts.get());
+        verify(transactionRepo).releaseIdempotencyKey("TXN-0", tx.getIdempotencyKey());
+    }
+
+    @Test
+    void insert_retryLosingToAnotherRequestBecomesDuplicate() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        Transaction expired = existing(clock.get() - WINDOW_SECONDS * 1000 - 1_000);
+        Transaction winner = Transaction.builder().transactionId("TXN-2").build();
+        when(transactionRepo.findByIdempotencyKey(tx.getIdempotencyKey()))
+                .thenReturn(Optional.of(expired), Optional.of(winner));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> guard.insert(tx, () -> { throw violation(); }));
+
+        assertTrue(ex.getMessage().contains("TXN-2"));
+    }
+
+    @Test
+    void insert_otherViolationIsRethrownUnchanged() {
+        Transaction tx = intake(guard.keyFor("payment"));
+        DataIntegrityViolationException violation = violation();
+        when(transactionRepo.findByIdempotencyKey(tx.getIdempotencyKey())).thenReturn(Optional.empty());
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> guard.insert(tx, () -> { throw violation; })));
+    }
+
+    private Transaction existing(long acceptedAtMillis) {
+        return Transaction.builder()
+                .transactionId("TXN-0")
+                .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(acceptedAtMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private Transaction intake(String key) {
+        return Transaction.builder()
+                .transactionId("TXN-1")
+                .customerId(customerId)
+                .idempotencyKey(key)
+                .build();
+    }
+
+    private static DataIntegrityViolationException violation() {
+        return new DataIntegrityViolationException("could not execute statement");
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.dto.request.DebitTransactionRequest;
+import com.bank.transaction_service.dto.response.DebitTransactionResponse;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.security.AuthUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotentResponseStoreTest {
+
+    private IdempotentResponseStore store;
+    private AuthUser user;
+    private DebitTransactionRequest request;
+
+    @BeforeEach
+    void setup() {
+        store = new IdempotentResponseStore(new ObjectMapper().findAndRegisterModules(), 1 << 20, 3600, 2000);
+        user = new AuthUser(UUID.randomUUID(), "user");
+        authenticate(user);
+
+        request = new DebitTransactionRequest();
+        request.setAccountNumber("ACC1");
+        request.setAmount(BigDecimal.TEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_retryReplaysStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+
+        DebitTransactionResponse first = store.execute("k1", "debit", request,
+                DebitTransactionResponse.class, () -> response("TXN-" + calls.incrementAndGet()));
+        DebitTransactionResponse retry = store.execute("k1", "debit", request,
+                DebitTransactionResponse.class, () -> response("TXN-" + calls.incrementAndGet()));
+
+        assertEquals(1, calls.get());
+        assertEquals(first.getTransactionId(), retry.getTransactionId());
+        assertEquals(first.getTimestamp(), retry.getTimestamp());
+    }
+
+    @Test
+    void execute_withoutKeyAlwaysRuns() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute(null, "debit", request, DebitTransactionResponse.class,
+                () -> response("TXN-" + calls.incrementAndGet()));
+        store.execute(" ", "debit", request, DebitTransactionResponse.class,
+                () -> response("TXN-" + calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_keysAreScopedPerCustomer() {
+        AtomicInteger calls = new AtomicInteger();
+
+        store.execute("k1", "debit", request, DebitTransactionResponse.class,
+                () -> response("TXN-" + calls.incrementAndGet()));
+        authenticate(new AuthUser(UUID.randomUUID(), "other"));
+        store.execute("k1", "debit", request, DebitTransactionResponse.class,
+                () -> response("TXN-" + calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_sameKeyDifferentRequestIsRejected() {
+        store.execute("k1", "debit", request, DebitTransactionResponse.class, () -> response("TXN-1"));
+
+        DebitTransactionRequest other = new DebitTransactionRequest();
+        other.setAccountNumber("ACC1");
+        other.setAmount(BigDecimal.ONE);
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> store.execute("k1", "debit", other, DebitTransactionResponse.class,
+                        () -> response("TXN-2")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    @Test
+    void execute_failuresAreNotStored() {
+        assertThrows(TransactionException.class,
+                () -> store.execute("k1", "debit", request, DebitTransactionResponse.class, () -> {
+                    throw TransactionException.externalServiceError("down");
+                }));
+
+        DebitTransactionResponse retry = store.execute("k1", "debit", request,
+                DebitTransactionResponse.class, () -> response("TXN-2"));
+
+        assertEquals("TXN-2", retry.getTransactionId());
+    }
+
+    @Test
+    void execute_concurrentRetryWaitsForFirstResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+
+        try {
+            Callable<DebitTransactionResponse> call = () -> {
+                authenticate(user);
+                return store.execute("k1", "debit", request, DebitTransactionResponse.class, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return response("TXN-1");
+                });
+            };
+
+            Future<DebitTransactionResponse> first = pool.submit(call);
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            Future<DebitTransactionResponse> retry = pool.submit(call);
+
+            release.countDown();
+
+            assertEquals("TXN-1", first.get(1, TimeUnit.SECONDS).getTransactionId());
+            assertEquals("TXN-1", retry.get(1, TimeUnit.SECONDS).getTransactionId());
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static DebitTransactionResponse response(String transactionId) {
+        return DebitTransactionResponse.builder()
+                .success(true)
+                .transactionId(transactionId)
+                .status("IN_PROGRESS")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static void authenticate(AuthUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null)
+        );
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.client.AccountBalanceReader;
+import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOwnershipResolver;
+import com.bank.transaction_service.entity.TransactionLimit;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionLimitRepository;
+import com.bank.transaction_service.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IntakePreflightTest {
+
+    private static final String ACCOUNT = "ACC123";
+
+    @Mock
+    private AccountClient accountClient;
+    @Mock
+    private TransactionLimitRepository limitRepo;
+
+    private ExecutorService executor;
+    private UUID customerId;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        customerId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private IntakePreflight preflight(long timeoutMillis) {
+        AccountOwnershipResolver ownershipResolver =
+                new AccountOwnershipResolver(accountClient, new SimpleMeterRegistry(), 100, 600, 30, 5);
+        AccountBalanceReader balanceReader =
+                new AccountBalanceReader(accountClient, new SimpleMeterRegistry(), 0);
+        return new IntakePreflight(
+                balanceReader, ownershipResolver, limitRepo, executor, timeoutMillis);
+    }
+
+    @Test
+    void check_runsLookupsConcurrently() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenAnswer(inv -> slow(customerId));
+        when(limitRepo.findById(ACCOUNT)).thenAnswer(inv -> slow(Optional.of(new TransactionLimit(ACCOUNT))));
+        when(accountClient.getBalance(ACCOUNT)).thenAnswer(inv -> slow(BigDecimal.valueOf(700)));
+
+        long start = System.nanoTime();
+        IntakePreflight.Clearance clearance = preflight(5_000).check(customerId, ACCOUNT, Money.ofRupees(10));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(BigDecimal.valueOf(700), clearance.previousBalance());
+        assertEquals(ACCOUNT, clearance.limit().getAccountNumber());
+        assertTrue(elapsedMillis < 600, "lookups ran sequentially: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void check_notOwner_failsWithoutWaitingForSlowLookups() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(UUID.randomUUID());
+        lenient().when(accountClient.getBalance(ACCOUNT)).thenAnswer(inv -> {
+            Thread.sleep(2_000);
+            return BigDecimal.ONE;
+        });
+
+        long start = System.nanoTime();
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> preflight(5_000).check(customerId, ACCOUNT, null));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getHttpStatus());
+        assertTrue(elapsedMillis < 1_000, "did not fail fast: " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void check_overLimit_shouldThrow() {
+        TransactionLimit limit = new TransactionLimit(ACCOUNT);
+        limit.setPerTransactionLimit(Money.ofRupees(100));
+
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(customerId);
+        when(limitRepo.findById(ACCOUNT)).thenReturn(Optional.of(limit));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> preflight(5_000).check(customerId, ACCOUNT, Money.ofRupees(101)));
+
+        assertEquals("LIMIT_EXCEEDED", ex.getErrorCode());
+    }
+
+    @Test
+    void check_creditSkipsLimitLookup() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(customerId);
+        when(accountClient.getBalance(ACCOUNT)).thenReturn(BigDecimal.ONE);
+
+        assertNull(preflight(5_000).check(customerId, ACCOUNT, null).limit());
+
+        verifyNoInteractions(limitRepo);
+    }
+
+    @Test
+    void check_deadlineExceeded_shouldThrowServiceUnavailable() {
+        when(accountClient.getAccountOwner(ACCOUNT)).thenReturn(customerId);
+        when(accountClient.getBalance(ACCOUNT)).thenAnswer(inv -> {
+            Thread.sleep(1_000);
+            return BigDecimal.ONE;
+        });
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> preflight(100).check(customerId, ACCOUNT, null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
+    }
+
+    private static <T> T slow(T value) throws InterruptedException {
+        Thread.sleep(200);
+        return value;
+    }
+}
@@ -0,0 +1,405 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.LimitReservation;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.entity.TransactionLimit;
+import com.bank.transaction_service.enums.LimitReservationStatus;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.LimitReservationRepository;
+import com.bank.transaction_service.repository.projection.LimitUsageTotal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LimitUsageTrackerTest {
+
+    private static final LocalDate MAR_5 = LocalDate.of(2024, 3, 5);
+
+    @Mock
+    private LimitReservationRepository reservationRepo;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MutableClock clock;
+    private LimitUsageTracker tracker;
+    private TransactionLimit limit;
+    private int ids;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock(MAR_5);
+        tracker = new LimitUsageTracker(reservationRepo, transactionTemplate, new SimpleMeterRegistry(), 30_000, clock);
+        limit = new TransactionLimit("ACC1");
+    }
+
+    @Test
+    void reserve_countsAgainstDailyAndMonthly() {
+        LimitReservation reservation = tracker.reserve(debit(TransactionCategory.BILL, "40000"), limit);
+
+        assertEquals(4_000_000, reservation.getAmountPaise());
+        assertEquals(MAR_5, reservation.getUsageDay());
+        assertEquals(LimitReservationStatus.RESERVED, reservation.getStatus());
+
+        LimitUsageTracker.Usage usage = tracker.usage("ACC1");
+        assertEquals(4_000_000, usage.daily());
+        assertEquals(4_000_000, usage.monthly());
+        assertEquals(0, usage.atm());
+    }
+
+    @Test
+    void reserve_overDailyLimitIsRejectedAndNotCounted() {
+        tracker.reserve(debit(TransactionCategory.BILL, "60000"), limit);
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> tracker.reserve(debit(TransactionCategory.BILL, "40000.01"), limit));
+
+        assertEquals("LIMIT_EXCEEDED", ex.getErrorCode());
+        assertEquals("Daily limit exceeded", ex.getMessage());
+        assertEquals(6_000_000, tracker.usage("ACC1").daily());
+    }
+
+    @Test
+    void reserve_upToTheLimitIsAllowed() {
+        tracker.reserve(debit(TransactionCategory.BILL, "60000"), limit);
+
+        assertDoesNotThrow(() -> tracker.reserve(debit(TransactionCategory.BILL, "40000"), limit));
+        assertEquals(10_000_000, tracker.usage("ACC1").daily());
+    }
+
+    @Test
+    void reserve_atmAndShoppingHaveTheirOwnWindows() {
+        tracker.reserve(debit(TransactionCategory.ATM, "20000"), limit);
+
+        TransactionException atm = assertThrows(TransactionException.class,
+                () -> tracker.reserve(debit(TransactionCategory.ATM, "5001"), limit));
+        assertEquals("ATM limit exceeded", atm.getMessage());
+
+        tracker.reserve(debit(TransactionCategory.SHOPPING, "30000"), limit);
+        TransactionException shopping = assertThrows(TransactionException.class,
+                () -> tracker.reserve(debit(TransactionCategory.SHOPPING, "1"), limit));
+        assertEquals("Online shopping limit exceeded", shopping.getMessage());
+
+        // Other categories only count against daily and monthly
+        assertDoesNotThrow(() -> tracker.reserve(debit(TransactionCategory.BILL, "1"), limit));
+    }
+
+    @Test
+    void reserve_missingLimitIsNoLimit() {
+        limit.setDailyLimit(null);
+        limit.setMonthlyLimit(null);
+
+        assertDoesNotThrow(() -> tracker.reserve(debit(TransactionCategory.BILL, "5000000"), limit));
+    }
+
+    @Test
+    void nextDay_resetsDailyWindowsButKeepsMonthly() {
+        tracker.reserve(debit(TransactionCategory.ATM, "25000"), limit);
+        tracker.reserve(debit(TransactionCategory.BILL, "75000"), limit);
+
+        clock.set(MAR_5.plusDays(1));
+
+        LimitUsageTracker.Usage usage = tracker.usage("ACC1");
+        assertEquals(MAR_5.plusDays(1), usage.day());
+        assertEquals(0, usage.daily());
+        assertEquals(0, usage.atm());
+        assertEquals(10_000_000, usage.monthly());
+        assertDoesNotThrow(() -> tracker.reserve(debit(TransactionCategory.ATM, "25000"), limit));
+    }
+
+    @Test
+    void nextMonth_resetsMonthlyWindow() {
+        limit.setMonthlyLimit(limit.getDailyLimit());
+        tracker.reserve(debit(TransactionCategory.BILL, "100000"), limit);
+
+        clock.set(MAR_5.plusDays(1));
+        assertThrows(TransactionException.class,
+                () -> tracker.reserve(debit(TransactionCategory.BILL, "1"), limit));
+
+        clock.set(LocalDate.of(2024, 4, 1));
+        assertDoesNotThrow(() -> tracker.reserve(debit(TransactionCategory.BILL, "1"), limit));
+        assertEquals(100, tracker.usage("ACC1").monthly());
+    }
+
+    @Test
+    void cancel_givesTheAmountBack() {
+        LimitReservation reservation = tracker.reserve(debit(TransactionCategory.ATM, "25000"), limit);
+
+        tracker.cancel(reservation);
+
+        LimitUsageTracker.Usage usage = tracker.usage("ACC1");
+        assertEquals(0, usage.daily());
+        assertEquals(0, usage.monthly());
+        assertEquals(0, usage.atm());
+    }
+
+    @Test
+    void cancel_afterDayRolledOverOnlyGivesBackMonthly() {
+        LimitReservation reservation = tracker.reserve(debit(TransactionCategory.BILL, "1000"), limit);
+        clock.set(MAR_5.plusDays(1));
+        tracker.reserve(debit(TransactionCategory.BILL, "500"), limit);
+
+        tracker.cancel(reservation);
+
+        LimitUsageTracker.Usage usage = tracker.usage("ACC1");
+        assertEquals(50_000, usage.daily());
+        assertEquals(50_000, usage.monthly());
+    }
+
+    @Test
+    void released_givesBackReservedOnlyOnce() {
+        Transaction tx = debit(TransactionCategory.BILL, "1000");
+        LimitReservation reservation = tracker.reserve(tx, limit);
+
+        when(reservationRepo.findById(tx.getTransactionId())).thenReturn(Optional.of(reservation));
+        when(reservationRepo.transition(eq(tx.getTransactionId()), eq(LimitReservationStatus.RESERVED),
+                eq(LimitReservationStatus.RELEASED), any()))
+                .thenReturn(1, 0);
+
+        tracker.released(tx);
+        assertEquals(0, tracker.usage("ACC1").daily());
+
+        tracker.reserve(debit(TransactionCategory.BILL, "300"), limit);
+        tracker.released(tx);
+        assertEquals(30_000, tracker.usage("ACC1").daily());
+    }
+
+    @Test
+    void released_givesBackOnlyAfterCommit() {
+        Transaction tx = debit(TransactionCategory.BILL, "1000");
+        LimitReservation reservation = tracker.reserve(tx, limit);
+
+        when(reservationRepo.findById(tx.getTransactionId())).thenReturn(Optional.of(reservation));
+        when(reservationRepo.transition(eq(tx.getTransactionId()), eq(LimitReservationStatus.RESERVED),
+                eq(LimitReservationStatus.RELEASED), any()))
+                .thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tracker.released(tx);
+            assertEquals(100_000, tracker.usage("ACC1").daily());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, tracker.usage("ACC1").daily());
+    }
+
+    @Test
+    void released_ignoresCommittedReservation() {
+        Transaction tx = debit(TransactionCategory.BILL, "1000");
+        LimitReservation reservation = tracker.reserve(tx, limit);
+        reservation.setStatus(LimitReservationStatus.COMMITTED);
+
+        when(reservationRepo.findById(tx.getTransactionId())).thenReturn(Optional.of(reservation));
+
+        tracker.released(tx);
+
+        assertEquals(100_000, tracker.usage("ACC1").daily());
+        verify(reservationRepo, never()).transition(any(), any(), any(), any());
+    }
+
+    @Test
+    void committedAndReleased_skipCredits() {
+        Transaction credit = debit(TransactionCategory.SALARY, "1000");
+        credit.setTransactionType(TransactionType.CREDIT);
+
+        tracker.committed(credit);
+        tracker.released(credit);
+
+        verifyNoInteractions(reservationRepo);
+    }
+
+    @Test
+    void committed_movesReservationOn() {
+        Transaction tx = debit(TransactionCategory.BILL, "1000");
+
+        tracker.committed(tx);
+
+        verify(reservationRepo).transition(eq(tx.getTransactionId()), eq(LimitReservationStatus.RESERVED),
+                eq(LimitReservationStatus.COMMITTED), any());
+    }
+
+    @Test
+    void reconcile_rebuildsFromHeldReservations() {
+        when(reservationRepo.sumHeldSince(LocalDate.of(2024, 3, 1))).thenReturn(List.of(
+                new LimitUsageTotal("ACC1", TransactionCategory.ATM, MAR_5, 1_000_000),
+                new LimitUsageTotal("ACC1", TransactionCategory.BILL, MAR_5, 500_000),
+                new LimitUsageTotal("ACC1", TransactionCategory.BILL, LocalDate.of(2024, 3, 2), 2_000_000),
+                new LimitUsageTotal("ACC2", TransactionCategory.SHOPPING, MAR_5, 300_000)));
+
+        tracker.reconcile();
+
+        LimitUsageTracker.Usage acc1 = tracker.usage("ACC1");
+        assertEquals(1_500_000, acc1.daily());
+        assertEquals(3_500_000, acc1.monthly());
+        assertEquals(1_000_000, acc1.atm());
+        assertEquals(300_000, tracker.usage("ACC2").onlineShopping());
+    }
+
+    @Test
+    void reserve_coldAccountStartsFromItsHeldRows() {
+        when(reservationRepo.sumHeldByAccountSince("ACC1", LocalDate.of(2024, 3, 1))).thenReturn(List.of(
+                new LimitUsageTotal("ACC1", TransactionCategory.BILL, MAR_5, 9_000_000)));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> tracker.reserve(debit(TransactionCategory.BILL, "10000.01"), limit));
+
+        assertEquals("Daily limit exceeded", ex.getMessage());
+        assertEquals(9_000_000, tracker.usage("ACC1").daily());
+        verify(reservationRepo, times(1)).sumHeldByAccountSince(any(), any());
+    }
+
+    @Test
+    void refresh_picksUpOtherReplicasAndKeepsUncommittedIntakes() {
+        tracker.reserve(debit(TransactionCategory.BILL, "1000"), limit);
+        LimitReservation committed = tracker.reserve(debit(TransactionCategory.BILL, "2000"), limit);
+        tracker.store(committed);
+
+        // The committed one plus 5000 reserved on another replica
+        when(reservationRepo.findAccountsChangedSince(eq(LocalDate.of(2024, 3, 1)), any()))
+                .thenReturn(List.of("ACC1"));
+        when(reservationRepo.sumHeldByAccountsSince(List.of("ACC1"), LocalDate.of(2024, 3, 1))).thenReturn(List.of(
+                new LimitUsageTotal("ACC1", TransactionCategory.BILL, MAR_5, 700_000)));
+
+        tracker.refresh();
+
+        assertEquals(800_000, tracker.usage("ACC1").daily());
+        assertEquals(800_000, tracker.usage("ACC1").monthly());
+    }
+
+    @Test
+    void refresh_dropsWhatOtherReplicasReleased() {
+        LimitReservation reservation = tracker.reserve(debit(TransactionCategory.ATM, "1000"), limit);
+        tracker.store(reservation);
+        when(reservationRepo.findAccountsChangedSince(eq(LocalDate.of(2024, 3, 1)), any()))
+                .thenReturn(List.of("ACC1"));
+        when(reservationRepo.sumHeldByAccountsSince(List.of("ACC1"), LocalDate.of(2024, 3, 1)))
+                .thenReturn(List.of());
+
+        tracker.refresh();
+
+        assertEquals(0, tracker.usage("ACC1").daily());
+        assertEquals(0, tracker.usage("ACC1").atm());
+    }
+
+    @Test
+    void refresh_readsOnlyChangedAccountsHeldHere() {
+        tracker.store(tracker.reserve(debit(TransactionCategory.BILL, "1000"), limit));
+        Transaction other = debit(TransactionCategory.BILL, "1000");
+        other.setAccountNumber("ACC2");
+        tracker.store(tracker.reserve(other, limit));
+
+        // ACC9 changed too but has no counter here
+        clock.advanceSeconds(60);
+        when(reservationRepo.findAccountsChangedSince(LocalDate.of(2024, 3, 1), MAR_5.atTime(9, 59, 30)))
+                .thenReturn(List.of("ACC2", "ACC9"));
+        when(reservationRepo.sumHeldByAccountsSince(List.of("ACC2"), LocalDate.of(2024, 3, 1)))
+                .thenReturn(List.of());
+
+        tracker.refresh();
+
+        assertEquals(100_000, tracker.usage("ACC1").daily());
+        assertEquals(0, tracker.usage("ACC2").daily());
+        verify(reservationRepo, never()).sumHeldSince(any());
+
+        // The next one reaches back from when this one started
+        when(reservationRepo.findAccountsChangedSince(LocalDate.of(2024, 3, 1), MAR_5.atTime(10, 0, 30)))
+                .thenReturn(List.of());
+
+        tracker.refresh();
+
+        verify(reservationRepo, times(1)).sumHeldByAccountsSince(any(), any());
+    }
+
+    @Test
+    void rollover_dropsIdleAccountsAndPurgesOldRows() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(reservationRepo.deleteUsageBefore(LocalDate.of(2024, 4, 1))).thenReturn(3);
+
+        tracker.reserve(debit(TransactionCategory.BILL, "1000"), limit);
+        Transaction other = debit(TransactionCategory.BILL, "1000");
+        other.setAccountNumber("ACC2");
+        tracker.reserve(other, limit);
+
+        clock.set(LocalDate.of(2024, 4, 1));
+        tracker.reserve(debit(TransactionCategory.BILL, "200"), limit);
+        tracker.rollover();
+
+        assertEquals(20_000, tracker.usage("ACC1").daily());
+        assertTrue(tracker.usage("ACC2").isEmpty());
+        verify(reservationRepo).deleteUsageBefore(LocalDate.of(2024, 4, 1));
+
+        // A dropped account starts again from a fresh cell
+        tracker.reserve(other, limit);
+        assertEquals(100_000, tracker.usage("ACC2").daily());
+    }
+
+    private Transaction debit(TransactionCategory category, String amount) {
+        return Transaction.builder()
+                .transactionId("TXN" + (++ids))
+                .accountNumber("ACC1")
+                .transactionType(TransactionType.DEBIT)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .totalAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDate day) {
+            set(day);
+        }
+
+        void set(LocalDate day) {
+            instant = day.atTime(10, 0).toInstant(ZoneOffset.UTC);
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
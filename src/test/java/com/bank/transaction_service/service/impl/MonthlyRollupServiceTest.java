@@ -0,0 +1,269 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.dto.response.RollupMaintenanceResponse;
+import com.bank.transaction_service.entity.MonthlyRollup;
+import com.bank.transaction_service.entity.MonthlyRollupBackfill;
+import com.bank.transaction_service.entity.MonthlyRollupId;
+import com.bank.transaction_service.entity.Transaction;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.MonthlyRollupBackfillRepository;
+import com.bank.transaction_service.repository.MonthlyRollupRepository;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionAggregationService;
+import com.bank.transaction_service.util.TimeRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+    private static final LocalDate MARCH_START = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private MonthlyRollupRepository rollupRepo;
+    @Mock
+    private MonthlyRollupBackfillRepository backfillRepo;
+    @Mock
+    private TransactionRepository transactionRepo;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TransactionAggregationService aggregationService;
+
+    private MonthlyRollupService service;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new MonthlyRollupService(rollupRepo, backfillRepo, transactionRepo, transactionTemplate,
+                transactionManager, aggregationService, new SimpleMeterRegistry(), 2, false);
+    }
+
+    @Test
+    void record_upsertsSuccessfulTransactionUnderItsMonth() {
+        service.record(tx("ACC1", TransactionType.DEBIT, TransactionCategory.FOOD, "120.50",
+                TransactionStatus.SUCCESS, LocalDateTime.of(2024, 3, 31, 23, 59)));
+
+        verify(rollupRepo).upsert(eq("ACC1"), eq(MARCH_START), eq("FOOD"), eq("DEBIT"),
+                eq(new BigDecimal("120.50")), eq(1L), any());
+    }
+
+    @Test
+    void record_ignoresTransactionsThatDidNotSucceed() {
+        service.record(tx("ACC1", TransactionType.DEBIT, TransactionCategory.FOOD, "120.50",
+                TransactionStatus.FAILED, LocalDateTime.of(2024, 3, 1, 10, 0)));
+
+        verifyNoInteractions(rollupRepo);
+    }
+
+    @Test
+    void recordAll_groupsByKeyAndFilesUncategorisedUnderOthers() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 5, 9, 0);
+
+        service.recordAll(List.of(
+                tx("ACC1", TransactionType.CREDIT, null, "100", TransactionStatus.SUCCESS, at),
+                tx("ACC1", TransactionType.CREDIT, null, "50", TransactionStatus.SUCCESS, at.plusDays(1)),
+                tx("ACC1", TransactionType.CREDIT, TransactionCategory.OTHERS, "25", TransactionStatus.SUCCESS, at),
+                tx("ACC1", TransactionType.CREDIT, null, "999", TransactionStatus.PENDING, at)));
+
+        verify(rollupRepo).upsert(eq("ACC1"), eq(MARCH_START), eq("OTHERS"), eq("CREDIT"),
+                eq(new BigDecimal("175")), eq(3L), any());
+        verifyNoMoreInteractions(rollupRepo);
+    }
+
+    @Test
+    void rebuild_deletesThenReinsertsTheMonthInOneTransaction() {
+        service.rebuild("ACC1", MARCH);
+
+        InOrder order = inOrder(transactionTemplate, rollupRepo, aggregationService);
+        order.verify(transactionTemplate).execute(any());
+        order.verify(rollupRepo).deleteMonth("ACC1", MARCH_START);
+        order.verify(rollupRepo).insertMonthFromTransactions(eq("ACC1"), eq(MARCH_START),
+                eq(LocalDateTime.of(2024, 3, 1, 0, 0)), eq(LocalDateTime.of(2024, 4, 1, 0, 0)), any());
+        order.verify(aggregationService).evictMonth("ACC1", MARCH);
+    }
+
+    @Test
+    void verify_matchingRollupsAreLeftAlone() {
+        when(transactionRepo.sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(MARCH)))
+                .thenReturn(List.of(
+                        new TypeCategoryTotal(TransactionType.DEBIT, null, new BigDecimal("10.00"), 1),
+                        new TypeCategoryTotal(TransactionType.DEBIT, TransactionCategory.OTHERS, new BigDecimal("5"), 2)));
+        when(rollupRepo.findByIdAccountNumberAndIdMonthStart("ACC1", MARCH_START))
+                .thenReturn(List.of(rollup(TransactionCategory.OTHERS, TransactionType.DEBIT, "15.0", 3)));
+
+        assertTrue(service.verify("ACC1", MARCH));
+
+        verify(rollupRepo, never()).deleteMonth(any(), any());
+    }
+
+    @Test
+    void verify_readsBothSidesInOneRepeatableReadTransaction() {
+        when(transactionRepo.sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(MARCH)))
+                .thenReturn(List.of());
+        when(rollupRepo.findByIdAccountNumberAndIdMonthStart("ACC1", MARCH_START))
+                .thenReturn(List.of());
+
+        service.verify("ACC1", MARCH);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        InOrder order = inOrder(transactionManager, transactionRepo, rollupRepo);
+        order.verify(transactionManager).getTransaction(definition.capture());
+        order.verify(transactionRepo).sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(MARCH));
+        order.verify(rollupRepo).findByIdAccountNumberAndIdMonthStart("ACC1", MARCH_START);
+        order.verify(transactionManager).commit(any());
+        assertEquals(TransactionDefinition.ISOLATION_REPEATABLE_READ, definition.getValue().getIsolationLevel());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void verify_driftedRollupsAreRebuilt() {
+        when(transactionRepo.sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(MARCH)))
+                .thenReturn(List.of(
+                        new TypeCategoryTotal(TransactionType.CREDIT, TransactionCategory.SALARY, new BigDecimal("500"), 1)));
+        when(rollupRepo.findByIdAccountNumberAndIdMonthStart("ACC1", MARCH_START))
+                .thenReturn(List.of());
+
+        assertFalse(service.verify("ACC1", MARCH));
+
+        verify(rollupRepo).deleteMonth("ACC1", MARCH_START);
+        verify(rollupRepo).insertMonthFromTransactions(eq("ACC1"), eq(MARCH_START), any(), any(), any());
+    }
+
+    @Test
+    void backfill_pagesThroughActiveAccounts() {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 4, 1, 0, 0);
+        when(transactionRepo.findAccountsActiveBetween(eq(start), eq(end), eq(""), any()))
+                .thenReturn(List.of("ACC1", "ACC2"));
+        when(transactionRepo.findAccountsActiveBetween(eq(start), eq(end), eq("ACC2"), any()))
+                .thenReturn(List.of("ACC3"));
+
+        RollupMaintenanceResponse result = service.backfill(MARCH);
+
+        assertEquals("2024-03", result.getMonth());
+        assertEquals(3, result.getAccounts());
+        assertEquals(3, result.getRebuilt());
+        verify(rollupRepo).deleteMonth("ACC3", MARCH_START);
+    }
+
+    @Test
+    void backfill_recordsTheMonthOnceEveryAccountIsRebuilt() {
+        when(transactionRepo.findAccountsActiveBetween(any(), any(), eq(""), any()))
+                .thenReturn(List.of("ACC1"));
+
+        service.backfill(MARCH);
+
+        ArgumentCaptor<MonthlyRollupBackfill> saved = ArgumentCaptor.forClass(MonthlyRollupBackfill.class);
+        InOrder order = inOrder(rollupRepo, backfillRepo, aggregationService);
+        order.verify(rollupRepo).deleteMonth("ACC1", MARCH_START);
+        order.verify(backfillRepo).save(saved.capture());
+        order.verify(aggregationService).evictRollupCoverage();
+        assertEquals(MARCH_START, saved.getValue().getMonthStart());
+        assertEquals(1, saved.getValue().getAccounts());
+    }
+
+    @Test
+    void backfillPending_skipsMonthsAlreadyCovered() {
+        YearMonth current = YearMonth.now();
+        YearMonth oldest = current.minusMonths(3);
+        when(transactionRepo.findEarliestCreatedAt()).thenReturn(oldest.atDay(10).atStartOfDay());
+        // current-2 was backfilled during current-1, so only current was recorded live from its start
+        when(backfillRepo.findAll()).thenReturn(List.of(MonthlyRollupBackfill.builder()
+                .monthStart(current.minusMonths(2).atDay(1))
+                .accounts(1)
+                .completedAt(current.minusMonths(1).atDay(3).atStartOfDay())
+                .build()));
+        when(transactionRepo.findAccountsActiveBetween(any(), any(), eq(""), any())).thenReturn(List.of());
+
+        service.backfillPending();
+
+        ArgumentCaptor<MonthlyRollupBackfill> saved = ArgumentCaptor.forClass(MonthlyRollupBackfill.class);
+        verify(backfillRepo, times(2)).save(saved.capture());
+        assertEquals(List.of(current.minusMonths(1).atDay(1), oldest.atDay(1)),
+                saved.getAllValues().stream().map(MonthlyRollupBackfill::getMonthStart).toList());
+    }
+
+    @Test
+    void backfillPending_nothingToDoWithoutTransactions() {
+        service.backfillPending();
+
+        verifyNoInteractions(backfillRepo, rollupRepo);
+    }
+
+    private static Transaction tx(String account, TransactionType type, TransactionCategory category,
+                                  String amount, TransactionStatus status, LocalDateTime createdAt) {
+        return Transaction.builder()
+                .accountNumber(account)
+                .transactionType(type)
+                .category(category)
+                .totalAmount(new BigDecimal(amount))
+                .status(status)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static MonthlyRollup rollup(
+            TransactionCategory category, TransactionType type, String amount, long count) {
+        return MonthlyRollup.builder()
+                .id(new MonthlyRollupId("ACC1", MARCH_START, category, type))
+                .totalAmount(new BigDecimal(amount))
+                .transactionCount(count)
+                .build();
+    }
+    @Test
+    void checkRecentMonths_runsOffTheSchedulerThreadAndSkipsOverlappingRuns() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch bothMonths = new CountDownLatch(2);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        when(transactionRepo.findAccountsActiveBetween(any(), any(), eq(""), any())).thenAnswer(inv -> {
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            bothMonths.countDown();
+            return List.of();
+        });
+
+        service.checkRecentMonths();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Still running: this trigger is dropped, not queued
+        service.checkRecentMonths();
+        release.countDown();
+
+        assertTrue(bothMonths.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+        assertEquals(List.of("rollup-maintenance", "rollup-maintenance"), threads);
+    }
+
+}
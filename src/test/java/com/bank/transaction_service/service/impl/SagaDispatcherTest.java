@@ -0,0 +1,117 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.config.SecurityMdcTaskDecorator;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.security.AuthUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SagaDispatcherTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private ThreadPoolTaskExecutor executor(int threads, int queue) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queue);
+        executor.setTaskDecorator(new SecurityMdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    @Test
+    void syncMode_runsOnCallerThread() {
+        SagaDispatcher dispatcher =
+                new SagaDispatcher(executor(1, 1), false, new SimpleMeterRegistry());
+
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        dispatcher.dispatch(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(caller, ranOn.get());
+    }
+
+    @Test
+    void asyncMode_runsOnExecutorWithCallerSecurityContext() throws Exception {
+        SagaDispatcher dispatcher =
+                new SagaDispatcher(executor(2, 10), true, new SimpleMeterRegistry());
+
+        AuthUser user = new AuthUser(UUID.randomUUID(), "ROLE_CUSTOMER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null));
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        dispatcher.dispatch(() -> {
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+            ranOn.set(Thread.currentThread());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), ranOn.get());
+        assertSame(user, seen.get().getPrincipal());
+    }
+
+    @Test
+    void ensureCapacity_whenSaturated_shouldReject() throws Exception {
+        SagaDispatcher dispatcher =
+                new SagaDispatcher(executor(1, 1), true, new SimpleMeterRegistry());
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(() -> awaitQuietly(release));
+
+        TransactionException ex =
+                assertThrows(TransactionException.class, dispatcher::ensureCapacity);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus());
+
+        release.countDown();
+    }
+
+    @Test
+    void ensureCapacity_whenIdle_shouldPass() {
+        SagaDispatcher dispatcher =
+                new SagaDispatcher(executor(1, 1), true, new SimpleMeterRegistry());
+
+        assertDoesNotThrow(dispatcher::ensureCapacity);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
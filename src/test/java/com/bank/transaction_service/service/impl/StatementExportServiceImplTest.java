@@ -0,0 +1,160 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.enums.StatementFormat;
+import com.bank.transaction_service.enums.TransactionStatus;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.exception.TransactionException;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.bank.transaction_service.service.StatementExportService;
+import com.bank.transaction_service.util.TimeRange;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementExportServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private TransactionRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StatementExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new StatementExportServiceImpl(repository, objectMapper, 731, 2);
+    }
+
+    @Test
+    void csv_writesHeaderAndSignedRows() throws Exception {
+        when(repository.streamStatement(any(), any(TimeRange.class))).thenReturn(Stream.of(
+                row("TXN1", TransactionType.DEBIT, "Rent", "1500.00", 10, 30),
+                row("TXN2", TransactionType.CREDIT, "Salary", "50000.00", 11, 0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.export("ACC1", FROM, TO, StatementFormat.CSV, out);
+
+        assertEquals(2, written);
+        assertEquals(
+                StatementExportServiceImpl.CSV_HEADER
+                        + "TXN1,2024-01-05T10:30:00,DEBIT,Rent,-1500.00,SUCCESS\n"
+                        + "TXN2,2024-01-05T11:00:00,CREDIT,Salary,50000.00,SUCCESS\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjson_writesOneObjectPerLine() throws Exception {
+        when(repository.streamStatement(any(), any(TimeRange.class))).thenReturn(Stream.of(
+                row("TXN1", TransactionType.DEBIT, "Rent, \"flat\"", "1500.00", 10, 30),
+                row("TXN2", TransactionType.CREDIT, "Salary", "50000.00", 11, 0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export("ACC1", FROM, TO, StatementFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("TXN1", first.get("transactionId").asText());
+        assertEquals("2024-01-05T10:30:00", first.get("createdAt").asText());
+        assertEquals("Rent, \"flat\"", first.get("description").asText());
+        assertEquals(new BigDecimal("-1500.00"), first.get("amount").decimalValue());
+        assertEquals("CREDIT", objectMapper.readTree(lines[1]).get("type").asText());
+    }
+
+    @Test
+    void export_queriesHalfOpenRangeAndClosesStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamStatement(any(), any(TimeRange.class)))
+                .thenReturn(Stream.<TransactionRow>empty().onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = service.export("ACC1", FROM, TO, StatementFormat.CSV, out);
+
+        assertEquals(0, written);
+        assertEquals(StatementExportServiceImpl.CSV_HEADER, out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+        verify(repository).streamStatement("ACC1", new TimeRange(
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 2, 1, 0, 0)));
+    }
+
+    @Test
+    void validateRange_rejectsReversedRange() {
+        assertThrows(TransactionException.class,
+                () -> service.validateRange(TO, FROM));
+    }
+
+    @Test
+    void validateRange_allowsTwoFullYears() {
+        assertDoesNotThrow(() -> service.validateRange(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertThrows(TransactionException.class, () -> service.validateRange(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void export_rejectsInvalidRangeWithoutQuerying() {
+        assertThrows(TransactionException.class, () -> service.export(
+                "ACC1", TO, FROM, StatementFormat.CSV, new ByteArrayOutputStream()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void acquireSlot_rejectsPastTheLimitUntilOneIsClosed() {
+        StatementExportService.ExportSlot first = service.acquireSlot();
+        service.acquireSlot();
+
+        TransactionException ex = assertThrows(TransactionException.class, service::acquireSlot);
+        assertEquals("TOO_MANY_REQUESTS", ex.getErrorCode());
+
+        first.close();
+        first.close();
+        service.acquireSlot();
+        assertThrows(TransactionException.class, service::acquireSlot);
+    }
+
+    @Test
+    void csvField_quotesAndNeutralisesFormulas() throws Exception {
+        assertEquals("plain", csvField("plain"));
+        assertEquals("\"a,b\"", csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", csvField("say \"hi\""));
+        assertEquals("\"line\nbreak\"", csvField("line\nbreak"));
+        assertEquals("\"'=SUM(A1:A9)\"", csvField("=SUM(A1:A9)"));
+        assertEquals("", csvField(null));
+    }
+
+    private static String csvField(String value) throws Exception {
+        StringWriter writer = new StringWriter();
+        StatementExportServiceImpl.writeCsvField(writer, value);
+        return writer.toString();
+    }
+
+    private static TransactionRow row(
+            String id, TransactionType type, String description, String amount, int hour, int minute) {
+        return new TransactionRow(
+                id, type, description, new BigDecimal(amount),
+                TransactionStatus.SUCCESS, LocalDateTime.of(2024, 1, 5, hour, minute));
+    }
+}
@@ -0,0 +1,151 @@
+package com.bank.transaction_service.service.impl;
+
+import com.bank.transaction_service.entity.MonthlyRollup;
+import com.bank.transaction_service.entity.MonthlyRollupBackfill;
+import com.bank.transaction_service.entity.MonthlyRollupId;
+import com.bank.transaction_service.enums.TransactionCategory;
+import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.repository.MonthlyRollupBackfillRepository;
+import com.bank.transaction_service.repository.MonthlyRollupRepository;
+import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TypeCategoryTotal;
+import com.bank.transaction_service.service.TransactionTotals;
+import com.bank.transaction_service.util.TimeRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionAggregationServiceImplTest {
+
+    @Mock
+    private MonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private MonthlyRollupBackfillRepository backfillRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionAggregationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TransactionAggregationServiceImpl(
+                rollupRepository, backfillRepository, transactionRepository, new SimpleMeterRegistry(), 100, 3600, 1, 60);
+    }
+
+    @Test
+    void monthlyTotals_readsTheMonthsRollups() {
+        LocalDate march = LocalDate.of(2024, 3, 1);
+        when(backfillRepository.findAll()).thenReturn(List.of(backfill(march, LocalDateTime.of(2024, 5, 2, 1, 0))));
+        when(rollupRepository.findByIdAccountNumberAndIdMonthStart("ACC1", march))
+                .thenReturn(List.of(MonthlyRollup.builder()
+                        .id(new MonthlyRollupId("ACC1", march, TransactionCategory.FOOD, TransactionType.DEBIT))
+                        .totalAmount(new BigDecimal("42.00"))
+                        .transactionCount(4)
+                        .build()));
+
+        TransactionTotals totals = service.monthlyTotals("ACC1", YearMonth.of(2024, 3));
+
+        assertEquals(List.of(new TypeCategoryTotal(
+                TransactionType.DEBIT, TransactionCategory.FOOD, new BigDecimal("42.00"), 4)), totals.groups());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void monthlyTotals_sumsTransactionsOfMonthsNotBackfilled() {
+        when(backfillRepository.findAll()).thenReturn(List.of(
+                backfill(LocalDate.of(2024, 4, 1), LocalDateTime.of(2024, 5, 2, 1, 0))));
+        List<TypeCategoryTotal> groups = List.of(
+                new TypeCategoryTotal(TransactionType.CREDIT, null, new BigDecimal("900"), 1));
+        when(transactionRepository.sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(YearMonth.of(2024, 3))))
+                .thenReturn(groups);
+
+        assertEquals(groups, service.monthlyTotals("ACC1", YearMonth.of(2024, 3)).groups());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void monthlyTotals_sumsTransactionsBeforeAnyBackfill() {
+        YearMonth current = YearMonth.now();
+        when(backfillRepository.findAll()).thenReturn(List.of());
+        when(transactionRepository.sumSuccessfulByTypeAndCategory("ACC1", TimeRange.ofMonth(current)))
+                .thenReturn(List.of());
+
+        service.monthlyTotals("ACC1", current);
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void monthlyTotals_cachesClosedMonthsUntilEvicted() {
+        LocalDate march = LocalDate.of(2024, 3, 1);
+        when(backfillRepository.findAll()).thenReturn(List.of(backfill(march, LocalDateTime.of(2024, 5, 2, 1, 0))));
+        when(rollupRepository.findByIdAccountNumberAndIdMonthStart("ACC1", march)).thenReturn(List.of());
+
+        service.monthlyTotals("ACC1", YearMonth.of(2024, 3));
+        service.monthlyTotals("ACC1", YearMonth.of(2024, 3));
+        verify(rollupRepository, times(1)).findByIdAccountNumberAndIdMonthStart("ACC1", march);
+
+        service.evictMonth("ACC1", YearMonth.of(2024, 3));
+        service.monthlyTotals("ACC1", YearMonth.of(2024, 3));
+        verify(rollupRepository, times(2)).findByIdAccountNumberAndIdMonthStart("ACC1", march);
+    }
+
+    @Test
+    void monthlyTotals_readsTheCurrentMonthEveryTime() {
+        YearMonth current = YearMonth.now();
+        // Months after the first backfill were recorded live from their start
+        when(backfillRepository.findAll()).thenReturn(List.of(backfill(
+                current.minusMonths(6).atDay(1), current.minusMonths(1).atDay(1).atStartOfDay())));
+        when(rollupRepository.findByIdAccountNumberAndIdMonthStart("ACC1", current.atDay(1)))
+                .thenReturn(List.of());
+
+        service.monthlyTotals("ACC1", current);
+        service.monthlyTotals("ACC1", current);
+
+        verify(rollupRepository, times(2)).findByIdAccountNumberAndIdMonthStart("ACC1", current.atDay(1));
+    }
+
+    @Test
+    void isClosed_waitsForTheGraceDaysAfterMonthEnd() {
+        YearMonth current = YearMonth.now();
+
+        assertFalse(service.isClosed(current));
+        // Still looked at by the daily rollup check
+        assertFalse(service.isClosed(current.minusMonths(1)));
+        assertTrue(service.isClosed(current.minusMonths(3)));
+    }
+
+    @Test
+    void customerTotals_aggregatesInTheDatabase() {
+        UUID customerId = UUID.randomUUID();
+        List<TypeCategoryTotal> groups = List.of(
+                new TypeCategoryTotal(TransactionType.DEBIT, null, new BigDecimal("10"), 2));
+        when(transactionRepository.sumAmountByCustomer(customerId)).thenReturn(groups);
+
+        assertEquals(groups, service.customerTotals(customerId).groups());
+    }
+
+    private static MonthlyRollupBackfill backfill(LocalDate monthStart, LocalDateTime completedAt) {
+        return MonthlyRollupBackfill.builder()
+                .monthStart(monthStart)
+                .accounts(1)
+                .completedAt(completedAt)
+                .build();
+    }
+}
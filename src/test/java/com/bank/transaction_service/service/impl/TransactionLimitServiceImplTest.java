@@ -1,6 +1,7 @@
 package com.bank.transaction_service.service.impl;
 
 import com.bank.transaction_service.dto.request.LimitUpdateRequest;
+import com.bank.transaction_service.dto.response.RemainingLimitResponse;
 import com.bank.transaction_service.dto.response.TransactionLimitResponse;
 import com.bank.transaction_service.entity.TransactionLimit;
 import com.bank.transaction_service.repository.TransactionLimitRepository;
@@ -10,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +24,9 @@ class TransactionLimitServiceImplTest {
     @Mock
     private TransactionLimitRepository repository;
 
+    @Mock
+    private LimitUsageTracker usageTracker;
+
     @InjectMocks
     private TransactionLimitServiceImpl service;
 
@@ -89,4 +95,29 @@ class TransactionLimitServiceImplTest {
         verify(repository).findByAccountNumber("ACC1");
         verify(repository, atLeastOnce()).save(any());
     }
+
+    @Test
+    void remaining_subtractsUsageFromEachLimit() {
+        TransactionLimit limit = new TransactionLimit("ACC1");
+        limit.setOnlineShoppingLimit(null);
+
+        when(repository.findByAccountNumber("ACC1"))
+                .thenReturn(Optional.of(limit));
+        when(usageTracker.usage("ACC1"))
+                .thenReturn(new LimitUsageTracker.Usage(
+                        LocalDate.of(2024, 3, 5), 3_000_000, 120_000_000, 2_600_000, 0));
+
+        RemainingLimitResponse response = service.remaining("ACC1");
+
+        assertEquals("2024-03-05", response.getDate());
+        assertEquals(new BigDecimal("50000.00"), response.getPerTransactionLimit());
+        assertEquals(new BigDecimal("30000.00"), response.getDaily().getUsed());
+        assertEquals(new BigDecimal("70000.00"), response.getDaily().getRemaining());
+        assertEquals(new BigDecimal("1200000.00"), response.getMonthly().getUsed());
+        assertEquals(new BigDecimal("0.00"), response.getMonthly().getRemaining());
+        assertEquals(new BigDecimal("0.00"), response.getAtm().getRemaining());
+        assertNull(response.getOnlineShopping().getLimit());
+        assertNull(response.getOnlineShopping().getRemaining());
+        verify(repository, never()).save(any());
+    }
 }
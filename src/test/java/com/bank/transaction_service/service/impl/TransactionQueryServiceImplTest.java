@@ -1,16 +1,17 @@
 package com.bank.transaction_service.service.impl;
 
-import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountBalanceReader;
 import com.bank.transaction_service.dto.response.MiniStatementResponse;
+import com.bank.transaction_service.dto.response.TransactionFeedResponse;
 import com.bank.transaction_service.dto.response.TransactionHistoryResponse;
-import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.enums.TransactionStatus;
 import com.bank.transaction_service.enums.TransactionType;
+import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.repository.TransactionRepository;
+import com.bank.transaction_service.repository.projection.TransactionRow;
+import com.bank.transaction_service.util.HistoryCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,17 +31,17 @@ class TransactionQueryServiceImplTest {
     private TransactionRepository repository;
 
     @Mock
-    private AccountClient accountClient;
+    private AccountBalanceReader balanceReader;
 
     @InjectMocks
     private TransactionQueryServiceImpl service;
 
     @Test
     void history_empty() {
-        Page<Transaction> page =
+        Page<TransactionRow> page =
                 new PageImpl<>(List.of(), PageRequest.of(0, 5), 0);
 
-        when(repository.findByAccountNumberOrderByCreatedAtDesc(eq("ACC1"), any()))
+        when(repository.findHistoryRows(eq("ACC1"), any()))
                 .thenReturn(page);
 
         TransactionHistoryResponse response =
@@ -53,59 +54,67 @@ class TransactionQueryServiceImplTest {
 
     @Test
     void history_withData() {
-        Transaction tx = buildTxn(TransactionType.DEBIT, TransactionStatus.SUCCESS);
-        Page<Transaction> page =
+        TransactionRow tx = buildTxn(TransactionType.DEBIT, TransactionStatus.SUCCESS);
+        Page<TransactionRow> page =
                 new PageImpl<>(List.of(tx), PageRequest.of(0, 5), 1);
 
-        when(repository.findByAccountNumberOrderByCreatedAtDesc(eq("ACC1"), any()))
+        when(repository.findHistoryRows(eq("ACC1"), any()))
                 .thenReturn(page);
 
         TransactionHistoryResponse response =
                 service.getHistory("ACC1", 5, 1);
 
-        assertEquals(1, response.getTransactions().size());
-        assertTrue(response.getTransactions().get(0).getAmount().contains("-"));
+        assertEquals(List.of(tx), response.getTransactions());
+        assertEquals(1, response.getTotal());
     }
 
-    @ParameterizedTest
-    @CsvSource({
-            "SUCCESS,Transaction completed successfully",
-            "IN_PROGRESS,Transaction is being initiated",
-            "PENDING,Transaction is being processed",
-            "FAILED,Transaction failed. Amount will be refunded if debited"
-    })
-    void history_statusMessages_exact(TransactionStatus status, String expectedMessage) {
-        Transaction tx = Transaction.builder()
-                .transactionId("TXN1")
-                .transactionType(TransactionType.CREDIT)
-                .status(status)
-                .description("Test")
-                .totalAmount(BigDecimal.valueOf(1000))
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        Page<Transaction> page =
-                new PageImpl<>(List.of(tx), PageRequest.of(0, 5), 1);
-
-        when(repository.findByAccountNumberOrderByCreatedAtDesc(eq("ACC1"), any()))
-                .thenReturn(page);
+    @Test
+    void feed_firstPageFetchesOneExtraRowAndReturnsCursor() {
+        LocalDateTime t0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+        List<TransactionRow> rows = List.of(
+                txnAt("TXN3", t0.plusMinutes(2)),
+                txnAt("TXN2", t0.plusMinutes(1)),
+                txnAt("TXN1", t0));
+        when(repository.findHistoryPage("ACC1", PageRequest.of(0, 3))).thenReturn(rows);
+
+        TransactionFeedResponse response = service.getHistoryFeed("ACC1", 2, null);
+
+        assertEquals(2, response.getTransactions().size());
+        assertTrue(response.isHasMore());
+        HistoryCursor next = HistoryCursor.decode(response.getNextCursor());
+        assertEquals("TXN2", next.transactionId());
+        assertEquals(t0.plusMinutes(1), next.createdAt());
+        verify(repository, never()).findHistoryRows(any(), any());
+    }
 
-        TransactionHistoryResponse response =
-                service.getHistory("ACC1", 5, 1);
+    @Test
+    void feed_cursorSeeksPastLastRow() {
+        LocalDateTime t0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+        String cursor = new HistoryCursor(t0, "TXN2").encode();
+        when(repository.findHistoryPageAfter("ACC1", t0, "TXN2", PageRequest.of(0, 3)))
+                .thenReturn(List.of(txnAt("TXN1", t0)));
 
-        String actualMessage =
-                response.getTransactions().get(0).getStatusMessage();
+        TransactionFeedResponse response = service.getHistoryFeed("ACC1", 2, cursor);
 
-        assertEquals(expectedMessage, actualMessage);
+        assertEquals(1, response.getTransactions().size());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
     }
 
+    @Test
+    void feed_rejectsMalformedCursorAndLimit() {
+        assertThrows(TransactionException.class, () -> service.getHistoryFeed("ACC1", 2, "not-a-cursor"));
+        assertThrows(TransactionException.class, () -> service.getHistoryFeed("ACC1", 0, null));
+        assertThrows(TransactionException.class, () -> service.getHistoryFeed("ACC1", 101, null));
+        verifyNoInteractions(repository);
+    }
 
     @Test
     void mini_empty() {
-        when(repository.findTop5ByAccountNumberOrderByCreatedAtDesc("ACC1"))
+        when(repository.findRecentRows("ACC1", PageRequest.of(0, 5)))
                 .thenReturn(List.of());
 
-        when(accountClient.getBalance("ACC1"))
+        when(balanceReader.getBalance("ACC1"))
                 .thenReturn(BigDecimal.valueOf(5000));
 
         MiniStatementResponse response =
@@ -117,13 +126,13 @@ class TransactionQueryServiceImplTest {
 
     @Test
     void mini_withData() {
-        Transaction debit = buildTxn(TransactionType.DEBIT, TransactionStatus.SUCCESS);
-        Transaction credit = buildTxn(TransactionType.CREDIT, TransactionStatus.SUCCESS);
+        TransactionRow debit = buildTxn(TransactionType.DEBIT, TransactionStatus.SUCCESS);
+        TransactionRow credit = buildTxn(TransactionType.CREDIT, TransactionStatus.SUCCESS);
 
-        when(repository.findTop5ByAccountNumberOrderByCreatedAtDesc("ACC1"))
+        when(repository.findRecentRows("ACC1", PageRequest.of(0, 5)))
                 .thenReturn(List.of(debit, credit));
 
-        when(accountClient.getBalance("ACC1"))
+        when(balanceReader.getBalance("ACC1"))
                 .thenReturn(BigDecimal.valueOf(10000));
 
         MiniStatementResponse response =
@@ -136,10 +145,10 @@ class TransactionQueryServiceImplTest {
 
     @Test
     void mini_maskShortAccount() {
-        when(repository.findTop5ByAccountNumberOrderByCreatedAtDesc("12"))
+        when(repository.findRecentRows("12", PageRequest.of(0, 5)))
                 .thenReturn(List.of());
 
-        when(accountClient.getBalance("12"))
+        when(balanceReader.getBalance("12"))
                 .thenReturn(BigDecimal.ZERO);
 
         MiniStatementResponse response =
@@ -150,10 +159,10 @@ class TransactionQueryServiceImplTest {
 
     @Test
     void mini_maskNullAccount() {
-        when(repository.findTop5ByAccountNumberOrderByCreatedAtDesc(null))
+        when(repository.findRecentRows(null, PageRequest.of(0, 5)))
                 .thenReturn(List.of());
 
-        when(accountClient.getBalance(null))
+        when(balanceReader.getBalance(null))
                 .thenReturn(BigDecimal.ZERO);
 
         MiniStatementResponse response =
@@ -162,14 +171,13 @@ class TransactionQueryServiceImplTest {
         assertEquals("****", response.getAccountNumber());
     }
 
-    private Transaction buildTxn(TransactionType type, TransactionStatus status) {
-        return Transaction.builder()
-                .transactionId("TXN1")
-                .transactionType(type)
-                .status(status)
-                .description("Test")
-                .totalAmount(BigDecimal.valueOf(1000))
-                .createdAt(LocalDateTime.now())
-                .build();
+    private TransactionRow txnAt(String id, LocalDateTime createdAt) {
+        return new TransactionRow(id, TransactionType.CREDIT, "Test",
+                BigDecimal.valueOf(1000), TransactionStatus.SUCCESS, createdAt);
+    }
+
+    private TransactionRow buildTxn(TransactionType type, TransactionStatus status) {
+        return new TransactionRow("TXN1", type, "Test",
+                BigDecimal.valueOf(1000), status, LocalDateTime.now());
     }
 }
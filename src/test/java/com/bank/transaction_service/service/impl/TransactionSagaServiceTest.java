@@ -1,15 +1,20 @@
 package com.bank.transaction_service.service.impl;
 
+import com.bank.transaction_service.client.AccountBalanceReader;
 import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOperationResult;
 import com.bank.transaction_service.entity.Transaction;
 import com.bank.transaction_service.entity.TransactionSaga;
 import com.bank.transaction_service.enums.*;
 import com.bank.transaction_service.kafka.producer.TransactionStatusProducer;
 import com.bank.transaction_service.repository.TransactionSagaRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -26,12 +31,30 @@ public class TransactionSagaServiceTest {
     @Mock
     private AccountClient accountClient;
 
+    @Mock
+    private AccountBalanceReader balanceReader;
+
     @Mock
     private TransactionStatusProducer statusProducer;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MonthlyRollupService rollupService;
+
+    @Mock
+    private LimitUsageTracker limitUsage;
+
     @InjectMocks
     private TransactionSagaService sagaService;
 
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     private Transaction mockTransaction(TransactionType type) {
         Transaction tx = new Transaction();
         tx.setTransactionId(UUID.randomUUID().toString());
@@ -87,12 +110,17 @@ public class TransactionSagaServiceTest {
         Transaction tx = mockTransaction(TransactionType.CREDIT);
         TransactionSaga saga = new TransactionSaga();
 
-        when(accountClient.getBalance(any())).thenReturn(BigDecimal.valueOf(1000));
+        when(accountClient.credit(any(), any()))
+                .thenReturn(new AccountOperationResult("ACC123", BigDecimal.valueOf(1000)));
 
         sagaService.processCredit(tx, saga);
 
         verify(accountClient).credit("ACC123", BigDecimal.valueOf(100));
+        verify(accountClient, never()).getBalance(any());
         verify(statusProducer).publishSuccess(tx);
+        verify(rollupService).record(tx);
+        assertEquals(BigDecimal.valueOf(1000), tx.getCurrentBalance());
+        assertFalse(tx.getBalanceDerived());
     }
 
     @Test
@@ -106,6 +134,7 @@ public class TransactionSagaServiceTest {
         sagaService.processCredit(tx, saga);
 
         verify(statusProducer).publishFailure(eq(tx), any());
+        verify(rollupService, never()).record(any());
     }
 
     @Test
@@ -113,12 +142,18 @@ public class TransactionSagaServiceTest {
         Transaction tx = mockTransaction(TransactionType.DEBIT);
         TransactionSaga saga = new TransactionSaga();
 
-        when(accountClient.getBalance(any())).thenReturn(BigDecimal.valueOf(800));
+        when(accountClient.debit(any(), any()))
+                .thenReturn(new AccountOperationResult("ACC123", BigDecimal.valueOf(800)));
 
         sagaService.processDebit(tx, saga);
 
         verify(accountClient).debit("ACC123", BigDecimal.valueOf(100));
+        verify(accountClient, never()).getBalance(any());
+        verify(balanceReader).invalidate("ACC123");
         verify(statusProducer).publishSuccess(tx);
+        verify(limitUsage).committed(tx);
+        verify(limitUsage, never()).released(any());
+        assertEquals(BigDecimal.valueOf(800), tx.getCurrentBalance());
     }
 
     @Test
@@ -133,7 +168,11 @@ public class TransactionSagaServiceTest {
         sagaService.processDebit(tx, saga);
 
         verify(statusProducer).publishFailure(eq(tx), any());
+        verify(limitUsage).released(tx);
+        verify(limitUsage, never()).committed(any());
         assertEquals(SagaStatus.FAILED, saga.getStatus());
+        assertEquals(TransactionStatus.FAILED, tx.getStatus());
+        assertEquals("Debit failed", tx.getFailureReason());
     }
 
     @Test
@@ -141,7 +180,8 @@ public class TransactionSagaServiceTest {
         Transaction tx = mockTransaction(TransactionType.TRANSFER);
         TransactionSaga saga = new TransactionSaga();
 
-        when(accountClient.getBalance(any())).thenReturn(BigDecimal.valueOf(500));
+        when(accountClient.transfer(any(), any(), any(), any()))
+                .thenReturn(new AccountOperationResult("ACC123", BigDecimal.valueOf(500)));
 
         sagaService.processTransfer(tx, saga);
 
@@ -154,6 +194,32 @@ public class TransactionSagaServiceTest {
         verify(statusProducer).publishSuccess(tx);
     }
 
+    @Test
+    void testProcessDebit_NoBalanceInResponse_DerivesFromPreviousBalance() {
+        Transaction tx = mockTransaction(TransactionType.DEBIT);
+        tx.setPreviousBalance(BigDecimal.valueOf(1000));
+        TransactionSaga saga = new TransactionSaga();
+
+        sagaService.processDebit(tx, saga);
+
+        verify(accountClient, never()).getBalance(any());
+        assertEquals(BigDecimal.valueOf(890), tx.getCurrentBalance());
+        assertTrue(tx.getBalanceDerived());
+        assertEquals(TransactionStatus.SUCCESS, tx.getStatus());
+    }
+
+    @Test
+    void testProcessCredit_NoBalanceInResponse_DerivesFromPreviousBalance() {
+        Transaction tx = mockTransaction(TransactionType.CREDIT);
+        tx.setPreviousBalance(BigDecimal.valueOf(1000));
+        TransactionSaga saga = new TransactionSaga();
+
+        sagaService.processCredit(tx, saga);
+
+        assertEquals(BigDecimal.valueOf(1110), tx.getCurrentBalance());
+        assertTrue(tx.getBalanceDerived());
+    }
+
     @Test
     void testProcessTransfer_Failure() {
         Transaction tx = mockTransaction(TransactionType.TRANSFER);
@@ -1,6 +1,8 @@
 package com.bank.transaction_service.service.impl;
 
+import com.bank.transaction_service.client.AccountBalanceReader;
 import com.bank.transaction_service.client.AccountClient;
+import com.bank.transaction_service.client.AccountOwnershipResolver;
 import com.bank.transaction_service.dto.request.*;
 import com.bank.transaction_service.dto.response.*;
 import com.bank.transaction_service.entity.Transaction;
@@ -9,16 +11,23 @@ import com.bank.transaction_service.entity.TransactionSaga;
 import com.bank.transaction_service.enums.*;
 import com.bank.transaction_service.exception.TransactionException;
 import com.bank.transaction_service.kafka.producer.TransactionStatusProducer;
+import com.bank.transaction_service.repository.LimitReservationRepository;
 import com.bank.transaction_service.repository.TransactionLimitRepository;
 import com.bank.transaction_service.repository.TransactionRepository;
 import com.bank.transaction_service.security.AuthUser;
+import com.bank.transaction_service.util.IdGenerator;
+import com.bank.transaction_service.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -44,9 +53,15 @@ class TransactionServiceImplTest {
     private TransactionSagaService sagaService;
     @Mock
     private TransactionStatusProducer statusProducer;
+    @Mock
+    private SagaDispatcher sagaDispatcher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private LimitReservationRepository reservationRepo;
 
-    @InjectMocks
     private TransactionServiceImpl service;
+    private LimitUsageTracker limitUsage;
 
     private UUID customerId;
     private String accountNumber;
@@ -60,6 +75,34 @@ class TransactionServiceImplTest {
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken(user, null)
         );
+
+        lenient().doAnswer(inv -> {
+            ((Runnable) inv.getArgument(0)).run();
+            return null;
+        }).when(sagaDispatcher).dispatch(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        AccountOwnershipResolver ownershipResolver =
+                new AccountOwnershipResolver(accountClient, new SimpleMeterRegistry(), 100, 600, 30, 5);
+        AccountBalanceReader balanceReader =
+                new AccountBalanceReader(accountClient, new SimpleMeterRegistry(), 0);
+        IntakePreflight preflight = new IntakePreflight(
+                balanceReader, ownershipResolver, limitRepo, Runnable::run, 1000);
+
+        limitUsage = new LimitUsageTracker(reservationRepo, transactionTemplate, new SimpleMeterRegistry(), 30000);
+
+        service = new TransactionServiceImpl(
+                transactionRepo,
+                sagaService,
+                statusProducer,
+                sagaDispatcher,
+                transactionTemplate,
+                preflight,
+                new IdGenerator(1),
+                new IdempotencyGuard(transactionRepo, new SimpleMeterRegistry(), 86400, 1000, 0.01, 1000),
+                limitUsage
+        );
     }
 
     @Test
@@ -73,7 +116,6 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(5000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
         when(sagaService.start(any())).thenReturn(new TransactionSaga());
 
@@ -95,13 +137,35 @@ class TransactionServiceImplTest {
                 .build();
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-        when(transactionRepo.findByIdempotencyKey(any()))
-                .thenReturn(Optional.of(new Transaction()));
+        stubDuplicateInsert();
 
         assertThrows(TransactionException.class,
                 () -> service.credit(req));
     }
 
+    @Test
+    void credit_retryAfterSuccess_isRejectedBeforeRemoteCalls() {
+        CreditTransactionRequest req = CreditTransactionRequest.builder()
+                .accountNumber(accountNumber)
+                .amount(BigDecimal.valueOf(100))
+                .category(TransactionCategory.SALARY)
+                .description("Retry")
+                .build();
+
+        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
+        when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(sagaService.start(any())).thenReturn(new TransactionSaga());
+
+        CreditTransactionResponse first = service.credit(req);
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> service.credit(req));
+
+        assertTrue(ex.getMessage().contains(first.getTransactionId()));
+        verify(accountClient, times(1)).getBalance(accountNumber);
+        verify(transactionRepo, times(1)).save(any());
+    }
+
     @Test
     void debit_success() {
         DebitTransactionRequest req = DebitTransactionRequest.builder()
@@ -113,7 +177,6 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(3000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(limitRepo.findById(accountNumber))
                 .thenReturn(Optional.of(new TransactionLimit(accountNumber)));
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
@@ -123,6 +186,69 @@ class TransactionServiceImplTest {
 
         assertTrue(response.isSuccess());
         verify(sagaService).processDebit(any(), any());
+        verify(reservationRepo).save(argThat(r ->
+                r.getAmountPaise() == 50000 && r.getStatus() == LimitReservationStatus.RESERVED));
+        assertEquals(50000, limitUsage.usage(accountNumber).daily());
+    }
+
+    @Test
+    void debit_dailyLimitCountsEarlierDebits() {
+        TransactionLimit limit = new TransactionLimit(accountNumber);
+        limit.setDailyLimit(Money.ofRupees(1500));
+
+        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
+        when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(10000));
+        when(limitRepo.findById(accountNumber)).thenReturn(Optional.of(limit));
+        when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(sagaService.start(any())).thenReturn(new TransactionSaga());
+
+        service.debit(debitRequest(1000, "Groceries"));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> service.debit(debitRequest(1000, "More groceries")));
+
+        assertEquals("LIMIT_EXCEEDED", ex.getErrorCode());
+        verify(sagaService, times(1)).start(any());
+        assertEquals(100000, limitUsage.usage(accountNumber).daily());
+    }
+
+    @Test
+    void debit_atmWithdrawalsCountAgainstAtmLimit() {
+        TransactionLimit limit = new TransactionLimit(accountNumber);
+        limit.setAtmLimit(Money.ofRupees(1500));
+
+        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
+        when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(10000));
+        when(limitRepo.findById(accountNumber)).thenReturn(Optional.of(limit));
+        when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(sagaService.start(any())).thenReturn(new TransactionSaga());
+
+        service.debit(atmRequest(1000, "Cash withdrawal"));
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> service.debit(atmRequest(1000, "More cash")));
+
+        assertEquals("ATM limit exceeded", ex.getMessage());
+        assertEquals(100000, limitUsage.usage(accountNumber).atm());
+        assertDoesNotThrow(() -> service.debit(debitRequest(1000, "Groceries")));
+    }
+
+    private DebitTransactionRequest atmRequest(long amount, String description) {
+        return DebitTransactionRequest.builder()
+                .accountNumber(accountNumber)
+                .amount(BigDecimal.valueOf(amount))
+                .category(TransactionCategory.ATM)
+                .description(description)
+                .build();
+    }
+
+    private DebitTransactionRequest debitRequest(long amount, String description) {
+        return DebitTransactionRequest.builder()
+                .accountNumber(accountNumber)
+                .amount(BigDecimal.valueOf(amount))
+                .category(TransactionCategory.FOOD)
+                .description(description)
+                .build();
     }
 
     @Test
@@ -135,8 +261,7 @@ class TransactionServiceImplTest {
                 .build();
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-        when(transactionRepo.findByIdempotencyKey(any()))
-                .thenReturn(Optional.of(new Transaction()));
+        stubDuplicateInsert();
 
         assertThrows(TransactionException.class,
                 () -> service.debit(req));
@@ -152,10 +277,9 @@ class TransactionServiceImplTest {
                 .build();
 
         TransactionLimit limit = new TransactionLimit(accountNumber);
-        limit.setPerTransactionLimit(BigDecimal.valueOf(1000));
+        limit.setPerTransactionLimit(Money.ofRupees(1000));
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(limitRepo.findById(accountNumber)).thenReturn(Optional.of(limit));
 
         assertThrows(TransactionException.class,
@@ -171,8 +295,6 @@ class TransactionServiceImplTest {
                 .description("Wrong")
                 .build();
 
-        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-
         assertThrows(TransactionException.class,
                 () -> service.debit(req));
     }
@@ -189,7 +311,6 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(10000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(limitRepo.findById(accountNumber))
                 .thenReturn(Optional.of(new TransactionLimit(accountNumber)));
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
@@ -228,11 +349,50 @@ class TransactionServiceImplTest {
                 .build();
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-        when(transactionRepo.findByIdempotencyKey(any()))
-                .thenReturn(Optional.of(new Transaction()));
+        stubDuplicateInsert();
 
         assertThrows(TransactionException.class,
                 () -> service.transfer(req));
+        assertEquals(0, limitUsage.usage(accountNumber).daily());
+    }
+
+    @Test
+    void transfer_subPaisaAmount_isBadRequest() {
+        TransferTransactionRequest req = TransferTransactionRequest.builder()
+                .fromAccount(accountNumber)
+                .toAccount("ACC999")
+                .amount(new BigDecimal("10.005"))
+                .transferType("IMPS")
+                .description("Sub-paisa")
+                .build();
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> service.transfer(req));
+        assertEquals("BAD_REQUEST", ex.getErrorCode());
+        verifyNoInteractions(accountClient, transactionRepo);
+    }
+
+    @Test
+    void transfer_missingAmount_isBadRequest() {
+        TransferTransactionRequest req = TransferTransactionRequest.builder()
+                .fromAccount(accountNumber)
+                .toAccount("ACC999")
+                .transferType("IMPS")
+                .description("No amount")
+                .build();
+
+        TransactionException ex = assertThrows(TransactionException.class,
+                () -> service.transfer(req));
+        assertEquals("BAD_REQUEST", ex.getErrorCode());
+        verifyNoInteractions(accountClient, transactionRepo);
+    }
+
+    private void stubDuplicateInsert() {
+        Transaction existing = Transaction.builder().transactionId("TXN-EXISTING").build();
+
+        when(transactionRepo.save(any())).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry for key 'transactions.uk_transactions_idempotency_key'"));
+        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.of(existing));
     }
 
     @Test
@@ -320,10 +480,9 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(1000000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
 
         TransactionLimit limit = new TransactionLimit(accountNumber);
-        limit.setPerTransactionLimit(BigDecimal.valueOf(10000000)); // very high
+        limit.setPerTransactionLimit(Money.ofRupees(10000000)); // very high
         when(limitRepo.findById(accountNumber)).thenReturn(Optional.of(limit));
 
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
@@ -332,6 +491,8 @@ class TransactionServiceImplTest {
         TransferInitiatedResponse response = service.transfer(req);
 
         assertTrue(response.isSuccess());
+        verify(transactionRepo).save(argThat(tx ->
+                tx.getTotalAmount().compareTo(expectedTotal) == 0));
     }
 
     @ParameterizedTest
@@ -353,10 +514,8 @@ class TransactionServiceImplTest {
                 .description("Test")
                 .build();
 
-        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-
         if (shouldPass) {
-            when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
+            when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
             when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(1000));
             when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
             when(sagaService.start(any())).thenReturn(new TransactionSaga());
@@ -372,6 +531,7 @@ class TransactionServiceImplTest {
             "FOOD,true",
             "SHOPPING,true",
             "BILL,true",
+            "ATM,true",
             "SALARY,false"
     })
     void debit_category_validation(
@@ -386,10 +546,8 @@ class TransactionServiceImplTest {
                 .description("Test")
                 .build();
 
-        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-
         if (shouldPass) {
-            when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
+            when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
             when(limitRepo.findById(accountNumber))
                     .thenReturn(Optional.of(new TransactionLimit(accountNumber)));
             when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(1000));
@@ -412,8 +570,6 @@ class TransactionServiceImplTest {
                 .description("Test")
                 .build();
 
-        when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
-
         assertThrows(TransactionException.class,
                 () -> service.credit(req));
     }
@@ -430,7 +586,6 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(10000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(limitRepo.findById(accountNumber))
                 .thenReturn(Optional.of(new TransactionLimit(accountNumber)));
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
@@ -453,7 +608,6 @@ class TransactionServiceImplTest {
 
         when(accountClient.getAccountOwner(accountNumber)).thenReturn(customerId);
         when(accountClient.getBalance(accountNumber)).thenReturn(BigDecimal.valueOf(10000));
-        when(transactionRepo.findByIdempotencyKey(any())).thenReturn(Optional.empty());
         when(limitRepo.findById(accountNumber))
                 .thenReturn(Optional.of(new TransactionLimit(accountNumber)));
         when(transactionRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
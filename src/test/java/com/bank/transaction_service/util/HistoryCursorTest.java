@@ -0,0 +1,36 @@
+package com.bank.transaction_service.util;
+
+import com.bank.transaction_service.exception.TransactionException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryCursorTest {
+
+    @Test
+    void encode_thenDecode_roundTrips() {
+        HistoryCursor cursor = new HistoryCursor(
+                LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789), "TXN0000000000000000042");
+
+        String token = cursor.encode();
+
+        assertEquals(cursor, HistoryCursor.decode(token));
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decode_rejectsGarbageAndUnknownVersions() {
+        assertThrows(TransactionException.class, () -> HistoryCursor.decode("%%%"));
+        assertThrows(TransactionException.class, () -> HistoryCursor.decode(token("1|yesterday|TXN1")));
+        assertThrows(TransactionException.class, () -> HistoryCursor.decode(token("2|2024-01-01T00:00|TXN1")));
+        assertThrows(TransactionException.class, () -> HistoryCursor.decode(token("1|2024-01-01T00:00|")));
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.transaction_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    private static final long NOW = IdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void nextId_isStrictlyIncreasingWithinOneMillisecond() {
+        IdGenerator generator = new IdGenerator(7, () -> NOW);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void nextId_survivesClockGoingBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        IdGenerator generator = new IdGenerator(7, clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 5_000);
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_encodesTimeAndNode() {
+        IdGenerator generator = new IdGenerator(513, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(NOW - IdGenerator.EPOCH_MILLIS,
+                id >>> (IdGenerator.NODE_BITS + IdGenerator.SEQUENCE_BITS));
+        assertEquals(513, (id >>> IdGenerator.SEQUENCE_BITS) & IdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void differentNodes_neverCollide() {
+        IdGenerator a = new IdGenerator(1, () -> NOW);
+        IdGenerator b = new IdGenerator(2, () -> NOW);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(a.nextId()));
+            assertTrue(ids.add(b.nextId()));
+        }
+    }
+
+    @Test
+    void stringIds_fitColumnAndSortInCreationOrder() {
+        IdGenerator generator = new IdGenerator(1);
+
+        String first = generator.nextTransactionId();
+        String second = generator.nextTransactionId();
+
+        assertTrue(first.startsWith("TXN-"));
+        assertEquals(23, first.length());
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(generator.nextBeneficiaryId().startsWith("BEN-"));
+    }
+
+    @Test
+    void format_zeroPads() {
+        assertEquals("TXN-0000000000000000042", IdGenerator.format("TXN-", 42));
+        assertEquals("TXN-" + Long.MAX_VALUE, IdGenerator.format("TXN-", Long.MAX_VALUE));
+    }
+
+    @Test
+    void invalidNodeId_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(1024, () -> NOW));
+        assertThrows(IllegalArgumentException.class, () -> new IdGenerator(-1));
+    }
+
+    @Test
+    void concurrentGeneration_producesNoDuplicates() throws Exception {
+        int threads = 8;
+        int perThread = 250_000;
+        IdGenerator generator = new IdGenerator(3);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            start.countDown();
+
+            Set<Long> seen = ConcurrentHashMap.newKeySet(threads * perThread);
+            for (Future<long[]> result : results) {
+                long[] ids = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertTrue(ids[i] > ids[i - 1], "not monotonic within a thread");
+                    }
+                    assertTrue(seen.add(ids[i]), "duplicate id " + ids[i]);
+                }
+            }
+
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
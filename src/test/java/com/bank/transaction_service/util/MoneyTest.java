@@ -0,0 +1,87 @@
+package com.bank.transaction_service.util;
+
+import com.bank.transaction_service.entity.MoneyConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_convertsExactAmountsToPaise() {
+        assertEquals(150050, Money.of(new BigDecimal("1500.50")).paise());
+        assertEquals(100, Money.of(new BigDecimal("1")).paise());
+        assertEquals(100, Money.of(new BigDecimal("1.000")).paise());
+        assertEquals(-5, Money.of(new BigDecimal("-0.05")).paise());
+    }
+
+    @Test
+    void of_rejectsFractionsOfAPaisa() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void of_rejectsAmountsBeyondLongPaise() {
+        assertThrows(ArithmeticException.class,
+                () -> Money.of(BigDecimal.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void arithmetic_isExact() {
+        Money amount = Money.of(new BigDecimal("0.10"));
+
+        assertEquals(Money.of(new BigDecimal("0.30")), amount.plus(amount).plus(amount));
+        assertEquals(Money.of(new BigDecimal("-0.10")), Money.ZERO.minus(amount));
+        assertEquals(Money.ofRupees(3), Money.ofRupees(1).times(3));
+    }
+
+    @Test
+    void arithmetic_throwsOnOverflow() {
+        Money max = Money.ofPaise(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofPaise(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofPaise(Long.MIN_VALUE).minus(Money.ofPaise(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.ofPaise(Long.MIN_VALUE).negate());
+        assertThrows(ArithmeticException.class, () -> Money.ofRupees(Long.MAX_VALUE / 10));
+    }
+
+    @Test
+    void comparisons() {
+        assertTrue(Money.ofRupees(30).isGreaterThan(Money.ofRupees(25)));
+        assertFalse(Money.ofRupees(25).isGreaterThan(Money.ofRupees(25)));
+        assertTrue(Money.ofPaise(1).isPositive());
+        assertFalse(Money.ZERO.isPositive());
+        assertEquals(-1, Money.ofPaise(-1).signum());
+        assertTrue(Money.ofRupees(1).compareTo(Money.ofPaise(99)) > 0);
+    }
+
+    @Test
+    void toBigDecimal_hasScaleTwo() {
+        assertEquals(new BigDecimal("1500.00"), Money.ofRupees(1500).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+        assertEquals("-0.05", Money.ofPaise(-5).toString());
+    }
+
+    @Test
+    void json_roundTripsAsPlainNumber() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals("1500.50", mapper.writeValueAsString(Money.ofPaise(150050)));
+        assertEquals(Money.ofPaise(150050), mapper.readValue("1500.50", Money.class));
+        assertEquals(Money.ofRupees(12), mapper.readValue("12", Money.class));
+    }
+
+    @Test
+    void converter_mapsToDecimalColumnAndKeepsNulls() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("25000.00"), converter.convertToDatabaseColumn(Money.ofRupees(25000)));
+        assertEquals(Money.ofRupees(25000), converter.convertToEntityAttribute(new BigDecimal("25000.00")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
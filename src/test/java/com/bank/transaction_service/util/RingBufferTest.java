@@ -0,0 +1,122 @@
+package com.bank.transaction_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void poll_returnsElementsInOfferOrder() {
+        RingBuffer<Integer> ring = new RingBuffer<>(8);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        assertEquals(5, ring.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, (int) ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void offer_failsWhenFullAndRecoversAfterPoll() {
+        RingBuffer<String> ring = new RingBuffer<>(3);
+        assertEquals(4, ring.capacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("e" + i));
+        }
+        assertFalse(ring.offer("overflow"));
+
+        assertEquals("e0", ring.poll());
+        assertTrue(ring.offer("e4"));
+        assertEquals("e1", ring.poll());
+    }
+
+    @Test
+    void wrapsAroundManyLaps() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ring.offer(i));
+            assertEquals(i, (int) ring.poll());
+        }
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void concurrentProducersAndConsumers_loseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        RingBuffer<Integer> ring = new RingBuffer<>(1024);
+        BitSet seen = new BitSet(total);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + consumers);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.execute(() -> {
+                await(start);
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            pool.execute(() -> {
+                await(start);
+                while (received.get() < total) {
+                    Integer value = ring.poll();
+                    if (value == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    synchronized (seen) {
+                        if (seen.get(value)) {
+                            duplicates.incrementAndGet();
+                        }
+                        seen.set(value);
+                    }
+                    received.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(0, duplicates.get());
+        assertEquals(total, seen.cardinality());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void tooSmallCapacity_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.transaction_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeRangeTest {
+
+    @Test
+    void ofMonth_coversWholeMonthUpToNextFirst() {
+        TimeRange range = TimeRange.ofMonth(YearMonth.of(2024, 2));
+
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), range.start());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), range.end());
+    }
+
+    @Test
+    void ofMonth_december_rollsIntoNextYear() {
+        TimeRange range = TimeRange.ofMonth(YearMonth.of(2025, 12));
+
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), range.end());
+    }
+
+    @Test
+    void ofDay_endsAtNextMidnight() {
+        TimeRange range = TimeRange.ofDay(LocalDate.of(2024, 3, 10));
+
+        assertEquals(LocalDateTime.of(2024, 3, 10, 0, 0), range.start());
+        assertEquals(LocalDateTime.of(2024, 3, 11, 0, 0), range.end());
+    }
+
+    @Test
+    void ofDays_includesLastDay() {
+        TimeRange range = TimeRange.ofDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1));
+
+        assertEquals(TimeRange.ofDay(LocalDate.of(2024, 1, 1)), range);
+    }
+
+    @Test
+    void contains_isHalfOpen() {
+        TimeRange range = TimeRange.ofDay(LocalDate.of(2024, 3, 10));
+
+        assertTrue(range.contains(LocalDateTime.of(2024, 3, 10, 0, 0)));
+        assertTrue(range.contains(LocalDateTime.of(2024, 3, 10, 23, 59, 59, 999_999_999)));
+        assertFalse(range.contains(LocalDateTime.of(2024, 3, 11, 0, 0)));
+        assertFalse(range.contains(LocalDateTime.of(2024, 3, 9, 23, 59)));
+    }
+
+    @Test
+    void rejectsEmptyOrInvertedRange() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new TimeRange(now, now));
+        assertThrows(IllegalArgumentException.class, () -> new TimeRange(now, now.minusSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new TimeRange(null, now));
+    }
+}